@@ -0,0 +1,52 @@
+package com.wizzair.benchmarks;
+
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-thread driver backed by the in-process fake Appium backend, registered with
+ * {@link DriverManager} so page objects and helpers run exactly as in a scenario.
+ *
+ * <p>The fake adds no latency by default, so scores are the framework's own cost
+ * (client-side Selenium/Appium plus our code) rather than device round-trips.
+ */
+@State(Scope.Thread)
+public class FakeDriverState {
+
+    @Param({"android", "ios"})
+    public String platform;
+
+    public AppiumDriver driver;
+
+    @Setup(Level.Trial)
+    public void startDriver() {
+        // ConfigLoader reads the platform once per JVM; JMH forks per parameter value
+        System.setProperty("platform", platform);
+        driver = FakeCommandExecutor.driver(platform, options());
+        DriverManager.setDriver(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void quitDriver() {
+        DriverManager.quitDriver();
+    }
+
+    /** Options for the fake app; override to script a different starting state. */
+    protected FakeAppiumOptions options() {
+        return new FakeAppiumOptions();
+    }
+
+    /** Taps an element by accessibility id, bypassing page objects. */
+    public void tap(String accessibilityId) {
+        driver.findElement(AppiumBy.accessibilityId(accessibilityId)).click();
+    }
+}
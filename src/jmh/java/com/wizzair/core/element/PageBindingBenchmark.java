@@ -0,0 +1,90 @@
+package com.wizzair.core.element;
+
+import com.wizzair.benchmarks.FakeDriverState;
+import com.wizzair.config.ConfigLoader;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.PageFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wiring one page's element fields, before and after {@link PageBinding}:
+ * <ul>
+ *   <li>{@code appiumFieldDecorator} – {@code PageFactory.initElements} with Appium's
+ *       decorator, as page objects did originally;</li>
+ *   <li>{@code cachingFieldDecorator} – the same scan with cached element handles;</li>
+ *   <li>{@code pageBinding} – the annotation scan done once per class, what
+ *       {@code BasePage} does now.</li>
+ * </ul>
+ * No element is looked up; this is pure construction cost. For allocations per page,
+ * run with {@code -Djmh.args="PageBinding -prof gc"} and compare {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageBindingBenchmark {
+
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(15);
+
+    /** Field layout of a typical page object (cf. {@code BookingPage}). */
+    public static class Fields {
+        @AndroidFindBy(accessibility = "Booking header")
+        @iOSXCUITFindBy(accessibility = "Booking header")
+        private WebElement header;
+
+        @AndroidFindBy(accessibility = "First name")
+        @iOSXCUITFindBy(accessibility = "First name")
+        private WebElement firstName;
+
+        @AndroidFindBy(accessibility = "Last name")
+        @iOSXCUITFindBy(accessibility = "Last name")
+        private WebElement lastName;
+
+        @AndroidFindBy(accessibility = "Email")
+        @iOSXCUITFindBy(accessibility = "Email")
+        private WebElement email;
+
+        @AndroidFindBy(accessibility = "Continue to payment")
+        @iOSXCUITFindBy(accessibility = "Continue to payment")
+        private WebElement continueButton;
+
+        @AndroidFindBy(accessibility = "Flight card")
+        @iOSXCUITFindBy(accessibility = "Flight card")
+        private List<WebElement> cards;
+    }
+
+    @Benchmark
+    public Fields appiumFieldDecorator(FakeDriverState state) {
+        Fields fields = new Fields();
+        PageFactory.initElements(new AppiumFieldDecorator(state.driver, LOOKUP_TIMEOUT), fields);
+        return fields;
+    }
+
+    @Benchmark
+    public Fields cachingFieldDecorator(FakeDriverState state) {
+        Fields fields = new Fields();
+        PageFactory.initElements(new CachingFieldDecorator(state.driver, ConfigLoader.load(), LOOKUP_TIMEOUT), fields);
+        return fields;
+    }
+
+    @Benchmark
+    public Fields pageBinding(FakeDriverState state) {
+        Fields fields = new Fields();
+        PageBinding.of(Fields.class, ConfigLoader.load()).bind(fields, state.driver, LOOKUP_TIMEOUT);
+        return fields;
+    }
+}
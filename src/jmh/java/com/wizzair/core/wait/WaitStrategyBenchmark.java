@@ -0,0 +1,75 @@
+package com.wizzair.core.wait;
+
+import com.wizzair.benchmarks.FakeDriverState;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the element waits every page action goes through, on the fast path where
+ * the element is already on screen (the common case in a run).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WaitStrategyBenchmark {
+
+    /** Same decoration as a page object field. */
+    public static class Fields {
+        @AndroidFindBy(accessibility = "Search flights")
+        @iOSXCUITFindBy(accessibility = "Search flights")
+        public WebElement searchButton;
+    }
+
+    private WebElement located;
+    private WebElement proxy;
+
+    @Setup(Level.Trial)
+    public void locate(FakeDriverState state) {
+        located = state.driver.findElement(AppiumBy.accessibilityId("Search flights"));
+        Fields fields = new Fields();
+        PageFactory.initElements(new AppiumFieldDecorator(state.driver, Duration.ofSeconds(15)), fields);
+        proxy = fields.searchButton;
+    }
+
+    @Benchmark
+    public WebDriverWait buildFluentWait(FakeDriverState state) {
+        return WaitStrategy.buildFluentWait(WaitStrategy.DEFAULT_TIMEOUT, AdaptivePoller.forCondition("benchmark"));
+    }
+
+    @Benchmark
+    public WebElement waitForVisibleLocated(FakeDriverState state) {
+        return WaitStrategy.waitForVisible(located);
+    }
+
+    @Benchmark
+    public WebElement waitForVisibleProxy(FakeDriverState state) {
+        return WaitStrategy.waitForVisible(proxy);
+    }
+
+    @Benchmark
+    public WebElement waitForClickableProxy(FakeDriverState state) {
+        return WaitStrategy.waitForClickable(proxy);
+    }
+}
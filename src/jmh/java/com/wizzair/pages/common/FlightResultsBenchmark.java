@@ -0,0 +1,49 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.benchmarks.FakeDriverState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FlightResultsPage#findCardByTimes} on the first screen of results: a hit via
+ * the accessibility id, and a miss that falls through to scanning every visible card.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightResultsBenchmark {
+
+    private FlightResultsPage results;
+
+    @Setup(Level.Trial)
+    public void openResults(FakeDriverState state) {
+        state.tap("Search flights");
+        results = new FlightResultsPage();
+    }
+
+    @Benchmark
+    public WebElement findCardByTimesHit() {
+        // First card of the fake results list
+        return results.findCardByTimes("03:00", "05:30");
+    }
+
+    @Benchmark
+    public WebElement findCardByTimesMiss() {
+        return results.findCardByTimes("23:00", "01:30");
+    }
+}
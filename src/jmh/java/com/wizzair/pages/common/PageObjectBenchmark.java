@@ -0,0 +1,39 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.benchmarks.FakeDriverState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page object construction: {@code PageFactory.initElements} with the
+ * {@code CachingFieldDecorator}, paid every time a step creates a page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    @Benchmark
+    public FlightSearchPage newFlightSearchPage(FakeDriverState state) {
+        return new FlightSearchPage();
+    }
+
+    @Benchmark
+    public FlightResultsPage newFlightResultsPage(FakeDriverState state) {
+        return new FlightResultsPage();
+    }
+
+    @Benchmark
+    public BookingPage newBookingPage(FakeDriverState state) {
+        return new BookingPage();
+    }
+}
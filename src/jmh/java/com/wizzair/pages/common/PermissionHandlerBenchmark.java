@@ -0,0 +1,59 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.benchmarks.FakeDriverState;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PermissionHandler#acceptAll(int)}: the no-dialog case every scenario pays in
+ * setup, and a first launch with two chained system dialogs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionHandlerBenchmark {
+
+    /** Fresh install before every invocation, so two permission dialogs are pending. */
+    @State(Scope.Thread)
+    public static class FirstLaunchState extends FakeDriverState {
+
+        @Override
+        protected FakeAppiumOptions options() {
+            FakeAppiumOptions options = new FakeAppiumOptions();
+            options.setPermissionDialogs(2);
+            return options;
+        }
+
+        @Setup(Level.Invocation)
+        public void reinstall() {
+            driver.executeScript("mobile: clearApp", Map.of("appId", "com.wizzair.WizzAirApp"));
+            driver.executeScript("mobile: activateApp", Map.of("appId", "com.wizzair.WizzAirApp"));
+        }
+    }
+
+    @Benchmark
+    public List<String> acceptAllNoDialog(FakeDriverState state) {
+        return PermissionHandler.acceptAll(5);
+    }
+
+    @Benchmark
+    public List<String> acceptAllTwoDialogs(FirstLaunchState state) {
+        return PermissionHandler.acceptAll(5);
+    }
+}
@@ -24,6 +24,12 @@ import static io.cucumber.junit.platform.engine.Constants.*;
  * <pre>
  *   mvn test -Dcucumber.features="src/test/resources/features/01_deep_link_permissions.feature"
  * </pre>
+ *
+ * <p>Run in parallel across a device pool (one worker per device):
+ * <pre>
+ *   mvn test -Dplatform=android -DdevicePool=configs/device-pool-android.yaml \
+ *            -Dcucumber.execution.parallel.enabled=true
+ * </pre>
  */
 @Suite
 @IncludeEngines("cucumber")
@@ -33,11 +39,16 @@ import static io.cucumber.junit.platform.engine.Constants.*;
 @ConfigurationParameter(key = PLUGIN_PROPERTY_NAME,
         value = "pretty, io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm, "
               + "json:target/cucumber-reports/cucumber.json, "
-              + "html:target/cucumber-reports/cucumber.html")
+              + "html:target/cucumber-reports/cucumber.html, "
+              + "com.wizzair.core.metrics.StepTracker")
 @ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME,
         value = "not @wip")   // skip work-in-progress scenarios by default
-@ConfigurationParameter(key = PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME,
-        value = "false")      // set to "true" for parallel; requires separate Appium sessions
+// Parallel execution stays off (Cucumber's default) unless enabled with
+// -Dcucumber.execution.parallel.enabled=true; worker count then follows the device pool size
+@ConfigurationParameter(key = PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME,
+        value = "custom")
+@ConfigurationParameter(key = PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME,
+        value = "com.wizzair.core.driver.DevicePoolParallelism")
 public class TestRunner {
     // Entry point discovered by JUnit Platform – no body required
 }
@@ -6,6 +6,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Loads device configuration from a YAML file at test startup.
@@ -20,11 +22,16 @@ import java.io.InputStream;
  * <pre>
  *   DeviceConfig cfg = ConfigLoader.load();
  * </pre>
+ *
+ * <p>For parallel runs, {@code -DdevicePool=configs/device-pool-android.yaml} points at a
+ * device-pool file; {@link #loadDevicePool()} then returns one {@link DeviceConfig}
+ * per listed device, each inheriting the platform config.
  */
 public final class ConfigLoader {
 
     private static final Logger LOG = LoggerFactory.getLogger(ConfigLoader.class);
     private static DeviceConfig instance;
+    private static List<DeviceConfig> devicePool;
 
     private ConfigLoader() {}
 
@@ -38,10 +45,50 @@ public final class ConfigLoader {
         return instance;
     }
 
+    /**
+     * Returns every device available to this run, loading the pool on first call.
+     * Without a {@code devicePool} system property the pool is just {@link #load()}.
+     */
+    public static synchronized List<DeviceConfig> loadDevicePool() {
+        if (devicePool == null) {
+            devicePool = resolveDevicePool();
+        }
+        return devicePool;
+    }
+
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
 
+    private static List<DeviceConfig> resolveDevicePool() {
+        String poolFile = System.getProperty("devicePool");
+        if (poolFile == null || poolFile.isBlank()) {
+            return List.of(load());
+        }
+
+        LOG.info("Loading device pool from: {}", poolFile);
+        DevicePoolConfig pool = loadYaml(poolFile, DevicePoolConfig.class);
+        if (pool.getDevices().isEmpty()) {
+            throw new RuntimeException("Device pool lists no devices: " + poolFile);
+        }
+
+        List<DeviceConfig> devices = new ArrayList<>();
+        for (DevicePoolConfig.Device device : pool.getDevices()) {
+            // Each device gets its own copy of the platform config
+            DeviceConfig cfg = resolveConfig();
+            applyIfPresent(device.getUdid(),            cfg::setUdid);
+            applyIfPresent(device.getDeviceName(),      cfg::setDeviceName);
+            applyIfPresent(device.getPlatformVersion(), cfg::setPlatformVersion);
+            applyIfPresent(device.getAppiumServerUrl(), cfg::setAppiumServerUrl);
+            cfg.setSystemPort(device.getSystemPort());
+            cfg.setWdaLocalPort(device.getWdaLocalPort());
+            devices.add(cfg);
+        }
+
+        LOG.info("Device pool → {} device(s)", devices.size());
+        return List.copyOf(devices);
+    }
+
     private static DeviceConfig resolveConfig() {
         // 1. Determine platform from system property (default: android)
         String platform = System.getProperty("platform", "android").toLowerCase();
@@ -50,7 +97,7 @@ public final class ConfigLoader {
 
         LOG.info("Loading device config from: {}", yamlFile);
 
-        DeviceConfig cfg = loadYaml(yamlFile);
+        DeviceConfig cfg = loadYaml(yamlFile, DeviceConfig.class);
 
         // 2. Allow individual system properties to override YAML values
         overrideFromSystemProperties(cfg);
@@ -60,14 +107,14 @@ public final class ConfigLoader {
         return cfg;
     }
 
-    private static DeviceConfig loadYaml(String resourcePath) {
+    private static <T> T loadYaml(String resourcePath, Class<T> type) {
         ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
         try (InputStream is = ConfigLoader.class.getClassLoader()
                                                 .getResourceAsStream(resourcePath)) {
             if (is == null) {
                 throw new RuntimeException("Config file not found on classpath: " + resourcePath);
             }
-            return mapper.readValue(is, DeviceConfig.class);
+            return mapper.readValue(is, type);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load config: " + resourcePath, e);
         }
@@ -79,13 +126,20 @@ public final class ConfigLoader {
         applyIfSet("appPath",         v -> cfg.setAppPath(v));
         applyIfSet("appiumServerUrl", v -> cfg.setAppiumServerUrl(v));
         applyIfSet("platformVersion", v -> cfg.setPlatformVersion(v));
+        applyIfSet("sessionReuse",    v -> cfg.setSessionReuse(Boolean.parseBoolean(v)));
+        applyIfSet("maxSessionReuse", v -> cfg.setMaxSessionReuse(Integer.parseInt(v)));
+        applyIfSet("appResetStrategy", v -> cfg.setAppResetStrategy(v));
+        applyIfSet("sessionPrewarm",  v -> cfg.setSessionPrewarm(Boolean.parseBoolean(v)));
     }
 
     @FunctionalInterface
     private interface StringConsumer { void accept(String value); }
 
     private static void applyIfSet(String key, StringConsumer setter) {
-        String val = System.getProperty(key);
+        applyIfPresent(System.getProperty(key), setter);
+    }
+
+    private static void applyIfPresent(String val, StringConsumer setter) {
         if (val != null && !val.isBlank()) {
             setter.accept(val);
         }
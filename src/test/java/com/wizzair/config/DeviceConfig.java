@@ -38,6 +38,16 @@ public class DeviceConfig {
     private int wdaLaunchTimeout    = 120000;
     private int wdaConnectionTimeout = 120000;
 
+    // Per-device ports for parallel runs on one Appium host (0 = let Appium choose)
+    private int systemPort;      // Android UiAutomator2
+    private int wdaLocalPort;    // iOS WebDriverAgent
+
+    // Session pool (see SessionPool)
+    private boolean sessionReuse     = true;
+    private int     maxSessionReuse  = 25;
+    private String  appResetStrategy = "terminate";   // terminate | clear (Android only)
+    private boolean sessionPrewarm   = false;         // build the next session in the background
+
     /** Convenience – returns true when running on Android. */
     public boolean isAndroid() {
         return "android".equalsIgnoreCase(platform);
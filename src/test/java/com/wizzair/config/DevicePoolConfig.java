@@ -0,0 +1,32 @@
+package com.wizzair.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps a device-pool YAML file (e.g. {@code configs/device-pool-android.yaml}) to a Java object.
+ *
+ * <p>Each entry only lists what differs between devices (UDID, Appium URL, ports);
+ * everything else is inherited from the platform config.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DevicePoolConfig {
+
+    private List<Device> devices = new ArrayList<>();
+
+    /** One attached device or emulator. */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Device {
+        private String udid;
+        private String deviceName;
+        private String platformVersion;
+        private String appiumServerUrl;
+        private int    systemPort;
+        private int    wdaLocalPort;
+    }
+}
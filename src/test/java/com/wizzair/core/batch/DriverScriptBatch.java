@@ -0,0 +1,263 @@
+package com.wizzair.core.batch;
+
+import com.wizzair.core.metrics.RunMetrics;
+import com.wizzair.core.wait.WaitStrategy;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.ExecutesDriverScript;
+import io.appium.java_client.driverscripts.ScriptOptions;
+import io.appium.java_client.driverscripts.ScriptType;
+import io.appium.java_client.driverscripts.ScriptValue;
+import org.openqa.selenium.By;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A short sequence of find / act / read steps sent to the Appium server as one
+ * {@code executeDriverScript} call, instead of one HTTP round-trip per command.
+ *
+ * <pre>
+ *   DriverScriptBatch.Result result = new DriverScriptBatch()
+ *       .type(ORIGIN, "LTN")
+ *       .type(DESTINATION, "BCN")
+ *       .read(SUMMARY)
+ *       .tap(SEARCH)
+ *       .run(driver());
+ *   String summary = result.text(2);
+ * </pre>
+ * Each element step waits server-side for its element to be displayed, as
+ * {@code WaitStrategy} does client-side. Against a device farm 40–120 ms away, the
+ * four steps above cost one round-trip instead of about twelve.
+ *
+ * <p>The script runs in the server's {@code execute-driver} plugin, which is optional.
+ * If the server rejects the command, or a locator has no WebdriverIO equivalent, the
+ * same steps run one command at a time with the normal waits, and return the same
+ * {@link Result}. After the first rejection every later batch of the run goes straight
+ * to the per-command path. Run with {@code -Ddriver.scriptBatching=false} to always use
+ * it, e.g. to compare runs.
+ */
+public final class DriverScriptBatch {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverScriptBatch.class);
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(System.getProperty("driver.scriptBatching", "true"));
+
+    /** Set once the server has rejected a driver script; later batches skip the attempt. */
+    private static volatile boolean serverUnsupported;
+
+    private static final LongAdder SCRIPT_BATCHES      = new LongAdder();
+    private static final LongAdder SCRIPT_STEPS        = new LongAdder();
+    private static final LongAdder PER_COMMAND_BATCHES = new LongAdder();
+
+    static {
+        RunMetrics.register("driverScript", DriverScriptBatch::stats);
+    }
+
+    private enum Kind { TAP, TYPE, READ, COUNT }
+
+    private record Step(Kind kind, By by, String text) {}
+
+    /**
+     * Outcome of a batch: one value per step, in order. {@code tap} and {@code type}
+     * steps yield {@code null}, {@code read} the element's text, {@code count} the
+     * number of matching elements.
+     *
+     * @param serverSide whether the steps ran as one driver script
+     */
+    public record Result(List<Object> values, boolean serverSide) {
+
+        /** Text read by the {@code read} step at {@code index}. */
+        public String text(int index) {
+            return (String) values.get(index);
+        }
+
+        /** Number of elements found by the {@code count} step at {@code index}. */
+        public int count(int index) {
+            return ((Number) values.get(index)).intValue();
+        }
+    }
+
+    private final List<Step> steps = new ArrayList<>();
+    private Duration timeout = WaitStrategy.DEFAULT_TIMEOUT;
+
+    /** How long each element step waits for its element; defaults to {@code DEFAULT_TIMEOUT}. */
+    public DriverScriptBatch timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /** Waits for the element and taps it. */
+    public DriverScriptBatch tap(By by) {
+        steps.add(new Step(Kind.TAP, by, null));
+        return this;
+    }
+
+    /** Waits for the element, clears it and types {@code text}. */
+    public DriverScriptBatch type(By by, String text) {
+        steps.add(new Step(Kind.TYPE, by, text));
+        return this;
+    }
+
+    /** Waits for the element and reads its text. */
+    public DriverScriptBatch read(By by) {
+        steps.add(new Step(Kind.READ, by, null));
+        return this;
+    }
+
+    /** Counts the matching elements right away, without waiting. */
+    public DriverScriptBatch count(By by) {
+        steps.add(new Step(Kind.COUNT, by, null));
+        return this;
+    }
+
+    /** Runs the steps, as one driver script when the server supports it. */
+    public Result run(AppiumDriver driver) {
+        String script = ENABLED && !serverUnsupported && driver instanceof ExecutesDriverScript
+                ? script()
+                : null;
+        if (script != null) {
+            try {
+                ScriptValue value = ((ExecutesDriverScript) driver).executeDriverScript(script,
+                        new ScriptOptions().withScriptType(ScriptType.WEBDRIVERIO)
+                                           .withTimeout(timeout.toMillis() * steps.size()));
+                SCRIPT_BATCHES.increment();
+                SCRIPT_STEPS.add(steps.size());
+                return new Result(valuesOf(value), true);
+            } catch (UnsupportedCommandException e) {
+                serverUnsupported = true;
+                LOG.warn("Server has no execute-driver plugin – running batches one command at a time: {}",
+                        e.getMessage());
+            }
+        }
+        return runPerCommand(driver);
+    }
+
+    /** Forgets an earlier rejection, so the next batch tries the server again. */
+    static void reset() {
+        serverUnsupported = false;
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    private Result runPerCommand(AppiumDriver driver) {
+        PER_COMMAND_BATCHES.increment();
+        List<Object> values = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.kind() == Kind.COUNT) {
+                values.add(driver.findElements(step.by()).size());
+                continue;
+            }
+            WebElement element = WaitStrategy.waitForElement(() -> driver.findElement(step.by()), timeout);
+            switch (step.kind()) {
+                case TAP -> {
+                    element.click();
+                    values.add(null);
+                }
+                case TYPE -> {
+                    element.clear();
+                    element.sendKeys(step.text());
+                    values.add(null);
+                }
+                case READ -> values.add(element.getText());
+                default -> throw new IllegalStateException("Unexpected step " + step.kind());
+            }
+        }
+        return new Result(Collections.unmodifiableList(values), false);
+    }
+
+    /** The WebdriverIO script for the steps, or {@code null} if a locator cannot be expressed. */
+    private String script() {
+        StringBuilder js = new StringBuilder("const results = [];\nlet el;\n");
+        long waitMs = timeout.toMillis();
+        for (Step step : steps) {
+            String selector = wdioSelector(step.by());
+            if (selector == null) {
+                LOG.debug("No WebdriverIO selector for {} – batch runs per command", step.by());
+                return null;
+            }
+            String find = "await driver.$(" + jsString(selector) + ")";
+            switch (step.kind()) {
+                case TAP -> js.append("el = ").append(find).append(";\n")
+                        .append("await el.waitForDisplayed({ timeout: ").append(waitMs).append(" });\n")
+                        .append("await el.click();\nresults.push(null);\n");
+                case TYPE -> js.append("el = ").append(find).append(";\n")
+                        .append("await el.waitForDisplayed({ timeout: ").append(waitMs).append(" });\n")
+                        .append("await el.clearValue();\n")
+                        .append("await el.addValue(").append(jsString(step.text())).append(");\n")
+                        .append("results.push(null);\n");
+                case READ -> js.append("el = ").append(find).append(";\n")
+                        .append("await el.waitForDisplayed({ timeout: ").append(waitMs).append(" });\n")
+                        .append("results.push(await el.getText());\n");
+                case COUNT -> js.append("results.push((await driver.$$(").append(jsString(selector))
+                        .append(")).length);\n");
+            }
+        }
+        return js.append("return results;\n").toString();
+    }
+
+    /** WebdriverIO's form of a locator, for the strategies it shares with Appium. */
+    private static String wdioSelector(By by) {
+        if (!(by instanceof By.Remotable remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        return switch (parameters.using()) {
+            case "accessibility id"      -> "~" + value;
+            case "xpath"                 -> value;
+            case "-android uiautomator"  -> "android=" + value;
+            case "-ios predicate string" -> "-ios predicate string:" + value;
+            case "-ios class chain"      -> "-ios class chain:" + value;
+            default                      -> null;
+        };
+    }
+
+    private static String jsString(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"'  -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default   -> {
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private List<Object> valuesOf(ScriptValue value) {
+        if (!(value.getResult() instanceof List<?> list) || list.size() != steps.size()) {
+            throw new IllegalStateException("Driver script returned " + value.getResult()
+                    + " for " + steps.size() + " steps");
+        }
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("scriptBatches", SCRIPT_BATCHES.sum());
+        stats.put("stepsInScripts", SCRIPT_STEPS.sum());
+        stats.put("perCommandBatches", PER_COMMAND_BATCHES.sum());
+        stats.put("serverSupported", !serverUnsupported);
+        return stats;
+    }
+}
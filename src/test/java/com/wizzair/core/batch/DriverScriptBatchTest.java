@@ -0,0 +1,96 @@
+package com.wizzair.core.batch;
+
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batches on the fake Android app, with and without the server's {@code execute-driver}
+ * plugin. The per-command path waits through {@code WaitStrategy}, so the driver is
+ * registered like a scenario's.
+ */
+class DriverScriptBatchTest {
+
+    private static final By ORIGIN      = AppiumBy.accessibilityId("Origin airport");
+    private static final By DESTINATION = AppiumBy.accessibilityId("Destination airport");
+    private static final By SEARCH      = AppiumBy.accessibilityId("Search flights");
+    private static final By CARDS       = AppiumBy.accessibilityId("Flight card");
+
+    private final FakeAppiumOptions options = new FakeAppiumOptions();
+    private AppiumDriver driver;
+
+    @BeforeEach
+    void forgetRejections() {
+        DriverScriptBatch.reset();
+    }
+
+    @AfterEach
+    void quitDriver() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void stepsRunAsOneDriverScript() {
+        startDriver();
+
+        DriverScriptBatch.Result result = searchBatch().run(driver);
+
+        assertThat(result.serverSide()).isTrue();
+        // Numbers come back from the wire as longs
+        assertThat(result.values()).containsExactlyElementsOf(Arrays.asList(null, null, "LTN", 0L, null));
+        assertThat(result.count(3)).isZero();
+        assertThat(driver.findElements(CARDS)).hasSize(5);
+    }
+
+    @Test
+    void rejectedScriptRunsTheStepsOneCommandAtATime() {
+        options.setExecuteDriverPlugin(false);
+        startDriver();
+
+        DriverScriptBatch.Result result = searchBatch().run(driver);
+
+        assertThat(result.serverSide()).isFalse();
+        assertThat(result.values()).containsExactlyElementsOf(Arrays.asList(null, null, "LTN", 0, null));
+        assertThat(result.text(2)).isEqualTo("LTN");
+        assertThat(result.count(3)).isZero();
+        assertThat(driver.findElements(CARDS)).hasSize(5);
+    }
+
+    @Test
+    void locatorWithoutAWebdriverioFormStillRuns() {
+        startDriver();
+
+        DriverScriptBatch.Result result = new DriverScriptBatch()
+                .count(By.className("android.widget.EditText"))
+                .run(driver);
+
+        assertThat(result.serverSide()).isFalse();
+        assertThat(result.count(0)).isEqualTo(2);
+    }
+
+    // ---- Helpers
+
+    private void startDriver() {
+        driver = FakeCommandExecutor.androidDriver(options);
+        DriverManager.setDriver(driver);
+    }
+
+    private static DriverScriptBatch searchBatch() {
+        return new DriverScriptBatch()
+                .type(ORIGIN, "LTN")
+                .type(DESTINATION, "BCN")
+                .read(ORIGIN)
+                .count(CARDS)
+                .tap(SEARCH);
+    }
+}
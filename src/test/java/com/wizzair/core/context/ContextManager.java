@@ -1,12 +1,28 @@
 package com.wizzair.core.context;
 
+import com.wizzair.config.ConfigLoader;
+import com.wizzair.config.DeviceConfig;
 import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.driver.InstrumentedCommandExecutor;
+import com.wizzair.core.metrics.LatencyHistogram;
+import com.wizzair.core.metrics.RunMetrics;
 import com.wizzair.core.wait.WaitStrategy;
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.SupportsContextSwitching;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages switching between native app context and WebView context.
@@ -20,6 +36,14 @@ import java.util.Set;
  *
  * <p>This class waits for the WebView context to appear before switching,
  * avoiding race conditions that cause fragile tests.
+ *
+ * <p>It keeps a local view of the active context and the last context handles it
+ * saw, per thread and driver, updated on every switch it performs. Queries are
+ * answered from that view until {@link InstrumentedCommandExecutor#contextEventCount()}
+ * reports something that can change contexts behind its back – a switch made
+ * elsewhere, app backgrounding, a relaunch or deep link, or a failed command. The
+ * view is then dropped and the next query goes to the server. Drivers without the
+ * instrumented executor are always asked.
  */
 public final class ContextManager {
 
@@ -27,6 +51,43 @@ public final class ContextManager {
     private static final String NATIVE_CONTEXT  = "NATIVE_APP";
     private static final String WEBVIEW_PREFIX  = "WEBVIEW";
 
+    private static final ThreadLocal<View> VIEW = new ThreadLocal<>();
+
+    private static final boolean SERVER_SIDE_DISCOVERY =
+            Boolean.parseBoolean(System.getProperty("context.serverSideDiscovery", "true"));
+
+    /** Pause before asking again when only other apps' WebViews exist. */
+    private static final long FOREIGN_WEBVIEW_RECHECK_MS = 250;
+
+    /** Set once the driver has rejected {@code mobile: getContexts}; later switches poll. */
+    private static volatile boolean getContextsUnsupported;
+
+    private static final LatencyHistogram SERVER_DISCOVERY = new LatencyHistogram();
+    private static final LatencyHistogram POLLED_DISCOVERY = new LatencyHistogram();
+
+    private static final LongAdder SERVER_QUERIES   = new LongAdder();
+    private static final LongAdder LOCAL_ANSWERS    = new LongAdder();
+    private static final LongAdder SWITCHES_SKIPPED = new LongAdder();
+    private static final LongAdder REVALIDATIONS    = new LongAdder();
+    private static final LongAdder FOREIGN_WEBVIEWS = new LongAdder();
+
+    static {
+        RunMetrics.register("contexts", ContextManager::stats);
+    }
+
+    /** What this thread last knew about its driver's contexts; {@code null} fields are unknown. */
+    private static final class View {
+        final AppiumDriver driver;
+        long        validAt;
+        String      current;
+        Set<String> handles;
+
+        View(AppiumDriver driver, long validAt) {
+            this.driver  = driver;
+            this.validAt = validAt;
+        }
+    }
+
     private ContextManager() {}
 
     // -------------------------------------------------------------------------
@@ -34,43 +95,72 @@ public final class ContextManager {
     // -------------------------------------------------------------------------
 
     /**
-     * Switches the driver to the first available WebView context.
+     * Switches the driver to the app's WebView context.
      * Waits up to {@code timeoutSeconds} for a WebView to appear.
+     *
+     * <p>By default the wait happens on the server: one {@code mobile: getContexts}
+     * call with {@code waitForWebviewMs} returns as soon as a WebView exists, and its
+     * detailed answer says which app owns each WebView, so a browser or another app's
+     * WebView is never picked. Drivers without that command fall back to polling
+     * {@code getContextHandles}, preferring {@code WEBVIEW_<appPackage>} on Android.
+     * {@code -Dcontext.serverSideDiscovery=false} forces polling. Discovery times go to
+     * the {@code contexts} section of the run metrics.
      */
     public static void switchToWebView(int timeoutSeconds) {
         AppiumDriver driver = DriverManager.getDriver();
+        View view = view(driver);
+        if (view.current != null && view.current.startsWith(WEBVIEW_PREFIX)) {
+            LOCAL_ANSWERS.increment();
+            SWITCHES_SKIPPED.increment();
+            LOG.info("Already in context: {}", view.current);
+            return;
+        }
 
         LOG.info("Waiting for WebView context (timeout={}s)", timeoutSeconds);
-        WaitStrategy.waitUntil(
-            () -> hasWebViewContext(driver),
-            timeoutSeconds,
-            "WebView context to appear"
-        );
-
-        Set<String> contexts = driver.getContextHandles();
-        String webViewContext = contexts.stream()
-                .filter(ctx -> ctx.startsWith(WEBVIEW_PREFIX))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException(
-                    "No WebView context found among: " + contexts));
+        long start = System.nanoTime();
+        String webViewContext = SERVER_SIDE_DISCOVERY && !getContextsUnsupported
+                ? discoverOnServer(driver, timeoutSeconds)
+                : null;
+        if (webViewContext != null) {
+            SERVER_DISCOVERY.recordNanos(System.nanoTime() - start);
+        } else {
+            webViewContext = discoverByPolling(driver, timeoutSeconds);
+            POLLED_DISCOVERY.recordNanos(System.nanoTime() - start);
+        }
 
         LOG.info("Switching to context: {}", webViewContext);
-        driver.context(webViewContext);
+        switchTo(driver, webViewContext);
     }
 
     /**
      * Switches back to the native app context.
      */
     public static void switchToNativeApp() {
+        AppiumDriver driver = DriverManager.getDriver();
+        if (NATIVE_CONTEXT.equals(view(driver).current)) {
+            LOCAL_ANSWERS.increment();
+            SWITCHES_SKIPPED.increment();
+            LOG.info("Already in NATIVE_APP context");
+            return;
+        }
         LOG.info("Switching to NATIVE_APP context");
-        DriverManager.getDriver().context(NATIVE_CONTEXT);
+        switchTo(driver, NATIVE_CONTEXT);
     }
 
     /**
-     * Returns the current active context name.
+     * Returns the current active context name, from the local view when it is still valid.
      */
     public static String getCurrentContext() {
-        return DriverManager.getDriver().getContext();
+        AppiumDriver driver = DriverManager.getDriver();
+        View view = view(driver);
+        if (view.current != null) {
+            LOCAL_ANSWERS.increment();
+            return view.current;
+        }
+        SERVER_QUERIES.increment();
+        String current = contexts(driver).getContext();
+        view(driver).current = current;
+        return current;
     }
 
     /**
@@ -81,19 +171,158 @@ public final class ContextManager {
     }
 
     /**
-     * Returns all available contexts (for debugging).
+     * Returns all available contexts (for debugging), from the local view when it is still valid.
      */
     public static Set<String> getAllContexts() {
-        return DriverManager.getDriver().getContextHandles();
+        AppiumDriver driver = DriverManager.getDriver();
+        View view = view(driver);
+        if (view.handles != null) {
+            LOCAL_ANSWERS.increment();
+            return view.handles;
+        }
+        return fetchHandles(driver);
+    }
+
+    /** Forgets this thread's view, e.g. after driving the app outside the framework. */
+    public static void invalidate() {
+        VIEW.remove();
     }
 
     // -------------------------------------------------------------------------
     // Private helpers
     // -------------------------------------------------------------------------
 
-    private static boolean hasWebViewContext(AppiumDriver driver) {
+    /** A WebView from {@code mobile: getContexts}; {@code owner} is the app package or bundle id, if reported. */
+    record WebView(String name, String owner) {}
+
+    /**
+     * Waits on the server for a WebView of the app under test. Returns {@code null} if
+     * the driver does not support {@code mobile: getContexts}.
+     */
+    private static String discoverOnServer(AppiumDriver driver, int timeoutSeconds) {
+        DeviceConfig config = ConfigLoader.load();
+        String owner = config.isAndroid() ? config.getAppPackage() : config.getBundleId();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (true) {
+            long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            List<WebView> webViews;
+            try {
+                SERVER_QUERIES.increment();
+                webViews = webViewsOf(driver.executeScript("mobile: getContexts",
+                        Map.of("waitForWebviewMs", remainingMs)));
+            } catch (UnsupportedCommandException | InvalidArgumentException e) {
+                getContextsUnsupported = true;
+                LOG.warn("mobile: getContexts not supported – polling context handles instead: {}", e.getMessage());
+                return null;
+            }
+            Set<String> handles = new LinkedHashSet<>();
+            handles.add(NATIVE_CONTEXT);
+            webViews.forEach(webView -> handles.add(webView.name()));
+            view(driver).handles = Set.copyOf(handles);
+
+            String own = ownWebView(webViews, owner);
+            if (own != null) {
+                return own;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new RuntimeException("No WebView of " + owner + " within " + timeoutSeconds
+                        + "s; found: " + webViews);
+            }
+            if (!webViews.isEmpty()) {
+                // Other apps' WebViews make the server answer at once; don't spin on them
+                FOREIGN_WEBVIEWS.increment();
+                LOG.debug("Only foreign WebViews so far: {}", webViews);
+                sleep(FOREIGN_WEBVIEW_RECHECK_MS);
+            }
+        }
+    }
+
+    /**
+     * The WebView owned by {@code owner}; else one without a reported owner that is named
+     * after it ({@code WEBVIEW_<package>}, as UiAutomator2 names them when it cannot read
+     * the process info); else the first one when the driver reports no owners at all.
+     * {@code null} if none applies.
+     */
+    static String ownWebView(List<WebView> webViews, String owner) {
+        for (WebView webView : webViews) {
+            if (owner != null && owner.equals(webView.owner())) {
+                return webView.name();
+            }
+        }
+        for (WebView webView : webViews) {
+            if (owner != null && webView.owner() == null && webView.name().equals(WEBVIEW_PREFIX + "_" + owner)) {
+                return webView.name();
+            }
+        }
+        if (!webViews.isEmpty() && webViews.stream().allMatch(webView -> webView.owner() == null)) {
+            return webViews.get(0).name();
+        }
+        return null;
+    }
+
+    /** UiAutomator2 and XCUITest answers of {@code mobile: getContexts}, reduced to WebViews. */
+    static List<WebView> webViewsOf(Object result) {
+        List<WebView> webViews = new ArrayList<>();
+        if (!(result instanceof List<?> contexts)) {
+            return webViews;
+        }
+        for (Object context : contexts) {
+            if (!(context instanceof Map<?, ?> entry)) {
+                continue;
+            }
+            if (entry.get("id") instanceof String id) {
+                // XCUITest: {id, title, url, bundleId}
+                if (id.startsWith(WEBVIEW_PREFIX)) {
+                    webViews.add(new WebView(id, (String) entry.get("bundleId")));
+                }
+                continue;
+            }
+            // UiAutomator2: {proc, webview, webviewName, info: {Android-Package, ...}, pages}
+            Object name = entry.get("webviewName") != null ? entry.get("webviewName") : entry.get("webview");
+            Object owner = entry.get("info") instanceof Map<?, ?> info ? info.get("Android-Package") : null;
+            if (name instanceof String webview && webview.startsWith(WEBVIEW_PREFIX)) {
+                webViews.add(new WebView(webview, owner instanceof String pkg ? pkg : null));
+            }
+        }
+        return webViews;
+    }
+
+    /** Polls the context handles until a WebView shows up; prefers the app's own on Android. */
+    private static String discoverByPolling(AppiumDriver driver, int timeoutSeconds) {
+        AtomicReference<Set<String>> seen = new AtomicReference<>();
+        WaitStrategy.waitUntil(
+            () -> hasWebViewContext(driver, seen),
+            timeoutSeconds,
+            "WebView context to appear"
+        );
+
+        // The successful poll already fetched the handles
+        Set<String> contexts = seen.get();
+        DeviceConfig config = ConfigLoader.load();
+        String own = config.isAndroid() ? WEBVIEW_PREFIX + "_" + config.getAppPackage() : null;
+        if (own != null && contexts.contains(own)) {
+            return own;
+        }
+        return contexts.stream()
+                .filter(ctx -> ctx.startsWith(WEBVIEW_PREFIX))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException(
+                    "No WebView context found among: " + contexts));
+    }
+
+    private static void sleep(long millis) {
         try {
-            Set<String> contexts = driver.getContextHandles();
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebView", e);
+        }
+    }
+
+    private static boolean hasWebViewContext(AppiumDriver driver, AtomicReference<Set<String>> seen) {
+        try {
+            Set<String> contexts = fetchHandles(driver);
+            seen.set(contexts);
             boolean found = contexts.stream().anyMatch(c -> c.startsWith(WEBVIEW_PREFIX));
             if (!found) {
                 LOG.debug("Contexts available: {} – no WebView yet", contexts);
@@ -104,4 +333,61 @@ public final class ContextManager {
             return false;
         }
     }
+
+    private static Set<String> fetchHandles(AppiumDriver driver) {
+        SERVER_QUERIES.increment();
+        Set<String> handles = Set.copyOf(contexts(driver).getContextHandles());
+        view(driver).handles = handles;
+        return handles;
+    }
+
+    private static void switchTo(AppiumDriver driver, String context) {
+        View view = view(driver);
+        contexts(driver).context(context);
+        // The switch itself is a context event; the view, handles included, is current as of it
+        view.validAt = contextEventCount(driver);
+        view.current = context;
+    }
+
+    /** {@code AppiumDriver} has no context API of its own; the Android and iOS drivers implement it. */
+    private static SupportsContextSwitching contexts(AppiumDriver driver) {
+        if (driver instanceof SupportsContextSwitching switching) {
+            return switching;
+        }
+        throw new IllegalStateException(driver.getClass().getSimpleName() + " does not support context switching");
+    }
+
+    /** This thread's view for {@code driver}, replaced by an empty one if anything may have changed. */
+    private static View view(AppiumDriver driver) {
+        long events = contextEventCount(driver);
+        View view = VIEW.get();
+        if (view != null && view.driver == driver && events >= 0 && view.validAt == events) {
+            return view;
+        }
+        if (view != null && view.driver == driver && (view.current != null || view.handles != null)) {
+            REVALIDATIONS.increment();
+        }
+        view = new View(driver, events);
+        VIEW.set(view);
+        return view;
+    }
+
+    /** The executor's context event count, or {@code -1} if the driver is not instrumented. */
+    private static long contextEventCount(AppiumDriver driver) {
+        return driver.getCommandExecutor() instanceof InstrumentedCommandExecutor executor
+                ? executor.contextEventCount()
+                : -1;
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("serverQueries", SERVER_QUERIES.sum());
+        stats.put("localAnswers", LOCAL_ANSWERS.sum());
+        stats.put("switchesSkipped", SWITCHES_SKIPPED.sum());
+        stats.put("revalidations", REVALIDATIONS.sum());
+        stats.put("foreignWebViewsSkipped", FOREIGN_WEBVIEWS.sum());
+        stats.put("serverSideDiscovery", SERVER_DISCOVERY.summary());
+        stats.put("polledDiscovery", POLLED_DISCOVERY.summary());
+        return stats;
+    }
 }
@@ -0,0 +1,209 @@
+package com.wizzair.core.context;
+
+import com.wizzair.core.context.ContextManager.WebView;
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.metrics.CommandMetrics;
+import com.wizzair.core.metrics.RunMetrics;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The local context view against the fake Android app's payment WebView, and parsing
+ * of {@code mobile: getContexts} answers shaped like UiAutomator2's and XCUITest's
+ * (and the fake server's).
+ */
+class ContextManagerTest {
+
+    private static final String APP = "com.wizzair.WizzAirApp";
+
+    @AfterEach
+    void quitDriver() {
+        ContextManager.invalidate();
+        DriverManager.quitDriver();
+    }
+
+    // -------------------------------------------------------------------------
+    // Local view
+    // -------------------------------------------------------------------------
+
+    @Test
+    void currentContextIsAnsweredLocallyAfterASwitch() {
+        openPayment();
+        ContextManager.switchToWebView(5);
+        long queries = commands("getCurrentContextHandle");
+
+        assertThat(ContextManager.getCurrentContext()).isEqualTo("WEBVIEW_" + APP);
+        assertThat(ContextManager.isInWebView()).isTrue();
+        assertThat(commands("getCurrentContextHandle")).isEqualTo(queries);
+    }
+
+    @Test
+    void switchToTheActiveContextIsSkipped() {
+        openPayment();
+        ContextManager.switchToNativeApp();
+        long switches = commands("switchToContext");
+
+        ContextManager.switchToNativeApp();
+
+        assertThat(commands("switchToContext")).isEqualTo(switches);
+    }
+
+    @Test
+    void ownSwitchesKeepTheView() {
+        openPayment();
+        ContextManager.switchToWebView(5);
+        long handleQueries = commands("getContextHandles");
+        long revalidations = contextStat("revalidations");
+
+        ContextManager.switchToNativeApp();
+        ContextManager.switchToWebView(5);
+
+        // The handles seen during discovery are still known; no switch counts as a revalidation
+        assertThat(ContextManager.getAllContexts()).contains("NATIVE_APP", "WEBVIEW_" + APP);
+        assertThat(commands("getContextHandles")).isEqualTo(handleQueries);
+        assertThat(contextStat("revalidations")).isEqualTo(revalidations);
+    }
+
+    @Test
+    void appLifecycleEventSendsTheNextQueryToTheServer() {
+        openPayment();
+        ContextManager.getCurrentContext();
+        long queries = commands("getCurrentContextHandle");
+
+        DriverManager.getDriver().executeScript("mobile: backgroundApp", Map.of("seconds", 0));
+
+        assertThat(ContextManager.getCurrentContext()).isEqualTo("NATIVE_APP");
+        assertThat(commands("getCurrentContextHandle")).isEqualTo(queries + 1);
+    }
+
+    // -------------------------------------------------------------------------
+    // mobile: getContexts answers
+    // -------------------------------------------------------------------------
+
+    @Test
+    void readsUiAutomator2WebViewsWithTheirPackage() {
+        List<WebView> webViews = ContextManager.webViewsOf(List.of(
+                androidWebView("WEBVIEW_com.android.chrome", "com.android.chrome"),
+                androidWebView("WEBVIEW_" + APP, APP)));
+
+        assertThat(webViews).containsExactly(
+                new WebView("WEBVIEW_com.android.chrome", "com.android.chrome"),
+                new WebView("WEBVIEW_" + APP, APP));
+    }
+
+    @Test
+    void fallsBackToTheWebviewFieldWithoutAName() {
+        List<WebView> webViews = ContextManager.webViewsOf(List.of(
+                Map.of("proc", "@webview_devtools_remote_1234", "webview", "WEBVIEW_1234")));
+
+        assertThat(webViews).containsExactly(new WebView("WEBVIEW_1234", null));
+    }
+
+    @Test
+    void readsXcuiTestWebViewsAndSkipsTheNativeContext() {
+        List<WebView> webViews = ContextManager.webViewsOf(List.of(
+                Map.of("id", "NATIVE_APP"),
+                Map.of("id", "WEBVIEW_81934.1", "title", "Wizz Air Payment",
+                       "url", "https://pay.wizzair.com/checkout", "bundleId", APP)));
+
+        assertThat(webViews).containsExactly(new WebView("WEBVIEW_81934.1", APP));
+    }
+
+    @Test
+    void ignoresAnswersThatAreNotContextLists() {
+        assertThat(ContextManager.webViewsOf(null)).isEmpty();
+        assertThat(ContextManager.webViewsOf("NATIVE_APP")).isEmpty();
+        assertThat(ContextManager.webViewsOf(List.of("NATIVE_APP", 42))).isEmpty();
+    }
+
+    @Test
+    void picksTheWebViewOwnedByTheApp() {
+        List<WebView> webViews = List.of(
+                new WebView("WEBVIEW_com.android.chrome", "com.android.chrome"),
+                new WebView("WEBVIEW_" + APP, APP));
+
+        assertThat(ContextManager.ownWebView(webViews, APP)).isEqualTo("WEBVIEW_" + APP);
+    }
+
+    @Test
+    void ignoresForeignWebViews() {
+        List<WebView> webViews = List.of(new WebView("WEBVIEW_com.android.chrome", "com.android.chrome"));
+
+        assertThat(ContextManager.ownWebView(webViews, APP)).isNull();
+        assertThat(ContextManager.ownWebView(List.of(), APP)).isNull();
+    }
+
+    @Test
+    void takesTheFirstWebViewWhenNoOwnersAreReported() {
+        List<WebView> webViews = List.of(new WebView("WEBVIEW_1", null), new WebView("WEBVIEW_2", null));
+
+        assertThat(ContextManager.ownWebView(webViews, APP)).isEqualTo("WEBVIEW_1");
+    }
+
+    @Test
+    void takesTheWebViewNamedAfterTheAppWhenItsOwnerIsMissing() {
+        List<WebView> webViews = List.of(
+                new WebView("WEBVIEW_com.android.chrome", "com.android.chrome"),
+                new WebView("WEBVIEW_1", null),
+                new WebView("WEBVIEW_" + APP, null));
+
+        assertThat(ContextManager.ownWebView(webViews, APP)).isEqualTo("WEBVIEW_" + APP);
+    }
+
+    @Test
+    void doesNotGuessWhenOnlySomeOwnersAreReported() {
+        List<WebView> webViews = List.of(
+                new WebView("WEBVIEW_1", null),
+                new WebView("WEBVIEW_com.android.chrome", "com.android.chrome"));
+
+        assertThat(ContextManager.ownWebView(webViews, APP)).isNull();
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    /** The fake app on its payment screen, WebView already available. */
+    private static void openPayment() {
+        FakeAppiumOptions options = new FakeAppiumOptions();
+        options.setWebViewDelayMs(0);
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(options));
+        tap("Search flights");
+        DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Flight card")).get(0).click();
+        tap("Continue to payment");
+    }
+
+    private static void tap(String accessibilityId) {
+        DriverManager.getDriver().findElement(AppiumBy.accessibilityId(accessibilityId)).click();
+    }
+
+    /** How many commands of this name the run has sent so far. */
+    @SuppressWarnings("unchecked")
+    private static long commands(String command) {
+        Map<String, Map<String, Object>> byCommand =
+                (Map<String, Map<String, Object>>) CommandMetrics.report().get("byCommand");
+        return byCommand.containsKey(command) ? (Long) byCommand.get(command).get("count") : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long contextStat(String name) {
+        return (Long) ((Map<String, Object>) RunMetrics.collect().get("contexts")).get(name);
+    }
+
+    private static Map<String, Object> androidWebView(String name, String pkg) {
+        return Map.of(
+                "proc", "@webview_devtools_remote_1234",
+                "webview", name,
+                "webviewName", name,
+                "info", Map.of("Android-Package", pkg, "Browser", "Chrome/120.0.0.0"),
+                "pages", List.of(Map.of("id", "1", "type", "page", "url", "https://pay.wizzair.com/checkout")));
+    }
+}
@@ -0,0 +1,218 @@
+package com.wizzair.core.driver;
+
+import com.wizzair.config.ConfigLoader;
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.metrics.RunMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out devices from the device pool to Cucumber worker threads.
+ *
+ * <p>Each scenario leases one device in {@link com.wizzair.hooks.DriverHooks} and returns it
+ * on teardown. When every device is busy, workers queue up and are served strictly in
+ * arrival order, so a run scales with the number of attached devices without any worker
+ * starving. A worker gets the device it held last whenever that device is free, which
+ * keeps it on the same warm session in {@link SessionPool}.
+ *
+ * <p>The run-wide instance is built from {@link ConfigLoader#loadDevicePool()}, unless a
+ * hook supplies another pool first ({@link #usePool}); tests can construct their own
+ * scheduler over local stand-in endpoints.
+ */
+public final class DeviceLeaseScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeviceLeaseScheduler.class);
+
+    /** How long a worker waits for a device before failing the scenario. */
+    public static final Duration DEFAULT_LEASE_TIMEOUT = Duration.ofMinutes(30);
+
+    private static DeviceLeaseScheduler instance;
+
+    private final List<DeviceConfig> devices;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Guarded by lock
+    private final Deque<DeviceConfig> free;
+    private final Deque<Thread> waiters = new ArrayDeque<>();
+    private final Map<Thread, DeviceConfig> lastLeased = new LinkedHashMap<>();
+
+    private final ThreadLocal<DeviceConfig> current = new ThreadLocal<>();
+
+    private final AtomicLong leases        = new AtomicLong();
+    private final AtomicLong contended     = new AtomicLong();
+    private final AtomicLong totalWaitMs   = new AtomicLong();
+    private final AtomicLong maxWaitMs     = new AtomicLong();
+
+    public DeviceLeaseScheduler(List<DeviceConfig> devices) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("Device pool must contain at least one device");
+        }
+        this.devices = List.copyOf(devices);
+        this.free    = new ArrayDeque<>(devices);
+    }
+
+    /** Returns the run-wide scheduler over the configured device pool. */
+    public static synchronized DeviceLeaseScheduler get() {
+        if (instance == null) {
+            install(ConfigLoader.loadDevicePool());
+        }
+        return instance;
+    }
+
+    /**
+     * Makes the run-wide scheduler hand out {@code devices} instead of the configured pool,
+     * e.g. offline stand-ins.
+     *
+     * @throws IllegalStateException if a device has already been leased from the configured pool
+     */
+    public static synchronized void usePool(List<DeviceConfig> devices) {
+        if (instance != null) {
+            throw new IllegalStateException("The device pool is already in use");
+        }
+        install(devices);
+    }
+
+    private static void install(List<DeviceConfig> devices) {
+        instance = new DeviceLeaseScheduler(devices);
+        RunMetrics.register("deviceScheduler", instance::stats);
+    }
+
+    /** Number of devices in the pool – the useful degree of parallelism. */
+    public int size() {
+        return devices.size();
+    }
+
+    // -------------------------------------------------------------------------
+    // Lease / release
+    // -------------------------------------------------------------------------
+
+    public DeviceConfig lease() {
+        return lease(DEFAULT_LEASE_TIMEOUT);
+    }
+
+    /**
+     * Leases a device for the current thread, blocking in FIFO order while all
+     * devices are busy.
+     *
+     * @throws IllegalStateException if no device frees up within {@code timeout}
+     */
+    public DeviceConfig lease(Duration timeout) {
+        if (current.get() != null) {
+            throw new IllegalStateException("Thread " + Thread.currentThread().getName()
+                    + " already holds device " + describe(current.get()));
+        }
+
+        Thread me = Thread.currentThread();
+        long start = System.nanoTime();
+        long remaining = timeout.toNanos();
+        DeviceConfig device;
+
+        lock.lock();
+        try {
+            waiters.addLast(me);
+            if (waiters.peekFirst() != me || free.isEmpty()) {
+                contended.incrementAndGet();
+            }
+            try {
+                while (waiters.peekFirst() != me || free.isEmpty()) {
+                    if (remaining <= 0) {
+                        throw new IllegalStateException(
+                            "No device became free within " + timeout + " (pool size " + size() + ")");
+                    }
+                    remaining = changed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a device", e);
+            } finally {
+                waiters.remove(me);
+                // The next waiter may be able to proceed (or move to the head of the queue)
+                changed.signalAll();
+            }
+
+            DeviceConfig preferred = lastLeased.get(me);
+            device = (preferred != null && free.remove(preferred)) ? preferred : free.pollFirst();
+            lastLeased.put(me, device);
+        } finally {
+            lock.unlock();
+        }
+
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        leases.incrementAndGet();
+        totalWaitMs.addAndGet(waitedMs);
+        maxWaitMs.accumulateAndGet(waitedMs, Math::max);
+
+        current.set(device);
+        LOG.info("Thread {} leased device {} (waited {} ms)", me.getName(), describe(device), waitedMs);
+        return device;
+    }
+
+    /** Returns the current thread's device to the pool. Safe to call without a lease. */
+    public void release() {
+        DeviceConfig device = current.get();
+        if (device == null) {
+            return;
+        }
+        current.remove();
+
+        lock.lock();
+        try {
+            free.addLast(device);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        LOG.debug("Thread {} released device {}", Thread.currentThread().getName(), describe(device));
+    }
+
+    /** Returns a snapshot of the devices nobody holds right now. */
+    public List<DeviceConfig> freeDevices() {
+        lock.lock();
+        try {
+            return List.copyOf(free);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the device leased by the current thread, or {@code null}. */
+    public DeviceConfig currentDevice() {
+        return current.get();
+    }
+
+    // -------------------------------------------------------------------------
+    // Reporting
+    // -------------------------------------------------------------------------
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("devices", size());
+        stats.put("leases", leases.get());
+        stats.put("contendedLeases", contended.get());
+        stats.put("totalWaitMs", totalWaitMs.get());
+        stats.put("maxWaitMs", maxWaitMs.get());
+        return stats;
+    }
+
+    public void logSummary() {
+        LOG.info("Device scheduler summary → devices={}, leases={}, contended={}, "
+               + "totalWait={} ms, maxWait={} ms",
+                size(), leases.get(), contended.get(), totalWaitMs.get(), maxWaitMs.get());
+    }
+
+    private static String describe(DeviceConfig device) {
+        return SessionPool.deviceKey(device);
+    }
+}
@@ -0,0 +1,223 @@
+package com.wizzair.core.driver;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeAppiumServer;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * {@link DeviceLeaseScheduler} over a pool of fake Appium servers, one per device.
+ */
+class DeviceLeaseSchedulerTest {
+
+    private static final int DEVICES = 3;
+
+    private static final List<FakeAppiumServer> SERVERS = new ArrayList<>();
+
+    @BeforeAll
+    static void startServers() {
+        for (int i = 0; i < DEVICES; i++) {
+            SERVERS.add(FakeAppiumServer.start(new FakeAppiumOptions()));
+        }
+    }
+
+    @AfterAll
+    static void stopServers() {
+        SERVERS.forEach(FakeAppiumServer::close);
+        SERVERS.clear();
+    }
+
+    @Test
+    void concurrentWorkersLeaseDistinctDevicesAndReachTheirOwnServer() throws Exception {
+        DeviceLeaseScheduler scheduler = new DeviceLeaseScheduler(devices(DEVICES));
+        CountDownLatch allLeased = new CountDownLatch(DEVICES);
+
+        List<Callable<String>> workers = new ArrayList<>();
+        for (int i = 0; i < DEVICES; i++) {
+            workers.add(() -> {
+                DeviceConfig device = scheduler.lease(Duration.ofSeconds(5));
+                try {
+                    allLeased.countDown();
+                    assertThat(allLeased.await(5, TimeUnit.SECONDS)).isTrue();
+
+                    FakeAppiumServer server = serverFor(device);
+                    AppiumDriver driver = DriverFactory.createDriver(device);
+                    try {
+                        assertThat(server.backend().sessionCount()).isEqualTo(1);
+                        assertThat(driver.getPageSource()).contains("Search flights");
+                    } finally {
+                        driver.quit();
+                    }
+                    assertThat(server.backend().sessionCount()).isZero();
+                    return device.getUdid();
+                } finally {
+                    scheduler.release();
+                }
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(DEVICES);
+        try {
+            List<String> leased = new ArrayList<>();
+            for (Future<String> result : pool.invokeAll(workers, 30, TimeUnit.SECONDS)) {
+                leased.add(result.get());
+            }
+            assertThat(leased).doesNotHaveDuplicates().hasSize(DEVICES);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(scheduler.freeDevices()).hasSize(DEVICES);
+        assertThat(scheduler.stats()).containsEntry("leases", (long) DEVICES);
+    }
+
+    @Test
+    void waitersAreServedInArrivalOrder() throws Exception {
+        DeviceLeaseScheduler scheduler = new DeviceLeaseScheduler(devices(1));
+        List<String> served = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> waiters = new ArrayList<>();
+
+        scheduler.lease();
+        try {
+            for (int i = 1; i <= 4; i++) {
+                Thread waiter = new Thread(() -> {
+                    scheduler.lease(Duration.ofSeconds(10));
+                    served.add(Thread.currentThread().getName());
+                    scheduler.release();
+                }, "waiter-" + i);
+                waiter.start();
+                waiters.add(waiter);
+                // Queue them one at a time so the arrival order is known
+                long queued = i;
+                await().atMost(Duration.ofSeconds(5))
+                       .until(() -> (long) scheduler.stats().get("contendedLeases") == queued);
+            }
+        } finally {
+            scheduler.release();
+        }
+        for (Thread waiter : waiters) {
+            waiter.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(served).containsExactly("waiter-1", "waiter-2", "waiter-3", "waiter-4");
+        assertThat(scheduler.freeDevices()).hasSize(1);
+    }
+
+    @Test
+    void releaseReturnsTheDeviceToThePool() {
+        DeviceLeaseScheduler scheduler = new DeviceLeaseScheduler(devices(2));
+
+        DeviceConfig device = scheduler.lease();
+        assertThat(scheduler.currentDevice()).isSameAs(device);
+        assertThat(scheduler.freeDevices()).hasSize(1).doesNotContain(device);
+
+        scheduler.release();
+        assertThat(scheduler.currentDevice()).isNull();
+        assertThat(scheduler.freeDevices()).hasSize(2).contains(device);
+
+        // A second release without a lease changes nothing
+        scheduler.release();
+        assertThat(scheduler.freeDevices()).hasSize(2);
+    }
+
+    @Test
+    void threadGetsItsLastDeviceBackWhenFree() {
+        DeviceLeaseScheduler scheduler = new DeviceLeaseScheduler(devices(DEVICES));
+
+        DeviceConfig first = scheduler.lease();
+        scheduler.release();
+        // The released device is now at the back of the free queue
+        DeviceConfig again = scheduler.lease();
+        scheduler.release();
+
+        assertThat(again).isSameAs(first);
+    }
+
+    @Test
+    void leaseTimesOutWhenEveryDeviceIsBusy() throws Exception {
+        DeviceLeaseScheduler scheduler = new DeviceLeaseScheduler(devices(1));
+        ExecutorService other = Executors.newSingleThreadExecutor();
+
+        scheduler.lease();
+        try {
+            Future<DeviceConfig> waiting = other.submit(() -> scheduler.lease(Duration.ofMillis(200)));
+            assertThatThrownBy(waiting::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("No device became free");
+        } finally {
+            scheduler.release();
+            other.shutdownNow();
+        }
+        assertThat(scheduler.freeDevices()).hasSize(1);
+    }
+
+    @Test
+    void secondLeaseOnTheSameThreadIsRejected() {
+        DeviceLeaseScheduler scheduler = new DeviceLeaseScheduler(devices(2));
+
+        DeviceConfig held = scheduler.lease();
+        try {
+            assertThatThrownBy(scheduler::lease)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("already holds device");
+            assertThat(scheduler.currentDevice()).isSameAs(held);
+        } finally {
+            scheduler.release();
+        }
+    }
+
+    @Test
+    void emptyPoolIsRejected() {
+        assertThatThrownBy(() -> new DeviceLeaseScheduler(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    /** One Android device per fake server, like {@code ConfigLoader.loadDevicePool()} builds them. */
+    private static List<DeviceConfig> devices(int count) {
+        List<DeviceConfig> devices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            DeviceConfig device = new DeviceConfig();
+            device.setPlatform("android");
+            device.setPlatformVersion("14");
+            device.setDeviceName("Fake Device " + i);
+            device.setUdid("fake-device-" + i);
+            device.setAutomationName("UiAutomator2");
+            device.setAppPackage("com.wizzair.WizzAirApp");
+            device.setAppActivity(".activity.MainActivity");
+            device.setAppiumServerUrl(SERVERS.get(i).url());
+            devices.add(device);
+        }
+        return devices;
+    }
+
+    private static FakeAppiumServer serverFor(DeviceConfig device) {
+        return SERVERS.stream()
+                .filter(server -> server.url().equals(device.getAppiumServerUrl()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.wizzair.core.driver;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/**
+ * Custom Cucumber parallel-execution strategy that sizes the worker pool to the
+ * number of devices in the device pool.
+ *
+ * <p>Wired from {@link com.wizzair.TestRunner}; only takes effect when parallel
+ * execution is switched on ({@code -Dcucumber.execution.parallel.enabled=true}).
+ * Any extra workers the fork-join pool spins up simply queue in
+ * {@link DeviceLeaseScheduler}.
+ */
+public class DevicePoolParallelism implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters params) {
+        int parallelism = DeviceLeaseScheduler.get().size();
+
+        return new ParallelExecutionConfiguration() {
+            @Override public int getParallelism()      { return parallelism; }
+            @Override public int getMinimumRunnable()  { return parallelism; }
+            @Override public int getMaxPoolSize()      { return parallelism; }
+            @Override public int getCorePoolSize()     { return parallelism; }
+            @Override public int getKeepAliveSeconds() { return 30; }
+        };
+    }
+}
@@ -19,6 +19,9 @@ import java.time.Duration;
  *
  * <p>Uses the strongly-typed Options classes (UiAutomator2Options / XCUITestOptions)
  * instead of raw DesiredCapabilities, which is the modern, recommended approach.
+ *
+ * <p>Drivers talk to the server through an {@link InstrumentedCommandExecutor}, so
+ * every command round-trip is timed.
  */
 public final class DriverFactory {
 
@@ -65,6 +68,11 @@ public final class DriverFactory {
             options.setUdid(cfg.getUdid());
         }
 
+        // Distinct system ports let several devices share one Appium server
+        if (cfg.getSystemPort() > 0) {
+            options.setSystemPort(cfg.getSystemPort());
+        }
+
         // If an .apk path is provided install it; otherwise use the already-installed app
         if (cfg.getAppPath() != null && !cfg.getAppPath().isBlank()) {
             options.setApp(cfg.getAppPath());
@@ -73,7 +81,7 @@ public final class DriverFactory {
                    .setAppActivity(cfg.getAppActivity());
         }
 
-        return new AndroidDriver(serverUrl, options);
+        return new AndroidDriver(new InstrumentedCommandExecutor(serverUrl), options);
     }
 
     // -------------------------------------------------------------------------
@@ -98,12 +106,16 @@ public final class DriverFactory {
             options.setUdid(cfg.getUdid());
         }
 
+        if (cfg.getWdaLocalPort() > 0) {
+            options.setWdaLocalPort(cfg.getWdaLocalPort());
+        }
+
         if (cfg.getAppPath() != null && !cfg.getAppPath().isBlank()) {
             options.setApp(cfg.getAppPath());
         } else {
             options.setBundleId(cfg.getBundleId());
         }
 
-        return new IOSDriver(serverUrl, options);
+        return new IOSDriver(new InstrumentedCommandExecutor(serverUrl), options);
     }
 }
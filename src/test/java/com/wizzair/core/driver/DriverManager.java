@@ -1,5 +1,6 @@
 package com.wizzair.core.driver;
 
+import com.wizzair.config.DeviceConfig;
 import io.appium.java_client.AppiumDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +11,9 @@ import org.slf4j.LoggerFactory;
  * <p>Using {@link ThreadLocal} ensures that parallel test execution is safe –
  * each test thread owns its own driver reference without interference.
  *
+ * <p>Drivers are normally leased from {@link SessionPool} via {@link #acquireDriver(DeviceConfig)}
+ * and handed back with {@link #releaseDriver()}, so a warm session survives across scenarios.
+ *
  * <p>Lifecycle managed by {@link com.wizzair.hooks.DriverHooks}.
  */
 public final class DriverManager {
@@ -19,6 +23,9 @@ public final class DriverManager {
     /** Thread-local storage – one driver per thread. */
     private static final ThreadLocal<AppiumDriver> DRIVER_HOLDER = new ThreadLocal<>();
 
+    /** The pooled session behind {@link #DRIVER_HOLDER}, when the driver was leased. */
+    private static final ThreadLocal<PooledSession> LEASE_HOLDER = new ThreadLocal<>();
+
     private DriverManager() {}
 
     /**
@@ -46,6 +53,37 @@ public final class DriverManager {
         return driver;
     }
 
+    /**
+     * Leases a warm session for the given device from {@link SessionPool} and
+     * binds it to the current thread.
+     *
+     * @param cfg device to run on
+     * @return the leased driver
+     */
+    public static AppiumDriver acquireDriver(DeviceConfig cfg) {
+        PooledSession session = SessionPool.get().lease(cfg);
+        LEASE_HOLDER.set(session);
+        setDriver(session.driver());
+        return session.driver();
+    }
+
+    /**
+     * Hands the current thread's session back to {@link SessionPool}, which resets
+     * the app and keeps the session warm (or quits it if it is unhealthy).
+     * Falls back to {@link #quitDriver()} when the driver was not leased.
+     */
+    public static void releaseDriver() {
+        PooledSession session = LEASE_HOLDER.get();
+        if (session == null) {
+            quitDriver();
+            return;
+        }
+        LOG.debug("Releasing driver for thread {}", Thread.currentThread().getId());
+        LEASE_HOLDER.remove();
+        DRIVER_HOLDER.remove();
+        SessionPool.get().release(session);
+    }
+
     /**
      * Quits and removes the driver for the current thread.
      * Safe to call even if no driver is present.
@@ -60,6 +98,7 @@ public final class DriverManager {
                 LOG.warn("Exception while quitting driver", e);
             } finally {
                 DRIVER_HOLDER.remove();
+                LEASE_HOLDER.remove();
             }
         }
     }
@@ -0,0 +1,173 @@
+package com.wizzair.core.driver;
+
+import com.wizzair.core.metrics.CommandMetrics;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appium command executor that times every WebDriver round-trip.
+ *
+ * <p>Decorating at the executor level (rather than wrapping the driver object)
+ * keeps the concrete {@code AndroidDriver} / {@code IOSDriver} types that the rest
+ * of the framework casts to, and sees every command – element proxies, waits,
+ * gestures and {@code mobile:} scripts alike. Durations go to {@link CommandMetrics}.
+ *
+ * <p>It also counts commands that may change the UI (taps, typing, gestures, scripts,
+ * context switches – anything not known to be read-only), so cached views of the
+ * screen such as {@link com.wizzair.core.snapshot.PageSnapshot} can tell whether
+ * the framework has touched the app since they were taken. Context switches are
+ * counted separately: element handles found before one belong to the other context.
+ *
+ * <p>A third counter, {@link #contextEventCount()}, covers everything after which the
+ * available contexts or the active one may have changed: context switches, app
+ * lifecycle commands (background, terminate, activate, launch, deep links, URL
+ * navigation) and failed commands other than plain lookup misses. It lets
+ * {@link com.wizzair.core.context.ContextManager} trust its local view in between.
+ */
+public class InstrumentedCommandExecutor extends AppiumCommandExecutor {
+
+    private static final String MOBILE_PREFIX = "mobile:";
+
+    /** Wire names of app commands whose {@code MobileCommand} constants are not public (or deprecated). */
+    private static final String QUERY_APP_STATE       = "queryAppState";
+    private static final String RUN_APP_IN_BACKGROUND = "runAppInBackground";
+    private static final String TERMINATE_APP         = "terminateApp";
+    private static final String ACTIVATE_APP          = "activateApp";
+
+    /** W3C error states that say nothing about the contexts: a lookup miss or a stale handle. */
+    private static final Set<String> LOOKUP_MISS_STATES = Set.of("no such element", "stale element reference");
+
+    /** Commands that only read state; everything else counts as a mutation. */
+    private static final Set<String> READ_ONLY_COMMANDS = Set.of(
+            DriverCommand.FIND_ELEMENT, DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT, DriverCommand.FIND_CHILD_ELEMENTS,
+            DriverCommand.GET_ELEMENT_ATTRIBUTE, DriverCommand.GET_ELEMENT_DOM_PROPERTY,
+            DriverCommand.GET_ELEMENT_TEXT, DriverCommand.GET_ELEMENT_TAG_NAME,
+            DriverCommand.GET_ELEMENT_RECT, DriverCommand.IS_ELEMENT_DISPLAYED,
+            DriverCommand.IS_ELEMENT_ENABLED, DriverCommand.IS_ELEMENT_SELECTED,
+            DriverCommand.GET_PAGE_SOURCE, DriverCommand.SCREENSHOT,
+            DriverCommand.GET_CURRENT_WINDOW_SIZE, DriverCommand.GET_ALERT_TEXT,
+            DriverCommand.SET_TIMEOUT, MobileCommand.GET_CURRENT_CONTEXT_HANDLE,
+            MobileCommand.GET_CONTEXT_HANDLES, QUERY_APP_STATE);
+
+    /** {@code mobile:} scripts that only read state. */
+    private static final Set<String> READ_ONLY_SCRIPTS = Set.of("mobile: getContexts");
+
+    /** Commands after which the contexts may have changed without a context switch. */
+    private static final Set<String> APP_LIFECYCLE_COMMANDS = Set.of(
+            RUN_APP_IN_BACKGROUND, TERMINATE_APP, ACTIVATE_APP, DriverCommand.GET);
+
+    /** {@code mobile:} scripts with the same effect. */
+    private static final Set<String> APP_LIFECYCLE_SCRIPTS = Set.of(
+            "mobile: backgroundApp", "mobile: terminateApp", "mobile: activateApp",
+            "mobile: launchApp", "mobile: deepLink", "mobile: clearApp");
+
+    private final AtomicLong mutations       = new AtomicLong();
+    private final AtomicLong contextSwitches = new AtomicLong();
+    private final AtomicLong contextEvents   = new AtomicLong();
+
+    public InstrumentedCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl);
+    }
+
+    @Override
+    public Response execute(Command command) {
+        if (!READ_ONLY_COMMANDS.contains(command.getName()) && !isReadOnlyScript(command)) {
+            mutations.incrementAndGet();
+        }
+        if (MobileCommand.SWITCH_TO_CONTEXT.equals(command.getName())) {
+            contextSwitches.incrementAndGet();
+            contextEvents.incrementAndGet();
+        } else if (isAppLifecycle(command)) {
+            contextEvents.incrementAndGet();
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = dispatch(command);
+            if (isContextRelevantFailure(response)) {
+                contextEvents.incrementAndGet();
+            }
+            return response;
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            contextEvents.incrementAndGet();
+            throw e;
+        } finally {
+            CommandMetrics.record(metricName(command), System.nanoTime() - start);
+        }
+    }
+
+    /** Number of commands sent so far that may have changed the UI. */
+    public long mutationCount() {
+        return mutations.get();
+    }
+
+    /** Number of context switches requested so far (successful or not). */
+    public long contextSwitchCount() {
+        return contextSwitches.get();
+    }
+
+    /**
+     * Number of events so far after which the available or active context may differ
+     * from what the framework last saw.
+     */
+    public long contextEventCount() {
+        return contextEvents.get();
+    }
+
+    /**
+     * Sends the command to the Appium server. Separated from {@link #execute(Command)}
+     * so that in-process backends can reuse the instrumentation.
+     */
+    protected Response dispatch(Command command) {
+        return super.execute(command);
+    }
+
+    private static boolean isReadOnlyScript(Command command) {
+        return DriverCommand.EXECUTE_SCRIPT.equals(command.getName())
+                && command.getParameters().get("script") instanceof String script
+                && READ_ONLY_SCRIPTS.contains(script.trim());
+    }
+
+    private static boolean isAppLifecycle(Command command) {
+        if (APP_LIFECYCLE_COMMANDS.contains(command.getName())) {
+            return true;
+        }
+        return DriverCommand.EXECUTE_SCRIPT.equals(command.getName())
+                && command.getParameters().get("script") instanceof String script
+                && APP_LIFECYCLE_SCRIPTS.contains(script.trim());
+    }
+
+    /** A failed command, unless it merely did not find an element or found a stale one. */
+    private static boolean isContextRelevantFailure(Response response) {
+        String state = response.getState();
+        return state != null
+                && !"success".equals(state)
+                && !LOOKUP_MISS_STATES.contains(state);
+    }
+
+    /**
+     * Returns the command name, refined with the extension name for
+     * {@code mobile:} scripts (e.g. {@code executeScript[mobile: scroll]}).
+     */
+    static String metricName(Command command) {
+        String name = command.getName();
+        if (DriverCommand.EXECUTE_SCRIPT.equals(name)) {
+            Object script = command.getParameters().get("script");
+            if (script instanceof String s && s.startsWith(MOBILE_PREFIX)) {
+                return name + "[" + s.trim() + "]";
+            }
+        }
+        return name;
+    }
+}
@@ -0,0 +1,56 @@
+package com.wizzair.core.driver;
+
+import com.wizzair.config.DeviceConfig;
+import io.appium.java_client.AppiumDriver;
+
+/**
+ * A warm Appium session owned by {@link SessionPool}, together with the device
+ * configuration it was created for and its reuse bookkeeping.
+ */
+final class PooledSession {
+
+    private final String       deviceKey;
+    private final DeviceConfig config;
+    private final AppiumDriver driver;
+    private final long         creationMillis;
+    private final boolean      prewarmed;
+
+    private int  useCount;
+    private long lastReleasedAt;
+
+    PooledSession(String deviceKey, DeviceConfig config, AppiumDriver driver,
+                  long creationMillis, boolean prewarmed) {
+        this.deviceKey      = deviceKey;
+        this.config         = config;
+        this.driver         = driver;
+        this.creationMillis = creationMillis;
+        this.prewarmed      = prewarmed;
+    }
+
+    String deviceKey()      { return deviceKey; }
+    DeviceConfig config()   { return config; }
+    AppiumDriver driver()   { return driver; }
+    long creationMillis()   { return creationMillis; }
+    int useCount()          { return useCount; }
+
+    /** {@code true} when the session was built in the background ahead of demand. */
+    boolean isPrewarmed()   { return prewarmed; }
+
+    void markLeased() {
+        useCount++;
+    }
+
+    void markReleased() {
+        lastReleasedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns {@code true} when the session has been idle long enough that the
+     * server has probably dropped it ({@code newCommandTimeout}, with a 10% margin).
+     */
+    boolean isExpired() {
+        long timeoutMillis = config.getNewCommandTimeout() * 1000L;
+        return lastReleasedAt > 0
+            && System.currentTimeMillis() - lastReleasedAt > timeoutMillis * 9 / 10;
+    }
+}
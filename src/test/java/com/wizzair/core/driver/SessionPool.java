@@ -0,0 +1,352 @@
+package com.wizzair.core.driver;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.metrics.RunMetrics;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.remote.SupportsContextSwitching;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of warm Appium sessions, keyed by device.
+ *
+ * <p>Creating a session costs 20–90 s on a real device, so instead of quitting the
+ * driver after every scenario {@link DriverManager} leases a session from this pool
+ * and hands it back afterwards. On release the app under test is reset
+ * (terminate/activate, optionally {@code mobile: clearApp}) rather than the session.
+ *
+ * <p>A session is only torn down when:
+ * <ul>
+ *   <li>the app reset fails – the session is treated as unhealthy,</li>
+ *   <li>it has served {@code maxSessionReuse} scenarios, or</li>
+ *   <li>it sat idle long enough for the server-side {@code newCommandTimeout} to expire.</li>
+ * </ul>
+ *
+ * <p>With {@code sessionPrewarm} enabled the pool also looks ahead: sessions for free
+ * devices that have none – and replacements for retired sessions – are built on a
+ * background thread while the current scenario runs, so the next lease finds a ready
+ * session (or joins the in-flight build) instead of paying for creation on the critical path.
+ *
+ * <p>Lease / reuse / creation / pre-warm counters are logged once per run by {@link #logSummary()}.
+ */
+public final class SessionPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionPool.class);
+    private static final String NATIVE_CONTEXT = "NATIVE_APP";
+    private static final SessionPool INSTANCE = new SessionPool();
+
+    // Guarded by this
+    private final Map<String, Deque<PooledSession>> idle = new HashMap<>();
+    private final Map<String, CompletableFuture<PooledSession>> inFlight = new HashMap<>();
+    private ExecutorService prewarmExecutor;
+    private boolean draining;
+
+    private final AtomicLong leases           = new AtomicLong();
+    private final AtomicLong reuses           = new AtomicLong();
+    private final AtomicLong creations        = new AtomicLong();
+    private final AtomicLong retiredMaxReuse  = new AtomicLong();
+    private final AtomicLong retiredUnhealthy = new AtomicLong();
+    private final AtomicLong retiredExpired   = new AtomicLong();
+
+    private final AtomicLong prewarmStarted   = new AtomicLong();
+    private final AtomicLong prewarmUsed      = new AtomicLong();
+    private final AtomicLong prewarmWasted    = new AtomicLong();
+    private final AtomicLong prewarmFailed    = new AtomicLong();
+    private final AtomicLong hiddenLatencyMs  = new AtomicLong();
+
+    private SessionPool() {
+        RunMetrics.register("sessionPool", this::stats);
+    }
+
+    public static SessionPool get() {
+        return INSTANCE;
+    }
+
+    // -------------------------------------------------------------------------
+    // Lease / release
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns a warm session for the given device. Waits for an in-flight
+     * pre-warm build of the same device rather than starting a second one, and
+     * creates a session synchronously only as a last resort.
+     */
+    PooledSession lease(DeviceConfig cfg) {
+        leases.incrementAndGet();
+        String key = deviceKey(cfg);
+        long waitedMs = 0;
+
+        while (true) {
+            PooledSession session = pollIdle(key);
+            if (session != null) {
+                if (session.isExpired()) {
+                    retiredExpired.incrementAndGet();
+                    retire(session, "idle longer than newCommandTimeout");
+                    continue;
+                }
+                if (session.useCount() > 0) {
+                    reuses.incrementAndGet();
+                } else if (session.isPrewarmed()) {
+                    long hidden = Math.max(0, session.creationMillis() - waitedMs);
+                    prewarmUsed.incrementAndGet();
+                    hiddenLatencyMs.addAndGet(hidden);
+                    LOG.info("Using pre-warmed session for {} ({} ms of creation hidden)", key, hidden);
+                }
+                session.markLeased();
+                LOG.info("Leased warm session for {} (use {}/{})",
+                        key, session.useCount(), cfg.getMaxSessionReuse());
+                return session;
+            }
+
+            CompletableFuture<PooledSession> pending = pendingBuild(key);
+            if (pending == null) {
+                break;
+            }
+            LOG.info("Waiting for in-flight pre-warm of {}", key);
+            long start = System.currentTimeMillis();
+            pending.handle((s, e) -> s).join();
+            waitedMs += System.currentTimeMillis() - start;
+        }
+
+        PooledSession session = create(cfg, false);
+        session.markLeased();
+        return session;
+    }
+
+    /**
+     * Hands a session back after a scenario. The app is reset so the next
+     * scenario starts from the launch screen; if that fails, or the session
+     * reached its reuse limit, the session is quit instead (and, with pre-warm
+     * enabled, a replacement is built in the background).
+     */
+    void release(PooledSession session) {
+        DeviceConfig cfg = session.config();
+
+        if (!cfg.isSessionReuse()) {
+            retire(session, "session reuse disabled");
+            return;
+        }
+        if (session.useCount() >= cfg.getMaxSessionReuse()) {
+            retiredMaxReuse.incrementAndGet();
+            retire(session, "reached maxSessionReuse=" + cfg.getMaxSessionReuse());
+            prewarmIfEnabled(cfg);
+            return;
+        }
+        if (!resetApp(session)) {
+            retiredUnhealthy.incrementAndGet();
+            retire(session, "health check (app reset) failed");
+            prewarmIfEnabled(cfg);
+            return;
+        }
+
+        session.markReleased();
+        synchronized (this) {
+            idle.computeIfAbsent(session.deviceKey(), k -> new ArrayDeque<>()).push(session);
+        }
+        LOG.debug("Session for {} returned to pool", session.deviceKey());
+    }
+
+    // -------------------------------------------------------------------------
+    // Look-ahead pre-warming
+    // -------------------------------------------------------------------------
+
+    /**
+     * Starts background session builds for the given devices that have neither
+     * an idle session nor a build in progress. Only pass devices that are not
+     * leased – a device can host one automation session at a time.
+     */
+    public void prewarm(Collection<DeviceConfig> freeDevices) {
+        for (DeviceConfig cfg : freeDevices) {
+            String key = deviceKey(cfg);
+            synchronized (this) {
+                if (draining || hasIdle(key) || inFlight.containsKey(key)) {
+                    continue;
+                }
+                prewarmStarted.incrementAndGet();
+                LOG.info("Pre-warming session for {} in the background", key);
+
+                CompletableFuture<PooledSession> build =
+                        CompletableFuture.supplyAsync(() -> create(cfg, true), prewarmExecutor());
+                inFlight.put(key, build);
+                build.whenComplete((session, error) -> onPrewarmComplete(key, session, error));
+            }
+        }
+    }
+
+    private void onPrewarmComplete(String key, PooledSession session, Throwable error) {
+        boolean discard;
+        synchronized (this) {
+            inFlight.remove(key);
+            discard = draining && session != null;
+            if (session != null && !discard) {
+                session.markReleased();
+                idle.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(session);
+            }
+        }
+        if (error != null) {
+            prewarmFailed.incrementAndGet();
+            LOG.warn("Pre-warm of {} failed: {}", key, error.getMessage());
+        }
+        if (discard) {
+            retire(session, "pool drained during pre-warm");
+        }
+    }
+
+    private void prewarmIfEnabled(DeviceConfig cfg) {
+        if (cfg.isSessionPrewarm()) {
+            prewarm(List.of(cfg));
+        }
+    }
+
+    private synchronized ExecutorService prewarmExecutor() {
+        if (prewarmExecutor == null) {
+            prewarmExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "session-prewarm");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return prewarmExecutor;
+    }
+
+    /**
+     * Quits every idle session, waiting for in-flight pre-warm builds first.
+     * Called once at the end of the run.
+     */
+    public void drain() {
+        List<CompletableFuture<PooledSession>> pending;
+        synchronized (this) {
+            draining = true;
+            pending = new ArrayList<>(inFlight.values());
+        }
+        pending.forEach(f -> f.handle((s, e) -> s).join());
+
+        List<PooledSession> toQuit = new ArrayList<>();
+        synchronized (this) {
+            idle.values().forEach(toQuit::addAll);
+            idle.clear();
+            if (prewarmExecutor != null) {
+                prewarmExecutor.shutdown();
+            }
+        }
+        toQuit.forEach(s -> retire(s, "end of run"));
+    }
+
+    // -------------------------------------------------------------------------
+    // Reporting
+    // -------------------------------------------------------------------------
+
+    /** Returns the per-run pool counters. */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("leases", leases.get());
+        stats.put("reuses", reuses.get());
+        stats.put("creations", creations.get());
+        stats.put("retiredMaxReuse", retiredMaxReuse.get());
+        stats.put("retiredUnhealthy", retiredUnhealthy.get());
+        stats.put("retiredExpired", retiredExpired.get());
+        stats.put("prewarmStarted", prewarmStarted.get());
+        stats.put("prewarmUsed", prewarmUsed.get());
+        stats.put("prewarmWasted", prewarmWasted.get());
+        stats.put("prewarmFailed", prewarmFailed.get());
+        stats.put("hiddenLatencyMs", hiddenLatencyMs.get());
+        return stats;
+    }
+
+    public void logSummary() {
+        LOG.info("Session pool summary → leases={}, reuses={}, creations={}, "
+               + "retired(maxReuse={}, unhealthy={}, expired={})",
+                leases.get(), reuses.get(), creations.get(),
+                retiredMaxReuse.get(), retiredUnhealthy.get(), retiredExpired.get());
+        if (prewarmStarted.get() > 0) {
+            LOG.info("Session pre-warm summary → started={}, used={}, wasted={}, failed={}, "
+                   + "hidden latency={} ms",
+                    prewarmStarted.get(), prewarmUsed.get(), prewarmWasted.get(),
+                    prewarmFailed.get(), hiddenLatencyMs.get());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    static String deviceKey(DeviceConfig cfg) {
+        String id = (cfg.getUdid() != null && !cfg.getUdid().isBlank())
+                  ? cfg.getUdid() : cfg.getDeviceName();
+        return id + "@" + cfg.getAppiumServerUrl();
+    }
+
+    private PooledSession create(DeviceConfig cfg, boolean prewarmed) {
+        String key = deviceKey(cfg);
+        creations.incrementAndGet();
+        long start = System.currentTimeMillis();
+        AppiumDriver driver = DriverFactory.createDriver(cfg);
+        long elapsed = System.currentTimeMillis() - start;
+        LOG.info("Created new session for {} in {} ms{}", key, elapsed, prewarmed ? " (pre-warm)" : "");
+        return new PooledSession(key, cfg, driver, elapsed, prewarmed);
+    }
+
+    private synchronized PooledSession pollIdle(String key) {
+        Deque<PooledSession> sessions = idle.get(key);
+        return sessions == null ? null : sessions.poll();
+    }
+
+    private synchronized boolean hasIdle(String key) {
+        Deque<PooledSession> sessions = idle.get(key);
+        return sessions != null && !sessions.isEmpty();
+    }
+
+    private synchronized CompletableFuture<PooledSession> pendingBuild(String key) {
+        return inFlight.get(key);
+    }
+
+    /**
+     * Resets the app under test to a clean launch state. Doubles as the health
+     * check: any failure here means the session is no longer usable.
+     */
+    private boolean resetApp(PooledSession session) {
+        DeviceConfig cfg = session.config();
+        AppiumDriver driver = session.driver();
+        String appId = cfg.isAndroid() ? cfg.getAppPackage() : cfg.getBundleId();
+
+        try {
+            ((SupportsContextSwitching) driver).context(NATIVE_CONTEXT);
+            ((InteractsWithApps) driver).terminateApp(appId);
+            if (cfg.isAndroid() && "clear".equalsIgnoreCase(cfg.getAppResetStrategy())) {
+                driver.executeScript("mobile: clearApp", Map.of("appId", appId));
+            }
+            ((InteractsWithApps) driver).activateApp(appId);
+            return true;
+        } catch (WebDriverException e) {
+            LOG.warn("App reset failed for {}: {}", session.deviceKey(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void retire(PooledSession session, String reason) {
+        if (session.isPrewarmed() && session.useCount() == 0) {
+            prewarmWasted.incrementAndGet();
+        }
+        LOG.info("Quitting session for {} ({})", session.deviceKey(), reason);
+        try {
+            session.driver().quit();
+        } catch (Exception e) {
+            LOG.warn("Exception while quitting pooled session", e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.wizzair.core.driver;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeAppiumServer;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * {@link SessionPool} bookkeeping, and leasing against a fake Appium server (one per
+ * test, so the run-wide pool never hands a session to another test).
+ */
+class SessionPoolTest {
+
+    private final SessionPool pool = SessionPool.get();
+
+    private FakeAppiumServer server;
+
+    @BeforeEach
+    void startServer() {
+        server = FakeAppiumServer.start(new FakeAppiumOptions());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void devicesAreKeyedByUdidAndServer() {
+        DeviceConfig device = device("http://127.0.0.1:4723");
+        device.setUdid("emulator-5554");
+
+        assertThat(SessionPool.deviceKey(device)).isEqualTo("emulator-5554@http://127.0.0.1:4723");
+    }
+
+    @Test
+    void deviceNameStandsInForAMissingUdid() {
+        DeviceConfig device = device("http://127.0.0.1:4724");
+        device.setUdid(" ");
+
+        assertThat(SessionPool.deviceKey(device)).isEqualTo("Pixel 7@http://127.0.0.1:4724");
+    }
+
+    @Test
+    void sessionCountsItsLeases() {
+        PooledSession session = new PooledSession("key", device("http://127.0.0.1:4723"), null, 0, false);
+
+        session.markLeased();
+        session.markReleased();
+        session.markLeased();
+
+        assertThat(session.useCount()).isEqualTo(2);
+    }
+
+    @Test
+    void idleSessionExpiresBeforeTheServerDropsIt() throws InterruptedException {
+        DeviceConfig shortTimeout = device("http://127.0.0.1:4723");
+        shortTimeout.setNewCommandTimeout(0);
+        PooledSession expiring = new PooledSession("key", shortTimeout, null, 0, false);
+        PooledSession fresh    = new PooledSession("key", device("http://127.0.0.1:4723"), null, 0, false);
+
+        assertThat(expiring.isExpired()).as("never released").isFalse();
+
+        expiring.markReleased();
+        fresh.markReleased();
+        Thread.sleep(5);
+
+        assertThat(expiring.isExpired()).isTrue();
+        assertThat(fresh.isExpired()).isFalse();
+    }
+
+    @Test
+    void failedPrewarmIsCountedAndLeaseBuildsItsOwnSession() {
+        DeviceConfig unreachable = device("http://127.0.0.1:1");
+        long failed = stat("prewarmFailed");
+
+        pool.prewarm(List.of(unreachable));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> stat("prewarmFailed") == failed + 1);
+        assertThatThrownBy(() -> pool.lease(unreachable)).isInstanceOf(WebDriverException.class);
+    }
+
+    // -------------------------------------------------------------------------
+    // Against the fake server
+    // -------------------------------------------------------------------------
+
+    @Test
+    void releasedSessionIsReusedWithTheAppReset() {
+        DeviceConfig device = device(server.url());
+        long reuses = stat("reuses");
+
+        PooledSession first = pool.lease(device);
+        first.driver().findElement(AppiumBy.accessibilityId("Search flights")).click();
+        pool.release(first);
+        PooledSession second = pool.lease(device);
+
+        try {
+            assertThat(second).isSameAs(first);
+            assertThat(second.useCount()).isEqualTo(2);
+            assertThat(stat("reuses")).isEqualTo(reuses + 1);
+            assertThat(server.backend().sessionCount()).isEqualTo(1);
+            // terminate/activate brought the app back to its launch screen
+            assertThat(second.driver().getPageSource()).contains("Search flights");
+        } finally {
+            second.driver().quit();
+        }
+    }
+
+    @Test
+    void sessionIsQuitAtItsReuseLimit() {
+        DeviceConfig device = device(server.url());
+        device.setMaxSessionReuse(1);
+        long retired = stat("retiredMaxReuse");
+
+        pool.release(pool.lease(device));
+
+        assertThat(stat("retiredMaxReuse")).isEqualTo(retired + 1);
+        assertThat(server.backend().sessionCount()).isZero();
+    }
+
+    @Test
+    void sessionThatFailsTheResetIsReplaced() {
+        DeviceConfig device = device(server.url());
+        long unhealthy = stat("retiredUnhealthy");
+
+        PooledSession broken = pool.lease(device);
+        broken.driver().quit();
+        pool.release(broken);
+        PooledSession replacement = pool.lease(device);
+
+        try {
+            assertThat(stat("retiredUnhealthy")).isEqualTo(unhealthy + 1);
+            assertThat(replacement).isNotSameAs(broken);
+            assertThat(replacement.useCount()).isEqualTo(1);
+        } finally {
+            replacement.driver().quit();
+        }
+    }
+
+    @Test
+    void prewarmedSessionIsHandedToTheNextLease() {
+        DeviceConfig device = device(server.url());
+        long used = stat("prewarmUsed");
+
+        pool.prewarm(List.of(device));
+        await().atMost(Duration.ofSeconds(10)).until(() -> server.backend().sessionCount() == 1);
+        PooledSession session = pool.lease(device);
+
+        try {
+            assertThat(session.isPrewarmed()).isTrue();
+            assertThat(stat("prewarmUsed")).isEqualTo(used + 1);
+            assertThat(server.backend().sessionCount()).isEqualTo(1);
+        } finally {
+            session.driver().quit();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private long stat(String name) {
+        return (long) pool.stats().get(name);
+    }
+
+    static DeviceConfig device(String serverUrl) {
+        DeviceConfig device = new DeviceConfig();
+        device.setPlatform("android");
+        device.setPlatformVersion("14");
+        device.setDeviceName("Pixel 7");
+        device.setAutomationName("UiAutomator2");
+        device.setAppPackage("com.wizzair.WizzAirApp");
+        device.setAppActivity(".activity.MainActivity");
+        device.setAppiumServerUrl(serverUrl);
+        return device;
+    }
+}
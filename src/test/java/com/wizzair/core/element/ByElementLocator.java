@@ -0,0 +1,94 @@
+package com.wizzair.core.element;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Locator over a {@code By} that {@link PageBinding} has already built, waiting for the
+ * element like {@code AppiumElementLocator} does (which is not public).
+ *
+ * <p>{@code findElement} waits up to the lookup timeout and then throws
+ * {@link NoSuchElementException}; {@code findElements} waits for at least one match and
+ * then returns an empty list. With {@code @CacheLookup} a list is found once. Single
+ * elements are never kept here: {@link CachingElementLocator} already caches them and
+ * must get a fresh element when it recovers from a stale one.
+ */
+final class ByElementLocator implements ElementLocator {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final SearchContext context;
+    private final By            by;
+    private final boolean       cacheLookup;
+    private final Duration      lookupTimeout;
+    private List<WebElement>    cachedList;
+
+    ByElementLocator(SearchContext context, By by, boolean cacheLookup, Duration lookupTimeout) {
+        this.context       = context;
+        this.by            = by;
+        this.cacheLookup   = cacheLookup;
+        this.lookupTimeout = lookupTimeout;
+    }
+
+    @Override
+    public WebElement findElement() {
+        try {
+            return waitFor(ctx -> ctx.findElement(by));
+        } catch (TimeoutException e) {
+            if (e.getCause() instanceof NoSuchElementException notFound) {
+                throw notFound;
+            }
+            throw new NoSuchElementException("Cannot locate an element using " + by, e);
+        }
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        if (cachedList != null) {
+            return cachedList;
+        }
+        List<WebElement> elements;
+        try {
+            elements = waitFor(ctx -> {
+                List<WebElement> found = ctx.findElements(by);
+                return found.isEmpty() ? null : found;
+            });
+        } catch (TimeoutException e) {
+            elements = null;
+        }
+        if (elements == null) {
+            elements = List.of();
+        }
+        if (cacheLookup) {
+            cachedList = elements;
+        }
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return "Located by " + by;
+    }
+
+    private <T> T waitFor(Function<SearchContext, T> lookup) {
+        if (lookupTimeout.isZero()) {
+            return lookup.apply(context);
+        }
+        return new FluentWait<>(context)
+                .withTimeout(lookupTimeout)
+                .pollingEvery(POLL_INTERVAL)
+                .ignoring(NoSuchElementException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .until(lookup);
+    }
+}
@@ -0,0 +1,142 @@
+package com.wizzair.core.element;
+
+import com.wizzair.core.driver.InstrumentedCommandExecutor;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the element a PageFactory locator found and hands it out until it goes
+ * stale or the driver switches context.
+ *
+ * <p>The proxy returned by {@link #proxy(ClassLoader, CachingElementLocator)} calls the
+ * cached element directly. On a {@link StaleElementReferenceException} from a cached
+ * handle it re-finds the element and retries the call once; a stale error from a
+ * handle found for this very call is passed on, since retrying would not help.
+ * Not thread-safe – like the page object that owns it, it belongs to one scenario thread.
+ */
+final class CachingElementLocator {
+
+    static final LongAdder LOOKUPS                = new LongAdder();
+    static final LongAdder HITS                   = new LongAdder();
+    static final LongAdder STALE_RECOVERIES       = new LongAdder();
+    static final LongAdder CONTEXT_INVALIDATIONS  = new LongAdder();
+
+    private final ElementLocator delegate;
+    private final AppiumDriver   driver;
+    private WebElement cached;
+    private long       cachedInContext;
+
+    CachingElementLocator(ElementLocator delegate, AppiumDriver driver) {
+        this.delegate = delegate;
+        this.driver   = driver;
+    }
+
+    /** Returns a {@link WebElement} proxy backed by this locator. */
+    static WebElement proxy(ClassLoader loader, CachingElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                new Handler(locator));
+    }
+
+    /** The cached element, or a freshly found one when there is none or it is unusable. */
+    WebElement element() {
+        LOOKUPS.increment();
+        long context = contextSwitchCount();
+        if (cached != null && context != cachedInContext) {
+            CONTEXT_INVALIDATIONS.increment();
+            cached = null;
+        }
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        }
+        cached = delegate.findElement();
+        cachedInContext = context;
+        return cached;
+    }
+
+    boolean isCached() {
+        return cached != null && contextSwitchCount() == cachedInContext;
+    }
+
+    void invalidate() {
+        cached = null;
+    }
+
+    @Override
+    public String toString() {
+        return "cached " + delegate;
+    }
+
+    private long contextSwitchCount() {
+        return driver.getCommandExecutor() instanceof InstrumentedCommandExecutor executor
+                ? executor.contextSwitchCount()
+                : 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // Proxy
+    // -------------------------------------------------------------------------
+
+    private static final class Handler implements InvocationHandler {
+
+        private final CachingElementLocator locator;
+
+        Handler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return "Proxy element for: " + locator;
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    break;
+                case "getWrappedElement":
+                    return locator.element();
+                default:
+                    break;
+            }
+
+            boolean wasCached = locator.isCached();
+            try {
+                return method.invoke(locator.element(), args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException) || !wasCached) {
+                    throw e.getCause();
+                }
+            }
+
+            // The cached handle went stale (re-render, list recycle, app restart): re-find once
+            STALE_RECOVERIES.increment();
+            locator.invalidate();
+            try {
+                return method.invoke(locator.element(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
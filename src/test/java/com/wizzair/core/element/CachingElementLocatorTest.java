@@ -0,0 +1,95 @@
+package com.wizzair.core.element;
+
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cached proxies over the fake app's search screen.
+ */
+class CachingElementLocatorTest {
+
+    private AndroidDriver driver;
+    private CountingLocator origin;
+    private WebElement proxy;
+
+    @BeforeEach
+    void startDriver() {
+        driver = FakeCommandExecutor.androidDriver(new FakeAppiumOptions());
+        origin = new CountingLocator("Origin airport");
+        proxy = CachingElementLocator.proxy(getClass().getClassLoader(), new CachingElementLocator(origin, driver));
+    }
+
+    @AfterEach
+    void quitDriver() {
+        driver.quit();
+    }
+
+    @Test
+    void foundElementIsReusedForLaterCalls() {
+        proxy.sendKeys("LTN");
+        proxy.getText();
+        proxy.isDisplayed();
+
+        assertThat(origin.finds).isEqualTo(1);
+    }
+
+    @Test
+    void staleCachedHandleIsRefoundAndTheCallRetried() {
+        proxy.isDisplayed();
+        long recoveries = CachingElementLocator.STALE_RECOVERIES.sum();
+
+        // A relaunch rebuilds the screen, so the cached handle goes stale
+        driver.executeScript("mobile: terminateApp", Map.of("appId", "com.wizzair.WizzAirApp"));
+        driver.executeScript("mobile: activateApp", Map.of("appId", "com.wizzair.WizzAirApp"));
+
+        assertThat(proxy.isDisplayed()).isTrue();
+        assertThat(origin.finds).isEqualTo(2);
+        assertThat(CachingElementLocator.STALE_RECOVERIES.sum()).isEqualTo(recoveries + 1);
+    }
+
+    @Test
+    void contextSwitchDropsTheCachedHandle() {
+        proxy.isDisplayed();
+
+        driver.context("NATIVE_APP");
+        proxy.isDisplayed();
+
+        assertThat(origin.finds).isEqualTo(2);
+    }
+
+    // ---- Helpers
+
+    /** Finds by accessibility id and counts the finds. */
+    private class CountingLocator implements ElementLocator {
+
+        private final String accessibilityId;
+        int finds;
+
+        CountingLocator(String accessibilityId) {
+            this.accessibilityId = accessibilityId;
+        }
+
+        @Override
+        public WebElement findElement() {
+            finds++;
+            return driver.findElement(AppiumBy.accessibilityId(accessibilityId));
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return driver.findElements(AppiumBy.accessibilityId(accessibilityId));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wizzair.core.element;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.metrics.RunMetrics;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.pagefactory.AppiumElementLocatorFactory;
+import io.appium.java_client.pagefactory.DefaultElementByBuilder;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PageFactory decorator that can replace {@code AppiumFieldDecorator}. Page objects are
+ * wired with the same proxies through {@link PageBinding}, which skips the per-instance
+ * annotation scan.
+ *
+ * <p>Locators are built by Appium's own {@link AppiumElementLocatorFactory}, so
+ * {@code @AndroidFindBy} / {@code @iOSXCUITFindBy} / {@code @FindBy} resolve exactly as
+ * before, including the lookup timeout. The difference is in the proxies:
+ * <ul>
+ *   <li>{@code WebElement} fields keep the element they found (see
+ *       {@link CachingElementLocator}), so {@code waitForClickable(field).click()} costs
+ *       one find instead of one per call. The cache lives as long as the page object,
+ *       is dropped on a context switch and is refreshed once on a stale element.</li>
+ *   <li>{@code List<WebElement>} fields are re-found on every call: lists such as the
+ *       flight results are recycled while scrolling.</li>
+ * </ul>
+ *
+ * <p>Lookups, cache hits, stale recoveries and context invalidations are reported
+ * under {@code elementCache} in the run metrics.
+ */
+public class CachingFieldDecorator implements FieldDecorator {
+
+    static {
+        RunMetrics.register("elementCache", CachingFieldDecorator::stats);
+    }
+
+    private final AppiumDriver                driver;
+    private final AppiumElementLocatorFactory locatorFactory;
+
+    public CachingFieldDecorator(AppiumDriver driver, DeviceConfig config, Duration lookupTimeout) {
+        this.driver = driver;
+        this.locatorFactory = new AppiumElementLocatorFactory(driver, lookupTimeout,
+                new DefaultElementByBuilder(config.isAndroid() ? "Android" : "iOS", config.getAutomationName()));
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (!isDecorated(field)) {
+            return null;
+        }
+        ElementLocator locator = locatorFactory.createLocator(field);
+        if (locator == null) {
+            return null;
+        }
+        return WebElement.class.equals(field.getType())
+                ? CachingElementLocator.proxy(loader, new CachingElementLocator(locator, driver))
+                : listProxy(loader, locator);
+    }
+
+    /** Lookups, hits, stale recoveries and context invalidations so far. */
+    public static Map<String, Object> stats() {
+        long lookups = CachingElementLocator.LOOKUPS.sum();
+        long hits    = CachingElementLocator.HITS.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lookups", lookups);
+        stats.put("hits", hits);
+        stats.put("hitRate", lookups == 0 ? 0.0 : Math.round(hits * 1000.0 / lookups) / 1000.0);
+        stats.put("staleRecoveries", CachingElementLocator.STALE_RECOVERIES.sum());
+        stats.put("contextInvalidations", CachingElementLocator.CONTEXT_INVALIDATIONS.sum());
+        return stats;
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers shared with PageBinding
+    // -------------------------------------------------------------------------
+
+    /** Whether the field is a {@code WebElement} or a {@code List<WebElement>}. */
+    static boolean isDecorated(Field field) {
+        if (WebElement.class.equals(field.getType())) {
+            return true;
+        }
+        if (!List.class.equals(field.getType())) {
+            return false;
+        }
+        Type type = field.getGenericType();
+        return type instanceof ParameterizedType p
+                && WebElement.class.equals(p.getActualTypeArguments()[0]);
+    }
+
+    /** A list proxy that re-finds its elements on every call. */
+    @SuppressWarnings("unchecked")
+    static List<WebElement> listProxy(ClassLoader loader, ElementLocator locator) {
+        return (List<WebElement>) Proxy.newProxyInstance(loader, new Class<?>[] {List.class}, (proxy, method, args) -> {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                return "Proxy element list for: " + locator;
+            }
+            try {
+                return method.invoke(locator.findElements(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
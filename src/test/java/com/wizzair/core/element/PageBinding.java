@@ -0,0 +1,131 @@
+package com.wizzair.core.element;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.metrics.RunMetrics;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.pagefactory.DefaultElementByBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Element wiring of one page class on one platform, worked out once and reused for
+ * every instance of the page.
+ *
+ * <p>{@code PageFactory.initElements} with an Appium decorator walks the class
+ * hierarchy, reads every field's {@code @AndroidFindBy} / {@code @iOSXCUITFindBy} /
+ * {@code @FindBy} annotations and builds the {@code By} again for each new page
+ * object – and steps create page objects all the time. A binding does that scan once
+ * per page class, platform and automation name, keeping each field's {@code By} and a
+ * setter handle. {@link #bind} then only creates the per-instance locators over those
+ * {@code By}s ({@link ByElementLocator}) and the same proxies {@link CachingFieldDecorator}
+ * creates.
+ *
+ * <pre>
+ *   PageBinding.of(getClass(), config).bind(this, driver(), Duration.ofSeconds(15));
+ * </pre>
+ */
+public final class PageBinding {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Map<Key, PageBinding> BINDINGS = new ConcurrentHashMap<>();
+    private static final LongAdder BUILT = new LongAdder();
+    private static final LongAdder BOUND = new LongAdder();
+
+    static {
+        RunMetrics.register("pageBindings", PageBinding::stats);
+    }
+
+    private record Key(Class<?> pageClass, String platform, String automationName) {}
+
+    private record FieldBinding(String name, MethodHandle setter, By by, boolean cacheLookup, boolean list) {}
+
+    private final Class<?>           pageClass;
+    private final List<FieldBinding> fields;
+
+    private PageBinding(Class<?> pageClass, List<FieldBinding> fields) {
+        this.pageClass = pageClass;
+        this.fields    = fields;
+    }
+
+    /** The binding of {@code pageClass} for the configured platform, built on first use. */
+    public static PageBinding of(Class<?> pageClass, DeviceConfig config) {
+        Key key = new Key(pageClass, config.isAndroid() ? "Android" : "iOS", config.getAutomationName());
+        return BINDINGS.computeIfAbsent(key, PageBinding::build);
+    }
+
+    /**
+     * Sets every bound field of {@code page} to a fresh element proxy.
+     *
+     * @param lookupTimeout how long each proxy looks for its element, as with
+     *                      {@code AppiumFieldDecorator}
+     */
+    public void bind(Object page, AppiumDriver driver, Duration lookupTimeout) {
+        if (!pageClass.isInstance(page)) {
+            throw new IllegalArgumentException(page.getClass().getName() + " is not a " + pageClass.getName());
+        }
+        ClassLoader loader = page.getClass().getClassLoader();
+        for (FieldBinding field : fields) {
+            ElementLocator locator = new ByElementLocator(driver, field.by(), field.cacheLookup(), lookupTimeout);
+            Object proxy = field.list()
+                    ? CachingFieldDecorator.listProxy(loader, locator)
+                    : CachingElementLocator.proxy(loader, new CachingElementLocator(locator, driver));
+            try {
+                field.setter().invoke(page, proxy);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not set " + pageClass.getSimpleName() + "." + field.name(), e);
+            }
+        }
+        BOUND.increment();
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    private static PageBinding build(Key key) {
+        DefaultElementByBuilder builder = new DefaultElementByBuilder(key.platform(), key.automationName());
+        List<FieldBinding> fields = new ArrayList<>();
+        for (Class<?> type = key.pageClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())
+                        || !CachingFieldDecorator.isDecorated(field)) {
+                    continue;
+                }
+                builder.setAnnotated(field);
+                By by = builder.buildBy();
+                if (by == null) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    fields.add(new FieldBinding(field.getName(), LOOKUP.unreflectSetter(field), by,
+                            builder.isLookupCached(), List.class.equals(field.getType())));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot bind " + type.getSimpleName() + "." + field.getName(), e);
+                }
+            }
+        }
+        BUILT.increment();
+        return new PageBinding(key.pageClass(), List.copyOf(fields));
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("bindingsBuilt", BUILT.sum());
+        stats.put("pagesBound", BOUND.sum());
+        return stats;
+    }
+}
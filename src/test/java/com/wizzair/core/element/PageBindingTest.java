@@ -0,0 +1,122 @@
+package com.wizzair.core.element;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bindings of a small page class over the fake Android app.
+ */
+class PageBindingTest {
+
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofMillis(200);
+
+    private AndroidDriver driver;
+
+    @BeforeEach
+    void startDriver() {
+        driver = FakeCommandExecutor.androidDriver(new FakeAppiumOptions());
+    }
+
+    @AfterEach
+    void quitDriver() {
+        driver.quit();
+    }
+
+    @Test
+    void bindingIsBuiltOncePerClassAndPlatform() {
+        assertThat(PageBinding.of(SearchScreen.class, android()))
+                .isSameAs(PageBinding.of(SearchScreen.class, android()))
+                .isNotSameAs(PageBinding.of(SearchScreen.class, ios()));
+    }
+
+    @Test
+    void everyInstanceGetsItsOwnWorkingProxies() {
+        SearchScreen first = bind(new SearchScreen());
+        SearchScreen second = bind(new SearchScreen());
+
+        first.origin.sendKeys("LTN");
+
+        assertThat(second.origin).isNotSameAs(first.origin);
+        assertThat(second.origin.getText()).isEqualTo("LTN");
+        assertThat(first.notAnElement).isEqualTo("untouched");
+    }
+
+    @Test
+    void listFieldsAreFoundAgainOnEveryCall() {
+        SearchScreen screen = bind(new SearchScreen());
+        assertThat(screen.cards).isEmpty();
+
+        screen.search.click();
+
+        assertThat(screen.cards).hasSize(5);
+    }
+
+    @Test
+    void missingElementFailsAfterTheLookupTimeout() {
+        SearchScreen screen = bind(new SearchScreen());
+
+        assertThatThrownBy(() -> screen.missing.click()).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void bindingRejectsAnInstanceOfAnotherClass() {
+        assertThatThrownBy(() -> PageBinding.of(SearchScreen.class, android()).bind("not a page", driver, LOOKUP_TIMEOUT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ---- Helpers
+
+    static class SearchScreen {
+        @AndroidFindBy(accessibility = "Origin airport")
+        @iOSXCUITFindBy(accessibility = "Origin airport")
+        WebElement origin;
+
+        @AndroidFindBy(accessibility = "Search flights")
+        @iOSXCUITFindBy(accessibility = "Search flights")
+        WebElement search;
+
+        @AndroidFindBy(accessibility = "Flight card")
+        @iOSXCUITFindBy(accessibility = "Flight card")
+        List<WebElement> cards;
+
+        @AndroidFindBy(accessibility = "No such button")
+        WebElement missing;
+
+        String notAnElement = "untouched";
+    }
+
+    private SearchScreen bind(SearchScreen screen) {
+        PageBinding.of(SearchScreen.class, android()).bind(screen, driver, LOOKUP_TIMEOUT);
+        return screen;
+    }
+
+    private static DeviceConfig android() {
+        DeviceConfig config = new DeviceConfig();
+        config.setPlatform("android");
+        config.setAutomationName("UiAutomator2");
+        return config;
+    }
+
+    private static DeviceConfig ios() {
+        DeviceConfig config = new DeviceConfig();
+        config.setPlatform("ios");
+        config.setAutomationName("XCUITest");
+        return config;
+    }
+}
@@ -0,0 +1,621 @@
+package com.wizzair.core.fake;
+
+import com.wizzair.core.fake.FakeNode.Kind;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scripted WizzAir app behind one fake session.
+ *
+ * <p>Covers the screens the page objects drive – search (with date picker), results
+ * (an infinite-scroll list that recycles a fixed number of card views), booking
+ * (with the optional price-change modal or error message), payment (native shell plus a WebView DOM)
+ * and the deep-linked flight details – as well as first-launch permission dialogs.
+ *
+ * <p>Element ids stay stable while an element remains on screen; navigating away,
+ * terminating the app or recycling a card makes old handles stale, exactly as on a
+ * device. Not thread-safe: {@link FakeAppiumBackend} serialises commands per session.
+ */
+final class FakeApp {
+
+    static final String NATIVE_CONTEXT = "NATIVE_APP";
+
+    enum Screen { SEARCH, RESULTS, BOOKING, PAYMENT, DETAILS }
+
+    private static final Map<String, String> AIRPORTS = Map.of(
+            "LTN", "London Luton",
+            "BCN", "Barcelona",
+            "BUD", "Budapest",
+            "CDG", "Paris Charles de Gaulle",
+            "WAW", "Warsaw Chopin",
+            "FCO", "Rome Fiumicino");
+
+    private static final DateTimeFormatter DISPLAY_DATE =
+            DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH);
+    private static final Pattern DEEP_LINK =
+            Pattern.compile("^\\w+://flights/(\\w+)/(\\w+)/([\\d-]+)$");
+    private static final List<String> CARD_FIELDS =
+            List.of("card-number", "card-expiry", "card-cvv", "card-holder");
+
+    private final FakePlatform      platform;
+    private final FakeAppiumOptions options;
+    private final String            appId;
+    private final Map<String, FakeNode> nodes = new HashMap<>();
+    private int nextId;
+
+    // Lifecycle
+    private boolean running;
+    private boolean freshInstall = true;
+    private int     pendingDialogs;
+
+    // Current screen
+    private Screen   screen;
+    private long     screenEnteredAt;
+    private FakeNode appRoot;
+    private FakeNode screenNode;
+    private FakeNode dialog;
+    private int      dialogFor;
+
+    // Search
+    private FakeNode datePicker;
+    private boolean  datePickerOpen;
+
+    // Results
+    private final List<FakeNode> cardSlots = new ArrayList<>();
+    private FakeNode resultsList;
+    private FakeNode spinner;
+    private int      offset;
+    private int      loaded;
+    private boolean  loadPending;
+    private long     loadingUntil;
+
+    // Booking
+    private final Map<String, FakeNode> passengerFields = new HashMap<>();
+    private FakeNode priceModal;
+    private FakeNode errorToast;
+    private boolean  priceAccepted;
+    private boolean  repriced;
+    private int      repricesLeft;
+    private boolean  errorShown;
+
+    // Payment
+    private FakeNode webRoot;
+    private FakeWebPage webPage;
+    private FakeNode webForm;
+    private FakeNode successMessage;
+    private FakeNode confirmation;
+    private boolean  paid;
+
+    // Flight details (deep link)
+    private String detailsRoute = "";
+    private String detailsDate  = "";
+
+    FakeApp(FakePlatform platform, FakeAppiumOptions options, String appId) {
+        this.platform = platform;
+        this.options  = options;
+        this.appId    = appId;
+        launch();
+    }
+
+    // =========================================================================
+    // Lifecycle
+    // =========================================================================
+
+    void terminate() {
+        running = false;
+        appRoot = null;
+        webRoot = null;
+        webPage = null;
+        nodes.clear();
+    }
+
+    void activate() {
+        if (!running) {
+            launch();
+        }
+    }
+
+    /** {@code mobile: clearApp}: the next launch behaves like a fresh install. */
+    void clearData() {
+        terminate();
+        freshInstall = true;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /** Appium app state: 1 = not running, 4 = running in foreground. */
+    int appState() {
+        return running ? 4 : 1;
+    }
+
+    String appId() {
+        return appId;
+    }
+
+    /** Opens a {@code <scheme>://flights/<origin>/<destination>/<date>} link. */
+    boolean openDeepLink(String url) {
+        Matcher m = DEEP_LINK.matcher(url);
+        if (!m.matches()) {
+            return false;
+        }
+        activate();
+        detailsRoute = AIRPORTS.getOrDefault(m.group(1), m.group(1))
+                     + " → " + AIRPORTS.getOrDefault(m.group(2), m.group(2));
+        try {
+            detailsDate = LocalDate.parse(m.group(3)).format(DISPLAY_DATE);
+        } catch (DateTimeParseException e) {
+            detailsDate = m.group(3);
+        }
+        show(Screen.DETAILS);
+        return true;
+    }
+
+    // =========================================================================
+    // Tree access
+    // =========================================================================
+
+    /** Returns the native tree as currently on screen, or {@code null} when the app is not running. */
+    FakeNode nativeRoot() {
+        if (!running) {
+            return null;
+        }
+        refresh();
+        return appRoot;
+    }
+
+    /** Returns the WebView DOM, or {@code null} when no WebView is available. */
+    FakeNode webRoot() {
+        return webViewAvailable() ? webRoot : null;
+    }
+
+    /** Returns the page in the WebView, or {@code null} when no WebView is available. */
+    FakeWebPage webPage() {
+        return webViewAvailable() ? webPage : null;
+    }
+
+    FakeNode node(String id) {
+        FakeNode node = nodes.get(id);
+        if (node == null || !isAttached(node)) {
+            throw new StaleElementReferenceException("Element " + id + " is no longer attached to the page");
+        }
+        return node;
+    }
+
+    List<String> contexts() {
+        List<String> contexts = new ArrayList<>(List.of(NATIVE_CONTEXT));
+        if (webViewAvailable()) {
+            contexts.add(webViewContext());
+        }
+        return contexts;
+    }
+
+    String webViewContext() {
+        return platform == FakePlatform.IOS ? "WEBVIEW_1" : "WEBVIEW_" + appId;
+    }
+
+    /** Current screen name, for logs and {@code getPageSource} comments. */
+    String screenName() {
+        return running ? screen.name() : "HOME";
+    }
+
+    // =========================================================================
+    // Interactions
+    // =========================================================================
+
+    void click(FakeNode node) {
+        FakeNode target = node;
+        while (target != null && target.onClick == null) {
+            target = target.parent;
+        }
+        if (target != null) {
+            target.onClick.accept(node);
+        }
+    }
+
+    void type(FakeNode node, String text) {
+        if (!node.isEditable()) {
+            throw new ElementNotInteractableException("Element " + node.id + " does not accept text input");
+        }
+        node.text = node.text + text;
+    }
+
+    void clear(FakeNode node) {
+        if (!node.isEditable()) {
+            throw new ElementNotInteractableException("Element " + node.id + " cannot be cleared");
+        }
+        node.text = "";
+    }
+
+    /**
+     * Applies a vertical swipe. {@code towardsEnd} is a swipe up (content moves
+     * towards the end of the list).
+     */
+    void swipe(boolean towardsEnd) {
+        if (!running || screen != Screen.RESULTS) {
+            return;
+        }
+        refresh();
+        int maxOffset = Math.max(0, loaded - options.getVisibleCards());
+        offset = towardsEnd ? Math.min(offset + options.getCardsPerSwipe(), maxOffset)
+                            : Math.max(offset - options.getCardsPerSwipe(), 0);
+        if (towardsEnd && offset >= maxOffset && loaded < options.getFlightCount() && !loadPending) {
+            loadPending  = true;
+            loadingUntil = System.currentTimeMillis() + options.getLoadMoreDelayMs();
+        }
+        refresh();
+    }
+
+    /** Whether the results list has more content below the current viewport. */
+    boolean canScrollTowardsEnd() {
+        return running && screen == Screen.RESULTS
+                && (offset < Math.max(0, loaded - options.getVisibleCards())
+                    || loaded < options.getFlightCount());
+    }
+
+    /**
+     * Server-side "scroll into view" (UiScrollable / {@code mobile: scroll}): swipes
+     * until a node matching {@code predicate} is on screen, waiting out each page load.
+     *
+     * @return the matching node, or {@code null} when the list is exhausted
+     */
+    FakeNode scrollIntoView(Predicate<FakeNode> predicate, int maxSwipes) {
+        for (int swipe = 0; swipe <= maxSwipes; swipe++) {
+            FakeNode root = nativeRoot();
+            if (root == null) {
+                return null;
+            }
+            FakeNode match = root.descendantsAndSelf().stream().filter(predicate).findFirst().orElse(null);
+            if (match != null || screen != Screen.RESULTS) {
+                return match;
+            }
+            int before = offset;
+            boolean waitedForLoad = awaitPendingLoad();
+            swipe(true);
+            if (offset == before && !loadPending && !waitedForLoad) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /** Creates the date-picker cell for an ISO date on demand when the picker is open. */
+    void prepareAccessibilityLookup(String label) {
+        if (running && screen == Screen.SEARCH && datePickerOpen
+                && label.matches("\\d{4}-\\d{2}-\\d{2}")
+                && datePicker.children.stream().noneMatch(c -> label.equals(c.accessibility))) {
+            datePicker.add(register(Kind.BUTTON).accessibility(label).text(label.substring(8))
+                    .onClick(n -> datePickerOpen = false));
+        }
+    }
+
+    // --- System alerts (iOS alert endpoints) ---------------------------------
+
+    String alertText() {
+        requireDialog();
+        return dialog.children.get(0).visibleText(platform);
+    }
+
+    void dismissDialog() {
+        requireDialog();
+        pendingDialogs--;
+        refresh();
+    }
+
+    private void requireDialog() {
+        if (!running || pendingDialogs <= 0) {
+            throw new NoAlertPresentException("No alert is open");
+        }
+        refresh();
+    }
+
+    // =========================================================================
+    // Screen construction
+    // =========================================================================
+
+    private void launch() {
+        nodes.clear();
+        running  = true;
+        appRoot  = register(Kind.ROOT).accessibility(platform == FakePlatform.IOS ? "WizzAir" : "");
+        if (freshInstall) {
+            pendingDialogs = options.getPermissionDialogs();
+            freshInstall   = false;
+        }
+        show(Screen.SEARCH);
+    }
+
+    private void show(Screen next) {
+        screen          = next;
+        screenEnteredAt = System.currentTimeMillis();
+        datePickerOpen  = false;
+        screenNode = switch (next) {
+            case SEARCH  -> buildSearch();
+            case RESULTS -> buildResults();
+            case BOOKING -> buildBooking();
+            case PAYMENT -> buildPayment();
+            case DETAILS -> buildDetails();
+        };
+        refresh();
+    }
+
+    private FakeNode buildSearch() {
+        datePicker = register(Kind.GROUP).accessibility("Date picker");
+        return register(Kind.GROUP).resourceId(appId + ":id/search_root")
+                .add(register(Kind.INPUT).accessibility("Origin airport"))
+                .add(register(Kind.INPUT).accessibility("Destination airport"))
+                .add(register(Kind.BUTTON).accessibility("Departure date").onClick(n -> datePickerOpen = true))
+                .add(register(Kind.BUTTON).accessibility("Return date").onClick(n -> datePickerOpen = true))
+                .add(register(Kind.BUTTON).accessibility("Passengers").onClick(n -> { }))
+                .add(register(Kind.BUTTON).accessibility("Search flights").onClick(n -> show(Screen.RESULTS)));
+    }
+
+    private FakeNode buildResults() {
+        offset      = 0;
+        loaded      = Math.min(options.getPageSize(), options.getFlightCount());
+        loadPending = false;
+        cardSlots.clear();
+        for (int slot = 0; slot < options.getVisibleCards(); slot++) {
+            FakeNode card = register(Kind.CELL).accessibility("Flight card")
+                    .add(register(Kind.TEXT))
+                    .add(register(Kind.TEXT))
+                    .add(register(Kind.TEXT))
+                    .onClick(n -> show(Screen.BOOKING));
+            if (options.isSplitTimeLabels()) {
+                card.add(register(Kind.TEXT));
+            }
+            cardSlots.add(card);
+        }
+        resultsList = register(Kind.LIST).accessibility("Flight results list")
+                .resourceId(appId + ":id/results_list");
+        spinner = register(Kind.GROUP).accessibility("Loading flights");
+        return register(Kind.GROUP).resourceId(appId + ":id/results_root");
+    }
+
+    private FakeNode buildBooking() {
+        priceAccepted = false;
+        repriced      = false;
+        repricesLeft  = options.getContinueReprices();
+        errorShown    = false;
+        passengerFields.clear();
+        FakeNode root = register(Kind.GROUP).resourceId(appId + ":id/booking_root")
+                .add(register(Kind.TEXT).accessibility("Booking header").text("Passenger details"));
+        for (String label : List.of("First name", "Last name", "Email", "Phone number")) {
+            FakeNode field = register(Kind.INPUT).accessibility(label);
+            passengerFields.put(label, field);
+            root.add(field);
+        }
+        root.add(register(Kind.BUTTON).accessibility("Continue to payment").onClick(n -> continueToPayment()));
+        priceModal = register(Kind.GROUP).accessibility("Price changed modal")
+                .add(register(Kind.TEXT).text("The price of your flight has changed"))
+                .add(register(Kind.TEXT).accessibility("New price amount").text("€59.99"))
+                .add(register(Kind.BUTTON).accessibility("Accept new price").onClick(n -> priceAccepted = true));
+        errorToast = register(Kind.TEXT).accessibility("Error message").text(options.getBookingError());
+        return root;
+    }
+
+    /** The outcomes of continue: payment, a (new) price change, or an error message. */
+    private void continueToPayment() {
+        if (isPriceModalShowing()) {
+            return;
+        }
+        if (options.getBookingError() != null) {
+            errorShown = true;
+        } else if (repricesLeft > 0) {
+            repricesLeft--;
+            repriced      = true;
+            priceAccepted = false;
+        } else {
+            show(Screen.PAYMENT);
+        }
+    }
+
+    private FakeNode buildPayment() {
+        paid = false;
+        confirmation   = register(Kind.TEXT).accessibility("Booking confirmation").text("Booking confirmed");
+        successMessage = register(Kind.DOM).dom("div", "data-cy", "payment-success").text("Payment successful");
+
+        webForm = register(Kind.DOM).dom("form", "data-cy", "payment-form");
+        CARD_FIELDS.forEach(field -> webForm.add(register(Kind.DOM).dom("input", "data-cy", field)));
+        webForm.add(register(Kind.DOM).dom("button", "data-cy", "pay-button").text("Pay now").onClick(n -> submitPayment()));
+
+        webRoot = register(Kind.DOM).dom("html", "lang", "en")
+                .add(register(Kind.DOM).dom("body", "class", "payment").add(webForm));
+        // Navigation starts with the screen; the page has loaded once the WebView context appears
+        webPage = new FakeWebPage(webRoot, platform, screenEnteredAt, options.getWebViewDelayMs());
+
+        return register(Kind.GROUP).accessibility("Payment screen")
+                .add(register(Kind.WEBVIEW).resourceId(appId + ":id/payment_webview"));
+    }
+
+    private FakeNode buildDetails() {
+        return register(Kind.GROUP).resourceId(appId + ":id/details_root")
+                .add(register(Kind.TEXT).accessibility("Flight details header").text("Flight details"))
+                .add(register(Kind.TEXT).accessibility("Origin destination route").text(detailsRoute))
+                .add(register(Kind.TEXT).accessibility("Flight date").text(detailsDate))
+                .add(register(Kind.TEXT).accessibility("Flight price").text("€39.99"));
+    }
+
+    private void submitPayment() {
+        boolean complete = webForm.children.stream()
+                .filter(FakeNode::isEditable)
+                .noneMatch(input -> input.text.isEmpty());
+        if (complete && !paid) {
+            paid = true;
+            webForm.parent.add(successMessage);
+        }
+    }
+
+    // =========================================================================
+    // State → tree
+    // =========================================================================
+
+    /** Re-attaches overlays and rebinds recycled views for the current state. */
+    private void refresh() {
+        List<FakeNode> top = new ArrayList<>();
+        if (pendingDialogs > 0) {
+            // System dialogs live in another window: the app underneath is not visible
+            if (dialog == null || dialogFor != pendingDialogs) {
+                dialog    = buildDialog();
+                dialogFor = pendingDialogs;
+            }
+            top.add(dialog);
+            appRoot.replaceChildren(top);
+            return;
+        }
+        dialog = null;
+        top.add(screenNode);
+
+        switch (screen) {
+            case SEARCH -> {
+                if (datePickerOpen) {
+                    top.add(datePicker);
+                }
+            }
+            case RESULTS -> bindResults();
+            case BOOKING -> {
+                if (isPriceModalShowing()) {
+                    top.add(priceModal);
+                }
+                if (errorShown) {
+                    top.add(errorToast);
+                }
+            }
+            case PAYMENT -> {
+                if (paid && !screenNode.children.contains(confirmation)) {
+                    screenNode.add(confirmation);
+                }
+            }
+            default -> { }
+        }
+        appRoot.replaceChildren(top);
+    }
+
+    private void bindResults() {
+        boolean loading = loadPending && System.currentTimeMillis() < loadingUntil;
+        if (loadPending && !loading) {
+            loaded      = Math.min(loaded + options.getPageSize(), options.getFlightCount());
+            loadPending = false;
+        }
+
+        List<FakeNode> bound = new ArrayList<>();
+        for (int slot = 0; slot < cardSlots.size(); slot++) {
+            int index = offset + slot;
+            if (index >= loaded) {
+                break;
+            }
+            FakeNode card = cardSlots.get(slot);
+            String dep = clock(180 + index * 15);
+            String arr = clock(180 + index * 15 + 150);
+            if (options.isSplitTimeLabels()) {
+                card.children.get(0).accessibility(dep).text(dep);
+                card.children.get(3).accessibility(arr).text(arr);
+            } else {
+                card.children.get(0).accessibility(dep + " " + arr).text(dep + " – " + arr);
+            }
+            card.children.get(1).text("W6 " + (2200 + index));
+            card.children.get(2).text(String.format(Locale.ROOT, "€%.2f", 29.99 + index * 3));
+            bound.add(card);
+        }
+        resultsList.replaceChildren(bound);
+
+        List<FakeNode> content = new ArrayList<>(List.of(resultsList));
+        if (loading) {
+            content.add(spinner);
+        }
+        screenNode.replaceChildren(content);
+    }
+
+    private boolean isPriceModalShowing() {
+        return !priceAccepted && (repriced || options.isPriceChange()
+                && passengerFields.values().stream().noneMatch(f -> f.text.isEmpty()));
+    }
+
+    private boolean webViewAvailable() {
+        return running && screen == Screen.PAYMENT && webRoot != null
+                && System.currentTimeMillis() - screenEnteredAt >= options.getWebViewDelayMs();
+    }
+
+    /** Waits until an in-flight page load completes; returns whether it had to wait. */
+    private boolean awaitPendingLoad() {
+        long remaining = loadingUntil - System.currentTimeMillis();
+        if (!loadPending) {
+            return false;
+        }
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        refresh();
+        return true;
+    }
+
+    private FakeNode buildDialog() {
+        boolean notifications = pendingDialogs % 2 == 1;
+        if (platform == FakePlatform.IOS) {
+            String title = notifications ? "“WizzAir” Would Like to Send You Notifications"
+                                         : "Allow “WizzAir” to use your location?";
+            FakeNode alert = register(Kind.ALERT).accessibility(title)
+                    .add(register(Kind.TEXT).accessibility(title));
+            for (String label : notifications ? List.of("Don’t Allow", "Allow")
+                                              : List.of("Allow Once", "Allow While Using App", "Don’t Allow")) {
+                alert.add(register(Kind.BUTTON).accessibility(label).onClick(n -> pendingDialogs--));
+            }
+            return alert;
+        }
+        String title = notifications ? "Allow WizzAir to send you notifications?"
+                                     : "Allow WizzAir to access this device's location?";
+        FakeNode group = register(Kind.GROUP)
+                .resourceId("com.android.permissioncontroller:id/grant_dialog")
+                .add(register(Kind.TEXT).text(title));
+        for (String label : notifications ? List.of("Allow", "Don't allow")
+                                          : List.of("While using the app", "Only this time", "Don't allow")) {
+            group.add(register(Kind.BUTTON).text(label)
+                    .resourceId("com.android.permissioncontroller:id/permission_allow_button")
+                    .onClick(n -> pendingDialogs--));
+        }
+        return group;
+    }
+
+    private boolean isAttached(FakeNode node) {
+        if (rootOf(node) == webRoot) {
+            return webViewAvailable();
+        }
+        // Refresh first: a scroll or load may have recycled the node's view
+        return nativeRoot() != null && rootOf(node) == appRoot;
+    }
+
+    private static FakeNode rootOf(FakeNode node) {
+        FakeNode top = node;
+        while (top.parent != null) {
+            top = top.parent;
+        }
+        return top;
+    }
+
+    private FakeNode register(Kind kind) {
+        FakeNode node = new FakeNode(String.format("%08d-0000-0000-0000-%012d", 0, ++nextId), kind);
+        nodes.put(node.id, node);
+        return node;
+    }
+
+    private static String clock(int minutes) {
+        return String.format("%02d:%02d", (minutes / 60) % 24, minutes % 60);
+    }
+}
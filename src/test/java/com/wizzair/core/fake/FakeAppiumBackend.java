@@ -0,0 +1,658 @@
+package com.wizzair.core.fake;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.Dialect;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory Appium backend: executes WebDriver / Appium commands against a
+ * {@link FakeApp} per session.
+ *
+ * <p>Commands are addressed by their Selenium {@code DriverCommand} / {@code MobileCommand}
+ * names with the same parameter maps the client sends, so the backend can sit behind
+ * the HTTP front-end ({@link FakeAppiumServer}) or be called in-process from a command
+ * executor. Like a real Appium server, commands for one session are serialised; each
+ * is delayed by the latency model in {@link FakeAppiumOptions} before it runs.
+ *
+ * <p>Errors are thrown as the Selenium exceptions a real driver would produce.
+ */
+public final class FakeAppiumBackend {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FakeAppiumBackend.class);
+
+    public static final String ELEMENT_KEY = Dialect.W3C.getEncodedElementKey();
+
+    private static final String MOBILE_PREFIX  = "mobile:";
+    private static final int    SWIPE_MIN_DY   = 50;
+    private static final long   CONTEXT_POLL_MS = 50;
+
+    // The WebdriverIO statements DriverScriptBatch generates
+    private static final Pattern WDIO_FIND  = Pattern.compile("^el = await driver\\.\\$\\((\".*\")\\);$");
+    private static final Pattern WDIO_WAIT  = Pattern.compile(
+            "^await el\\.waitForDisplayed\\(\\{ timeout: (\\d+) }\\);$");
+    private static final Pattern WDIO_ADD   = Pattern.compile("^await el\\.addValue\\((\".*\")\\);$");
+    private static final Pattern WDIO_COUNT = Pattern.compile(
+            "^results\\.push\\(\\(await driver\\.\\$\\$\\((\".*\")\\)\\)\\.length\\);$");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final FakeAppiumOptions options;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionOrdinal = new AtomicInteger();
+
+    public FakeAppiumBackend(FakeAppiumOptions options) {
+        this.options = options;
+    }
+
+    public FakeAppiumOptions options() {
+        return options;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    // =========================================================================
+    // Sessions
+    // =========================================================================
+
+    /**
+     * Creates a session.
+     *
+     * @param payload {@code newSession} parameters – W3C {@code capabilities} with
+     *                {@code alwaysMatch} / {@code firstMatch}, or a collection of
+     *                {@link Capabilities} when called in-process
+     * @return a map with {@code sessionId} and the matched {@code capabilities}
+     */
+    public Map<String, Object> newSession(Map<String, ?> payload) {
+        Map<String, Object> caps = mergedCapabilities(payload.get("capabilities"));
+        FakePlatform platform = FakePlatform.of(caps.get("platformName"));
+        String appId = String.valueOf(caps.getOrDefault(
+                platform == FakePlatform.IOS ? "appium:bundleId" : "appium:appPackage", "com.wizzair.WizzAirApp"));
+
+        int ordinal = sessionOrdinal.incrementAndGet();
+        Session session = new Session(UUID.randomUUID().toString(), platform,
+                new FakeApp(platform, options, appId), new Random(options.getSeed() + ordinal));
+        sessions.put(session.id, session);
+        session.pause("newSession");
+        LOG.debug("Fake session {} created ({})", session.id, platform);
+
+        caps.putIfAbsent("platformName", platform == FakePlatform.IOS ? "iOS" : "Android");
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessionId", session.id);
+        result.put("capabilities", caps);
+        return result;
+    }
+
+    /**
+     * Executes one command for an existing session.
+     *
+     * @return the command's {@code value} (JSON-friendly maps, lists and scalars)
+     */
+    public Object execute(String sessionId, String command, Map<String, ?> params) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new NoSuchSessionException("No fake session with id " + sessionId);
+        }
+        synchronized (session) {
+            session.pause(latencyKey(command, params));
+            return dispatch(session, command, params);
+        }
+    }
+
+    // =========================================================================
+    // Command dispatch
+    // =========================================================================
+
+    private Object dispatch(Session s, String command, Map<String, ?> p) {
+        return switch (command) {
+            case "quit" -> {
+                sessions.remove(s.id);
+                yield null;
+            }
+            case "setTimeout", "setTimeouts", "clearActionState" -> null;
+            case "getCapabilities", "getSession" -> Map.of("platformName", s.platform.name());
+
+            // --- Elements ----------------------------------------------------
+            case "findElement"       -> toReference(first(s, find(s, null, p), p));
+            case "findElements"      -> find(s, null, p).stream().map(FakeAppiumBackend::toReference).toList();
+            case "findChildElement"  -> toReference(first(s, find(s, s.element(str(p, "id")), p), p));
+            case "findChildElements" -> find(s, s.element(str(p, "id")), p).stream()
+                                            .map(FakeAppiumBackend::toReference).toList();
+            case "clickElement"      -> { s.app.click(s.element(str(p, "id"))); yield null; }
+            case "clearElement"      -> { s.app.clear(s.element(str(p, "id"))); yield null; }
+            case "sendKeysToElement" -> { s.app.type(s.element(str(p, "id")), keys(p)); yield null; }
+            case "getElementText"    -> s.element(str(p, "id")).visibleText(s.platform);
+            case "getElementAttribute", "getElementProperty", "getElementDomAttribute" ->
+                    s.element(str(p, "id")).attribute(str(p, "name"), s.platform);
+            case "getElementTagName" -> s.element(str(p, "id")).className(s.platform);
+            case "isElementDisplayed" -> s.element(str(p, "id")).displayed;
+            case "isElementEnabled"  -> s.element(str(p, "id")).enabled;
+            case "isElementSelected" -> false;
+            case "getElementRect"    -> {
+                FakeNode node = s.element(str(p, "id"));
+                yield FakePageSource.rect(s.root(), node, s.platform);
+            }
+
+            // --- Screen ------------------------------------------------------
+            case "getPageSource" -> s.inWebView()
+                    ? FakePageSource.renderHtml(s.webRoot())
+                    : FakePageSource.render(s.app.nativeRoot(), s.platform, s.app.appId());
+            case "getCurrentWindowSize", "getWindowRect" -> s.platform == FakePlatform.IOS
+                    ? Map.of("x", 0, "y", 0, "width", FakePageSource.IOS_WIDTH, "height", FakePageSource.IOS_HEIGHT)
+                    : Map.of("x", 0, "y", 0, "width", FakePageSource.ANDROID_WIDTH, "height", FakePageSource.ANDROID_HEIGHT);
+            case "screenshot" -> "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==";
+            case "actions" -> { performActions(s, p.get("actions")); yield null; }
+
+            // --- Contexts ----------------------------------------------------
+            case "getContextHandles"       -> s.app.contexts();
+            case "getCurrentContextHandle" -> s.context;
+            case "switchToContext"         -> { s.switchContext(str(p, "name")); yield null; }
+
+            // --- Alerts ------------------------------------------------------
+            case "getAlertText" -> s.app.alertText();
+            case "acceptAlert", "dismissAlert" -> { s.app.dismissDialog(); yield null; }
+
+            // --- App lifecycle (legacy endpoints) -----------------------------
+            case "terminateApp" -> { s.app.terminate(); s.context = FakeApp.NATIVE_CONTEXT; yield true; }
+            case "activateApp"  -> { s.app.activate(); yield null; }
+            case "runAppInBackground" -> null;
+            case "queryAppState" -> s.app.appState();
+            case "get" -> {
+                if (!s.app.openDeepLink(str(p, "url"))) {
+                    throw new InvalidArgumentException("Unsupported URL for the fake app: " + p.get("url"));
+                }
+                yield null;
+            }
+
+            case "executeScript" -> {
+                String script = str(p, "script");
+                yield script.trim().startsWith(MOBILE_PREFIX)
+                        ? executeScript(s, script, scriptArgs(p))
+                        : executeJavaScript(s, script, asList(p.get("args")));
+            }
+            case "executeDriverScript" -> executeDriverScript(s, str(p, "script"));
+            default -> throw new UnsupportedCommandException("The fake Appium server does not implement '" + command + "'");
+        };
+    }
+
+    private Object executeScript(Session s, String script, Map<String, Object> args) {
+        String name = script.trim();
+        return switch (name.substring(MOBILE_PREFIX.length()).trim()) {
+            case "terminateApp" -> { s.app.terminate(); s.context = FakeApp.NATIVE_CONTEXT; yield true; }
+            case "activateApp", "launchApp" -> {
+                Object bundle = args.get("bundleId");
+                if (bundle == null || s.app.appId().equals(bundle)) {
+                    s.app.activate();
+                }
+                yield null;
+            }
+            case "clearApp" -> {
+                s.app.clearData();
+                yield null;
+            }
+            case "queryAppState" -> s.app.appState();
+            case "backgroundApp" -> null;
+            case "deepLink" -> {
+                if (!s.app.openDeepLink(String.valueOf(args.get("url")))) {
+                    throw new InvalidArgumentException("Unsupported deep link: " + args.get("url"));
+                }
+                s.context = FakeApp.NATIVE_CONTEXT;
+                yield null;
+            }
+            case "getContexts" -> detailedContexts(s, args);
+            case "scroll" -> { mobileScroll(s, args); yield null; }
+            case "scrollGesture" -> {
+                // Returns whether the list can scroll further, like UiAutomator2
+                requireAndroid(s, name);
+                s.app.swipe(!"up".equals(args.get("direction")));
+                yield s.app.canScrollTowardsEnd();
+            }
+            case "swipeGesture" -> {
+                // Finger direction: swiping up moves the content towards its end
+                requireAndroid(s, name);
+                s.app.swipe("up".equals(args.get("direction")));
+                yield null;
+            }
+            case "replaceElementValue" -> {
+                requireAndroid(s, name);
+                FakeNode node = s.element(String.valueOf(args.get("elementId")));
+                s.app.clear(node);
+                s.app.type(node, String.valueOf(args.get("text")));
+                yield null;
+            }
+            case "alert" -> {
+                s.app.dismissDialog();
+                yield null;
+            }
+            default -> throw new UnsupportedCommandException("Unknown mobile command \"" + name + "\"");
+        };
+    }
+
+    /** Plain JavaScript: only the scripts {@link FakeWebPage} recognises have an effect. */
+    private Object executeJavaScript(Session s, String script, List<?> args) {
+        if (!s.inWebView()) {
+            throw new UnsupportedCommandException("JavaScript execution is only available in a WebView context");
+        }
+        return s.webPage().execute(script, args);
+    }
+
+    // =========================================================================
+    // Driver scripts
+    // =========================================================================
+
+    /**
+     * {@code executeDriverScript}, as the {@code execute-driver} plugin runs it – for the
+     * WebdriverIO statements {@code DriverScriptBatch} generates: {@code driver.$} /
+     * {@code driver.$$} with Appium's selector prefixes, {@code waitForDisplayed},
+     * {@code click}, {@code clearValue}, {@code addValue} and {@code getText}, collected
+     * into {@code results}. Disabled with {@link FakeAppiumOptions#isExecuteDriverPlugin()}.
+     */
+    private Object executeDriverScript(Session s, String script) {
+        if (!options.isExecuteDriverPlugin()) {
+            throw new UnsupportedCommandException("The fake Appium server does not implement 'executeDriverScript'");
+        }
+        List<Object> results = new ArrayList<>();
+        String selector = null;
+        FakeNode el = null;
+        for (String line : script.split("\n")) {
+            String statement = line.trim();
+            Matcher m;
+            if (statement.isEmpty() || statement.equals("const results = [];") || statement.equals("let el;")) {
+                continue;
+            } else if ((m = WDIO_FIND.matcher(statement)).matches()) {
+                selector = jsString(m.group(1));
+                el = null;
+            } else if ((m = WDIO_WAIT.matcher(statement)).matches()) {
+                el = awaitDisplayed(s, selector, Long.parseLong(m.group(1)));
+            } else if (statement.equals("await el.click();")) {
+                s.app.click(target(s, selector, el));
+            } else if (statement.equals("await el.clearValue();")) {
+                s.app.clear(target(s, selector, el));
+            } else if ((m = WDIO_ADD.matcher(statement)).matches()) {
+                s.app.type(target(s, selector, el), jsString(m.group(1)));
+            } else if (statement.equals("results.push(null);")) {
+                results.add(null);
+            } else if (statement.equals("results.push(await el.getText());")) {
+                results.add(target(s, selector, el).visibleText(s.platform));
+            } else if ((m = WDIO_COUNT.matcher(statement)).matches()) {
+                results.add(wdioFind(s, jsString(m.group(1))).size());
+            } else if (statement.equals("return results;")) {
+                break;
+            } else {
+                throw new InvalidArgumentException("The fake execute-driver plugin cannot run: " + statement);
+            }
+        }
+        return Map.of("result", results, "logs", Map.of("log", List.of(), "warn", List.of(), "error", List.of()));
+    }
+
+    private FakeNode awaitDisplayed(Session s, String selector, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            FakeNode match = wdioFind(s, selector).stream().filter(n -> n.displayed).findFirst().orElse(null);
+            if (match != null) {
+                return match;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("element (\"" + selector + "\") still not displayed after "
+                        + timeoutMs + "ms");
+            }
+            sleep(CONTEXT_POLL_MS);
+        }
+    }
+
+    /** The element {@code el} holds: the one waited for, else the first match now. */
+    private FakeNode target(Session s, String selector, FakeNode waited) {
+        return waited != null ? waited : first(s, wdioFind(s, selector), wdioParams(selector));
+    }
+
+    private List<FakeNode> wdioFind(Session s, String selector) {
+        return find(s, null, wdioParams(selector));
+    }
+
+    /** Appium's {@code using} / {@code value} for a WebdriverIO selector. */
+    private static Map<String, String> wdioParams(String selector) {
+        if (selector == null) {
+            throw new InvalidArgumentException("Driver script uses 'el' before assigning it");
+        }
+        for (String prefix : List.of("-ios predicate string", "-ios class chain")) {
+            if (selector.startsWith(prefix + ":")) {
+                return Map.of("using", prefix, "value", selector.substring(prefix.length() + 1));
+            }
+        }
+        if (selector.startsWith("~")) {
+            return Map.of("using", "accessibility id", "value", selector.substring(1));
+        }
+        if (selector.startsWith("android=")) {
+            return Map.of("using", "-android uiautomator", "value", selector.substring("android=".length()));
+        }
+        if (selector.startsWith("/") || selector.startsWith("(")) {
+            return Map.of("using", "xpath", "value", selector);
+        }
+        return Map.of("using", "css selector", "value", selector);
+    }
+
+    /** A double-quoted JavaScript string literal; its escapes are JSON's. */
+    private static String jsString(String literal) {
+        try {
+            return JSON.readValue(literal, String.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidArgumentException("Not a string literal: " + literal);
+        }
+    }
+
+    // =========================================================================
+    // Command helpers
+    // =========================================================================
+
+    private List<FakeNode> find(Session s, FakeNode scope, Map<String, ?> p) {
+        String using = str(p, "using");
+        String value = str(p, "value");
+        FakeLocators.Locator locator = FakeLocators.parse(using, value, s.platform, s.inWebView());
+
+        if ("accessibility id".equals(using)) {
+            s.app.prepareAccessibilityLookup(value);
+        }
+        if (locator.scrollIntoView()) {
+            FakeNode match = s.app.scrollIntoView(locator.matches(), locator.maxSwipes());
+            return match == null ? List.of() : List.of(match);
+        }
+
+        FakeNode root = scope != null ? scope : s.root();
+        if (root == null) {
+            return List.of();
+        }
+        List<FakeNode> candidates = root.descendantsAndSelf();
+        if (scope != null) {
+            candidates = candidates.subList(1, candidates.size());
+        }
+        return candidates.stream().filter(locator.matches()).toList();
+    }
+
+    private static FakeNode first(Session s, List<FakeNode> found, Map<String, ?> p) {
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("An element could not be located on the page using the given search "
+                    + "parameters (" + p.get("using") + "=" + p.get("value") + ") on screen " + s.app.screenName());
+        }
+        return found.get(0);
+    }
+
+    private void mobileScroll(Session s, Map<String, Object> args) {
+        Predicate<FakeNode> target = null;
+        if (args.get("predicateString") != null) {
+            target = FakeLocators.predicate(String.valueOf(args.get("predicateString")));
+        } else if (args.get("name") != null) {
+            String name = String.valueOf(args.get("name"));
+            target = n -> name.equals(n.accessibility);
+        } else if (args.get("strategy") != null && args.get("selector") != null) {
+            target = FakeLocators.parse(String.valueOf(args.get("strategy")),
+                    String.valueOf(args.get("selector")), s.platform, false).matches();
+        }
+
+        if (target == null) {
+            s.app.swipe(!"up".equals(args.get("direction")));
+            return;
+        }
+        int maxSwipes = args.get("maxSwipes") instanceof Number n ? n.intValue() : 30;
+        if (s.app.scrollIntoView(target, maxSwipes) == null) {
+            throw new NoSuchElementException("mobile: scroll could not find an element matching " + args);
+        }
+    }
+
+    /** {@code mobile: getContexts}: detailed context list, optionally waiting for a WebView. */
+    private Object detailedContexts(Session s, Map<String, Object> args) {
+        long waitMs = args.get("waitForWebviewMs") instanceof Number n ? n.longValue() : 0;
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (s.app.contexts().size() < 2 && System.currentTimeMillis() < deadline) {
+            sleep(CONTEXT_POLL_MS);
+        }
+
+        List<Map<String, Object>> contexts = new ArrayList<>();
+        boolean webView = s.app.contexts().size() > 1;
+        if (s.platform == FakePlatform.IOS) {
+            contexts.add(Map.of("id", FakeApp.NATIVE_CONTEXT));
+            if (webView) {
+                contexts.add(Map.of("id", s.app.webViewContext(), "title", "Wizz Air Payment",
+                        "url", "https://pay.wizzair.com/checkout", "bundleId", s.app.appId()));
+            }
+            return contexts;
+        }
+        if (webView) {
+            contexts.add(Map.of(
+                    "proc", "@webview_devtools_remote_" + Math.abs(s.id.hashCode() % 10000),
+                    "webview", s.app.webViewContext(),
+                    "webviewName", s.app.webViewContext(),
+                    "info", Map.of("Android-Package", s.app.appId(), "Browser", "Chrome/120.0.0.0"),
+                    "pages", List.of(Map.of("id", "1", "type", "page", "title", "Wizz Air Payment",
+                            "url", "https://pay.wizzair.com/checkout"))));
+        }
+        return contexts;
+    }
+
+    /** Interprets a W3C pointer sequence as a tap (ignored) or a vertical swipe. */
+    @SuppressWarnings("unchecked")
+    private void performActions(Session s, Object actions) {
+        for (Object source : asList(actions)) {
+            Map<String, Object> seq = source instanceof Sequence sequence
+                    ? sequence.encode() : (Map<String, Object>) source;
+            Integer startY = null;
+            Integer endY   = null;
+            for (Object a : asList(seq.get("actions"))) {
+                Map<String, Object> action = (Map<String, Object>) a;
+                if ("pointerMove".equals(action.get("type")) && action.get("y") instanceof Number y) {
+                    if (startY == null) {
+                        startY = y.intValue();
+                    }
+                    endY = y.intValue();
+                }
+            }
+            if (startY != null && Math.abs(endY - startY) >= SWIPE_MIN_DY) {
+                s.app.swipe(endY < startY);
+            }
+        }
+    }
+
+    private static void requireAndroid(Session s, String script) {
+        if (s.platform != FakePlatform.ANDROID) {
+            throw new UnsupportedCommandException("Unknown mobile command \"" + script + "\"");
+        }
+    }
+
+    static Map<String, Object> toReference(FakeNode node) {
+        return Map.of(ELEMENT_KEY, node.id, "ELEMENT", node.id);
+    }
+
+    private static String str(Map<String, ?> p, String key) {
+        Object v = p.get(key);
+        if (v == null) {
+            throw new InvalidArgumentException("Missing parameter '" + key + "'");
+        }
+        return v instanceof WrapsElement || v instanceof RemoteWebElement || v instanceof Map<?, ?>
+                ? elementId(v) : v.toString();
+    }
+
+    /** Keys from W3C {@code text}, a {@code value} list, or the client's {@code CharSequence[]}. */
+    private static String keys(Map<String, ?> p) {
+        if (p.get("text") instanceof String text) {
+            return text;
+        }
+        Object value = p.get("value");
+        StringBuilder out = new StringBuilder();
+        if (value instanceof CharSequence[] array) {
+            for (CharSequence cs : array) out.append(cs);
+        } else {
+            asList(value).forEach(out::append);
+        }
+        return out.toString();
+    }
+
+    /** First script argument as a map (Appium {@code mobile:} commands take one map). */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> scriptArgs(Map<String, ?> p) {
+        List<?> args = asList(p.get("args"));
+        if (!args.isEmpty() && args.get(0) instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new HashMap<>();
+            ((Map<String, Object>) map).forEach((k, v) ->
+                    copy.put(k, "elementId".equals(k) || "element".equals(k) ? elementId(v) : v));
+            return copy;
+        }
+        return Map.of();
+    }
+
+    private static String elementId(Object ref) {
+        if (ref instanceof WrapsElement wrapper) {
+            ref = wrapper.getWrappedElement();
+        }
+        if (ref instanceof RemoteWebElement element) {
+            return element.getId();
+        }
+        if (ref instanceof Map<?, ?> map) {
+            Object id = map.containsKey(ELEMENT_KEY) ? map.get(ELEMENT_KEY) : map.get("ELEMENT");
+            return String.valueOf(id);
+        }
+        return String.valueOf(ref);
+    }
+
+    private static List<?> asList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof Collection<?> c) {
+            return new ArrayList<>(c);
+        }
+        if (value instanceof Object[] array) {
+            return List.of(array);
+        }
+        return List.of(value);
+    }
+
+    /** Same naming as the client-side metrics, so per-command latency overrides line up. */
+    private static String latencyKey(String command, Map<String, ?> params) {
+        if ("executeScript".equals(command) && params.get("script") instanceof String s
+                && s.trim().startsWith(MOBILE_PREFIX)) {
+            return command + "[" + s.trim() + "]";
+        }
+        return command;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mergedCapabilities(Object raw) {
+        Map<String, Object> caps = new LinkedHashMap<>();
+        if (raw instanceof Map<?, ?> w3c) {
+            if (w3c.get("alwaysMatch") instanceof Map<?, ?> always) {
+                caps.putAll((Map<String, Object>) always);
+            }
+            List<?> firstMatch = asList(w3c.get("firstMatch"));
+            if (!firstMatch.isEmpty() && firstMatch.get(0) instanceof Map<?, ?> first) {
+                caps.putAll((Map<String, Object>) first);
+            }
+        } else {
+            for (Object c : asList(raw)) {
+                if (c instanceof Capabilities capabilities) {
+                    caps.putAll(capabilities.asMap());
+                } else if (c instanceof Map<?, ?> map) {
+                    caps.putAll((Map<String, Object>) map);
+                }
+            }
+        }
+        return caps;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================================================================
+    // Session state
+    // =========================================================================
+
+    private final class Session {
+
+        final String       id;
+        final FakePlatform platform;
+        final FakeApp      app;
+        final Random       random;
+        String context = FakeApp.NATIVE_CONTEXT;
+
+        Session(String id, FakePlatform platform, FakeApp app, Random random) {
+            this.id       = id;
+            this.platform = platform;
+            this.app      = app;
+            this.random   = random;
+        }
+
+        void pause(String command) {
+            int jitter = options.getJitterMs();
+            sleep(options.latencyFor(command) + (jitter > 0 ? random.nextInt(jitter + 1) : 0));
+        }
+
+        boolean inWebView() {
+            return !FakeApp.NATIVE_CONTEXT.equals(context);
+        }
+
+        FakeNode webRoot() {
+            FakeNode root = app.webRoot();
+            if (root == null) {
+                throw new NoSuchWindowException("WebView " + context + " is no longer available");
+            }
+            return root;
+        }
+
+        FakeWebPage webPage() {
+            FakeWebPage page = app.webPage();
+            if (page == null) {
+                throw new NoSuchWindowException("WebView " + context + " is no longer available");
+            }
+            return page;
+        }
+
+        FakeNode root() {
+            return inWebView() ? webRoot() : app.nativeRoot();
+        }
+
+        FakeNode element(String elementId) {
+            return app.node(elementId);
+        }
+
+        void switchContext(String name) {
+            if (!app.contexts().contains(name)) {
+                throw new NotFoundException("No such context found: " + name);
+            }
+            context = name;
+        }
+    }
+}
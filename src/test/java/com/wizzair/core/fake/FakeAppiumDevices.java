@@ -0,0 +1,68 @@
+package com.wizzair.core.fake;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wizzair.config.DeviceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Device pools for offline runs: each device of the configured pool, copied and pointed
+ * at its own JVM-wide {@link FakeAppiumServer}.
+ *
+ * <p>{@code -DfakeAppium=true} asks for one server, {@code -DfakeAppium=N} for N; without
+ * a device-pool file the single configured device is then copied N times. Applied by
+ * {@code FakeAppiumHooks} before the first scenario leases a device; the configuration
+ * itself is left as the YAML files describe it.
+ */
+public final class FakeAppiumDevices {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FakeAppiumDevices.class);
+    private static final ObjectMapper COPIER = new ObjectMapper();
+
+    private FakeAppiumDevices() {}
+
+    /** {@code -DfakeAppium=true} → 1 server, {@code -DfakeAppium=N} → N, unset or false → 0. */
+    public static int requestedServers() {
+        String value = System.getProperty("fakeAppium", "false").trim();
+        if (value.equalsIgnoreCase("true")) {
+            return 1;
+        }
+        return value.matches("\\d+") ? Integer.parseInt(value) : 0;
+    }
+
+    /**
+     * Copies of {@code configured}, one fake server each.
+     *
+     * @param configured the device pool as loaded from configuration
+     * @param servers    servers asked for; used as the pool size when {@code configured}
+     *                   did not come from a device-pool file
+     * @param poolFile   whether {@code configured} was read from a device-pool file
+     */
+    public static List<DeviceConfig> pool(List<DeviceConfig> configured, int servers, boolean poolFile) {
+        List<DeviceConfig> devices = new ArrayList<>();
+        if (poolFile || servers <= 1) {
+            configured.forEach(device -> devices.add(copy(device)));
+        } else {
+            for (int i = 0; i < servers; i++) {
+                DeviceConfig cfg = copy(configured.get(0));
+                cfg.setUdid("fake-device-" + (i + 1));
+                cfg.setDeviceName("Fake device " + (i + 1));
+                devices.add(cfg);
+            }
+        }
+
+        List<String> endpoints = FakeAppiumServer.sharedEndpoints(devices.size());
+        for (int i = 0; i < devices.size(); i++) {
+            devices.get(i).setAppiumServerUrl(endpoints.get(i));
+        }
+        LOG.info("Device pool → {} fake device(s)", devices.size());
+        return List.copyOf(devices);
+    }
+
+    private static DeviceConfig copy(DeviceConfig device) {
+        return COPIER.convertValue(device, DeviceConfig.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.wizzair.core.fake;
+
+import com.wizzair.config.DeviceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline device pools, over the JVM-wide fake servers.
+ */
+class FakeAppiumDevicesTest {
+
+    private static final String DEVICE_URL = "http://127.0.0.1:4723";
+
+    @Test
+    void configuredDeviceIsCopiedOncePerServer() {
+        DeviceConfig configured = device("emulator-5554");
+
+        List<DeviceConfig> pool = FakeAppiumDevices.pool(List.of(configured), 2, false);
+
+        assertThat(pool).extracting(DeviceConfig::getUdid).containsExactly("fake-device-1", "fake-device-2");
+        assertThat(pool).extracting(DeviceConfig::getAppPackage).containsOnly("com.wizzair.WizzAirApp");
+        assertThat(pool).extracting(DeviceConfig::getAppiumServerUrl)
+                .doesNotHaveDuplicates()
+                .allSatisfy(url -> assertThat(url).startsWith("http://127.0.0.1:").isNotEqualTo(DEVICE_URL));
+        assertThat(configured.getAppiumServerUrl()).isEqualTo(DEVICE_URL);
+    }
+
+    @Test
+    void poolFileDevicesKeepTheirIdentity() {
+        List<DeviceConfig> pool = FakeAppiumDevices.pool(
+                List.of(device("emulator-5554"), device("emulator-5556")), 1, true);
+
+        assertThat(pool).extracting(DeviceConfig::getUdid).containsExactly("emulator-5554", "emulator-5556");
+        assertThat(pool).extracting(DeviceConfig::getAppiumServerUrl)
+                .doesNotHaveDuplicates()
+                .doesNotContain(DEVICE_URL);
+    }
+
+    // ---- Helpers
+
+    private static DeviceConfig device(String udid) {
+        DeviceConfig cfg = new DeviceConfig();
+        cfg.setPlatform("android");
+        cfg.setUdid(udid);
+        cfg.setAppPackage("com.wizzair.WizzAirApp");
+        cfg.setAppiumServerUrl(DEVICE_URL);
+        return cfg;
+    }
+}
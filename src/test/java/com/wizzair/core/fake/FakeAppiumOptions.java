@@ -0,0 +1,86 @@
+package com.wizzair.core.fake;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Behaviour of the fake Appium server: command latency and the scripted app's timing.
+ *
+ * <p>Latency is {@code latencyMs + uniform(0..jitterMs)}, drawn from a {@link java.util.Random}
+ * seeded with {@code seed} plus the session ordinal, so the same run replays the same
+ * delays. {@code commandLatencyMs} overrides the base latency per command name
+ * (e.g. {@code getPageSource}, {@code executeScript[mobile: getContexts]}).
+ *
+ * <p>Every field can be set with a {@code -DfakeAppium.<field>=<value>} system property;
+ * per-command overrides use {@code -DfakeAppium.latency.<command>=<ms>}.
+ */
+@Data
+public class FakeAppiumOptions {
+
+    private static final String PREFIX = "fakeAppium.";
+
+    // Latency model
+    private int  latencyMs = 0;
+    private int  jitterMs  = 0;
+    private long seed      = 42L;
+    private Map<String, Integer> commandLatencyMs = new HashMap<>();
+
+    // Server plugins
+    private boolean executeDriverPlugin = true;  // executeDriverScript runs WebdriverIO scripts; false rejects it
+
+    // Flight results list (infinite scroll)
+    private int flightCount     = 40;
+    private int pageSize        = 20;     // results fetched per "page" of the list
+    private int visibleCards    = 5;      // cards on screen at once
+    private int cardsPerSwipe   = 3;
+    private int loadMoreDelayMs = 300;    // loading spinner shown while the next page arrives
+    private boolean splitTimeLabels = false;  // departure and arrival in separate labels, not one "06:00 08:30"
+
+    // Booking / payment
+    private boolean priceChange       = false;  // show the price-change modal once details are entered
+    private int     continueReprices  = 0;      // taps on continue that show the price-change modal instead of payment
+    private String  bookingError      = null;   // continue shows this error message instead of payment
+    private int     webViewDelayMs    = 500;    // WebView context appears this long after the payment screen
+    private int     permissionDialogs = 0;      // system dialogs shown on first launch
+
+    /** Returns the base latency for a command, honouring per-command overrides. */
+    public int latencyFor(String command) {
+        return commandLatencyMs.getOrDefault(command, latencyMs);
+    }
+
+    /** Builds options from defaults overridden by {@code -DfakeAppium.*} system properties. */
+    public static FakeAppiumOptions fromSystemProperties() {
+        FakeAppiumOptions o = new FakeAppiumOptions();
+        o.setLatencyMs(intProp("latencyMs", o.getLatencyMs()));
+        o.setJitterMs(intProp("jitterMs", o.getJitterMs()));
+        o.setSeed(Long.parseLong(System.getProperty(PREFIX + "seed", String.valueOf(o.getSeed()))));
+        o.setExecuteDriverPlugin(Boolean.parseBoolean(
+                System.getProperty(PREFIX + "executeDriverPlugin", String.valueOf(o.isExecuteDriverPlugin()))));
+        o.setFlightCount(intProp("flightCount", o.getFlightCount()));
+        o.setPageSize(intProp("pageSize", o.getPageSize()));
+        o.setVisibleCards(intProp("visibleCards", o.getVisibleCards()));
+        o.setCardsPerSwipe(intProp("cardsPerSwipe", o.getCardsPerSwipe()));
+        o.setLoadMoreDelayMs(intProp("loadMoreDelayMs", o.getLoadMoreDelayMs()));
+        o.setSplitTimeLabels(Boolean.parseBoolean(
+                System.getProperty(PREFIX + "splitTimeLabels", String.valueOf(o.isSplitTimeLabels()))));
+        o.setPriceChange(Boolean.parseBoolean(
+                System.getProperty(PREFIX + "priceChange", String.valueOf(o.isPriceChange()))));
+        o.setContinueReprices(intProp("continueReprices", o.getContinueReprices()));
+        o.setBookingError(System.getProperty(PREFIX + "bookingError", o.getBookingError()));
+        o.setWebViewDelayMs(intProp("webViewDelayMs", o.getWebViewDelayMs()));
+        o.setPermissionDialogs(intProp("permissionDialogs", o.getPermissionDialogs()));
+
+        String latencyPrefix = PREFIX + "latency.";
+        System.getProperties().stringPropertyNames().stream()
+              .filter(key -> key.startsWith(latencyPrefix))
+              .forEach(key -> o.getCommandLatencyMs().put(
+                      key.substring(latencyPrefix.length()), Integer.parseInt(System.getProperty(key))));
+        return o;
+    }
+
+    private static int intProp(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(PREFIX + name, String.valueOf(defaultValue)));
+    }
+}
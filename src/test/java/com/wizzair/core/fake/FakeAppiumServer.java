@@ -0,0 +1,283 @@
+package com.wizzair.core.fake;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embeddable stand-in for an Appium server, for measuring framework overhead and
+ * running the suite without devices.
+ *
+ * <p>Speaks the W3C WebDriver wire protocol plus the Appium routes the framework
+ * uses, on a JDK {@link HttpServer} bound to loopback, and forwards every command to a
+ * {@link FakeAppiumBackend}. Point {@code appiumServerUrl} at {@link #url()}, or run with
+ * {@code -DfakeAppium=true} ({@code -DfakeAppium=3} for a three-device pool) and
+ * {@link com.wizzair.config.ConfigLoader} starts the servers itself.
+ *
+ * <p>Usage:
+ * <pre>
+ *   try (FakeAppiumServer server = FakeAppiumServer.start(new FakeAppiumOptions())) {
+ *       cfg.setAppiumServerUrl(server.url());
+ *       ...
+ *   }
+ * </pre>
+ */
+public final class FakeAppiumServer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FakeAppiumServer.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String LEGACY_BASE_PATH = "/wd/hub";
+    private static final String SESSION   = "/session/{sessionId}";
+    private static final String ELEMENT   = SESSION + "/element/{id}";
+
+    private static final List<Route> ROUTES = List.of(
+        route("GET",    "/status",                         "status"),
+        route("POST",   "/session",                        "newSession"),
+        route("DELETE", SESSION,                           "quit"),
+        route("GET",    SESSION,                           "getSession"),
+        route("POST",   SESSION + "/timeouts",             "setTimeout"),
+        route("POST",   SESSION + "/url",                  "get"),
+        route("POST",   SESSION + "/element",              "findElement"),
+        route("POST",   SESSION + "/elements",             "findElements"),
+        route("POST",   ELEMENT + "/element",              "findChildElement"),
+        route("POST",   ELEMENT + "/elements",             "findChildElements"),
+        route("POST",   ELEMENT + "/click",                "clickElement"),
+        route("POST",   ELEMENT + "/clear",                "clearElement"),
+        route("POST",   ELEMENT + "/value",                "sendKeysToElement"),
+        route("GET",    ELEMENT + "/text",                 "getElementText"),
+        route("GET",    ELEMENT + "/name",                 "getElementTagName"),
+        route("GET",    ELEMENT + "/attribute/{name}",     "getElementAttribute"),
+        route("GET",    ELEMENT + "/property/{name}",      "getElementProperty"),
+        route("GET",    ELEMENT + "/displayed",            "isElementDisplayed"),
+        route("GET",    ELEMENT + "/enabled",              "isElementEnabled"),
+        route("GET",    ELEMENT + "/selected",             "isElementSelected"),
+        route("GET",    ELEMENT + "/rect",                 "getElementRect"),
+        route("GET",    SESSION + "/source",               "getPageSource"),
+        route("GET",    SESSION + "/screenshot",           "screenshot"),
+        route("GET",    SESSION + "/window/rect",          "getCurrentWindowSize"),
+        route("POST",   SESSION + "/actions",              "actions"),
+        route("DELETE", SESSION + "/actions",              "clearActionState"),
+        route("POST",   SESSION + "/execute/sync",         "executeScript"),
+        route("POST",   SESSION + "/appium/execute_driver", "executeDriverScript"),
+        route("GET",    SESSION + "/contexts",             "getContextHandles"),
+        route("GET",    SESSION + "/context",              "getCurrentContextHandle"),
+        route("POST",   SESSION + "/context",              "switchToContext"),
+        route("GET",    SESSION + "/alert/text",           "getAlertText"),
+        route("POST",   SESSION + "/alert/accept",         "acceptAlert"),
+        route("POST",   SESSION + "/alert/dismiss",        "dismissAlert"),
+        route("POST",   SESSION + "/appium/device/terminate_app", "terminateApp"),
+        route("POST",   SESSION + "/appium/device/activate_app",  "activateApp"),
+        route("POST",   SESSION + "/appium/device/app_state",     "queryAppState"),
+        route("POST",   SESSION + "/appium/app/background",       "runAppInBackground"));
+
+    private static final List<FakeAppiumServer> SHARED = new ArrayList<>();
+
+    private final FakeAppiumBackend backend;
+    private final HttpServer        server;
+    private final ExecutorService   executor;
+
+    private FakeAppiumServer(FakeAppiumBackend backend, int port) throws IOException {
+        this.backend = backend;
+        this.server  = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "fake-appium-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        LOG.info("Fake Appium server listening on {}", url());
+    }
+
+    /** Starts a server on a free loopback port. */
+    public static FakeAppiumServer start(FakeAppiumOptions options) {
+        try {
+            return new FakeAppiumServer(new FakeAppiumBackend(options), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start fake Appium server", e);
+        }
+    }
+
+    /**
+     * Returns the URLs of {@code count} JVM-wide servers configured from
+     * {@code -DfakeAppium.*} properties, starting any that are not running yet.
+     * Each server stands in for one device.
+     */
+    public static synchronized List<String> sharedEndpoints(int count) {
+        while (SHARED.size() < count) {
+            SHARED.add(start(FakeAppiumOptions.fromSystemProperties()));
+        }
+        return SHARED.subList(0, count).stream().map(FakeAppiumServer::url).toList();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FakeAppiumBackend backend() {
+        return backend;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // =========================================================================
+    // Request handling
+    // =========================================================================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith(LEGACY_BASE_PATH)) {
+                path = path.substring(LEGACY_BASE_PATH.length());
+            }
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+
+            try {
+                for (Route route : ROUTES) {
+                    Matcher m = route.pattern().matcher(path);
+                    if (route.method().equals(exchange.getRequestMethod()) && m.matches()) {
+                        Map<String, Object> params = readBody(exchange.getRequestBody());
+                        route.names().forEach(name -> params.put(name, m.group(name)));
+                        send(exchange, 200, Map.of("value", nullSafe(invoke(route.command(), params))));
+                        return;
+                    }
+                }
+                throw new UnsupportedCommandException(
+                        "The requested resource could not be found: " + exchange.getRequestMethod() + " " + path);
+            } catch (RuntimeException e) {
+                sendError(exchange, e);
+            }
+        }
+    }
+
+    private Object invoke(String command, Map<String, Object> params) {
+        return switch (command) {
+            case "status" -> Map.of("ready", true, "message", "Fake Appium server is ready",
+                                    "build", Map.of("version", "fake"));
+            case "newSession" -> backend.newSession(params);
+            default -> backend.execute((String) params.remove("sessionId"), command, params);
+        };
+    }
+
+    private static void sendError(HttpExchange exchange, RuntimeException e) throws IOException {
+        int status;
+        String error;
+        if (e instanceof InvalidSelectorException) {
+            status = 400; error = "invalid selector";
+        } else if (e instanceof NoSuchElementException) {
+            status = 404; error = "no such element";
+        } else if (e instanceof StaleElementReferenceException) {
+            status = 404; error = "stale element reference";
+        } else if (e instanceof NoAlertPresentException) {
+            status = 404; error = "no such alert";
+        } else if (e instanceof NoSuchWindowException) {
+            status = 404; error = "no such window";
+        } else if (e instanceof NoSuchSessionException) {
+            status = 404; error = "invalid session id";
+        } else if (e instanceof NotFoundException) {
+            status = 404; error = "no such context";
+        } else if (e instanceof UnsupportedCommandException) {
+            status = 404; error = "unknown command";
+        } else if (e instanceof ElementNotInteractableException) {
+            status = 400; error = "element not interactable";
+        } else if (e instanceof InvalidArgumentException) {
+            status = 400; error = "invalid argument";
+        } else {
+            status = 500; error = "unknown error";
+            LOG.warn("Fake Appium server error", e);
+        }
+
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("error", error);
+        value.put("message", firstLine(e.getMessage()));
+        value.put("stacktrace", "");
+        send(exchange, status, Map.of("value", value));
+    }
+
+    private static Map<String, Object> readBody(InputStream body) throws IOException {
+        byte[] bytes = body.readAllBytes();
+        if (bytes.length == 0) {
+            return new HashMap<>();
+        }
+        return JSON.readValue(bytes, new TypeReference<HashMap<String, Object>>() {});
+    }
+
+    private static void send(HttpExchange exchange, int status, Object payload) throws IOException {
+        byte[] bytes = JSON.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /** {@code Map.of} rejects nulls; W3C commands without a result return {@code "value": null}. */
+    private static Object nullSafe(Object value) {
+        return value == null ? JSON.nullNode() : value;
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    // -------------------------------------------------------------------------
+    // Routing table
+    // -------------------------------------------------------------------------
+
+    private record Route(String method, Pattern pattern, String command, List<String> names) {}
+
+    private static Route route(String method, String template, String command) {
+        List<String> names = new ArrayList<>();
+        Matcher m = Pattern.compile("\\{(\\w+)}").matcher(template);
+        StringBuilder regex = new StringBuilder();
+        int last = 0;
+        while (m.find()) {
+            regex.append(Pattern.quote(template.substring(last, m.start())))
+                 .append("(?<").append(m.group(1)).append(">[^/]+)");
+            names.add(m.group(1));
+            last = m.end();
+        }
+        regex.append(Pattern.quote(template.substring(last)));
+        return new Route(method, Pattern.compile(regex.toString()), command, List.copyOf(names));
+    }
+}
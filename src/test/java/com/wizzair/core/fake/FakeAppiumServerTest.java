@@ -0,0 +1,115 @@
+package com.wizzair.core.fake;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.driver.DriverFactory;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebElement;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The fake server as the framework's drivers see it: W3C routes, error codes and
+ * session lifecycle.
+ */
+class FakeAppiumServerTest {
+
+    private FakeAppiumServer server;
+
+    @BeforeEach
+    void startServer() {
+        server = FakeAppiumServer.start(new FakeAppiumOptions());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void answersStatusOnBothBasePaths() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        for (String path : new String[] {"/status", "/wd/hub/status"}) {
+            HttpResponse<String> response = http.send(
+                    HttpRequest.newBuilder(URI.create(server.url() + path)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).as(path).isEqualTo(200);
+            assertThat(response.body()).as(path).contains("\"ready\":true");
+        }
+    }
+
+    @Test
+    void drivesTheScriptedAppThroughTheFrameworksDriver() {
+        AppiumDriver driver = DriverFactory.createDriver(android());
+        try {
+            assertThat(server.backend().sessionCount()).isEqualTo(1);
+
+            driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+
+            assertThat(driver.findElements(AppiumBy.accessibilityId("Flight card"))).isNotEmpty();
+            assertThat(driver.getPageSource()).startsWith("<?xml").contains("Flight results list");
+        } finally {
+            driver.quit();
+        }
+        assertThat(server.backend().sessionCount()).isZero();
+    }
+
+    @Test
+    void reportsW3cErrorsAsSeleniumExceptions() {
+        AppiumDriver driver = DriverFactory.createDriver(android());
+        try {
+            assertThatThrownBy(() -> driver.findElement(AppiumBy.accessibilityId("No such button")))
+                    .isInstanceOf(NoSuchElementException.class);
+
+            WebElement search = driver.findElement(AppiumBy.accessibilityId("Search flights"));
+            search.click();
+            // The search screen is gone, so its handles are stale
+            assertThatThrownBy(search::click).hasMessageContaining("stale");
+        } finally {
+            driver.quit();
+        }
+        assertThatThrownBy(driver::getPageSource).isInstanceOf(NoSuchSessionException.class);
+    }
+
+    @Test
+    void servesIosPageSource() {
+        DeviceConfig ios = new DeviceConfig();
+        ios.setPlatform("ios");
+        ios.setPlatformVersion("17.0");
+        ios.setDeviceName("iPhone 15");
+        ios.setAutomationName("XCUITest");
+        ios.setBundleId("com.wizzair.WizzAirApp");
+        ios.setAppiumServerUrl(server.url());
+
+        AppiumDriver driver = DriverFactory.createDriver(ios);
+        try {
+            assertThat(driver.getPageSource()).contains("<AppiumAUT>", "XCUIElementTypeButton");
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private DeviceConfig android() {
+        DeviceConfig android = new DeviceConfig();
+        android.setPlatform("android");
+        android.setPlatformVersion("14");
+        android.setDeviceName("Pixel 7");
+        android.setAutomationName("UiAutomator2");
+        android.setAppPackage("com.wizzair.WizzAirApp");
+        android.setAppActivity(".activity.MainActivity");
+        android.setAppiumServerUrl(server.url());
+        return android;
+    }
+}
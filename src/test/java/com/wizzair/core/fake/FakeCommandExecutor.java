@@ -0,0 +1,79 @@
+package com.wizzair.core.fake;
+
+import com.wizzair.core.driver.InstrumentedCommandExecutor;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import io.appium.java_client.ios.IOSDriver;
+import io.appium.java_client.ios.options.XCUITestOptions;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * Command executor that hands commands straight to a {@link FakeAppiumBackend} in
+ * the same JVM – no HTTP, no JSON.
+ *
+ * <p>Extends {@link InstrumentedCommandExecutor}, so drivers built on it go through
+ * the same command timing as real runs; only the transport is replaced. Used by the
+ * JMH benchmarks to measure the framework's own CPU and allocation cost per operation.
+ */
+public class FakeCommandExecutor extends InstrumentedCommandExecutor {
+
+    private final FakeAppiumBackend backend;
+
+    public FakeCommandExecutor(FakeAppiumBackend backend) {
+        super(placeholderUrl());
+        this.backend = backend;
+    }
+
+    /** Creates an {@link AndroidDriver} backed by a new in-process fake app. */
+    public static AndroidDriver androidDriver(FakeAppiumOptions options) {
+        UiAutomator2Options caps = new UiAutomator2Options()
+                .setPlatformName("Android")
+                .setAppPackage("com.wizzair.WizzAirApp");
+        return new AndroidDriver(new FakeCommandExecutor(new FakeAppiumBackend(options)), caps);
+    }
+
+    /** Creates an {@link IOSDriver} backed by a new in-process fake app. */
+    public static IOSDriver iosDriver(FakeAppiumOptions options) {
+        XCUITestOptions caps = new XCUITestOptions()
+                .setPlatformName("iOS")
+                .setBundleId("com.wizzair.WizzAirApp");
+        return new IOSDriver(new FakeCommandExecutor(new FakeAppiumBackend(options)), caps);
+    }
+
+    /** Creates a driver for the given platform ({@code android} or {@code ios}). */
+    public static AppiumDriver driver(String platform, FakeAppiumOptions options) {
+        return "ios".equalsIgnoreCase(platform) ? iosDriver(options) : androidDriver(options);
+    }
+
+    @Override
+    protected Response dispatch(Command command) {
+        Response response = new Response();
+        if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+            Map<String, Object> session = backend.newSession(command.getParameters());
+            response.setSessionId((String) session.get("sessionId"));
+            response.setValue(session.get("capabilities"));
+        } else {
+            String sessionId = command.getSessionId().toString();
+            response.setSessionId(sessionId);
+            response.setValue(backend.execute(sessionId, command.getName(), command.getParameters()));
+        }
+        response.setState("success");
+        return response;
+    }
+
+    private static URL placeholderUrl() {
+        try {
+            // Never contacted: dispatch() bypasses the HTTP client
+            return new URL("http://127.0.0.1:4723");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
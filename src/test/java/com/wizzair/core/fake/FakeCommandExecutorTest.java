@@ -0,0 +1,33 @@
+package com.wizzair.core.fake;
+
+import com.wizzair.core.metrics.CommandMetrics;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-process driver the benchmarks run on: same scripted app, no HTTP, still timed.
+ */
+class FakeCommandExecutorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    @SuppressWarnings("unchecked")
+    void drivesTheFakeAppInProcessAndTimesEveryCommand(String platform) {
+        AppiumDriver driver = FakeCommandExecutor.driver(platform, new FakeAppiumOptions());
+        try {
+            driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+
+            assertThat(driver.findElements(AppiumBy.accessibilityId("Flight card"))).hasSize(5);
+            Map<String, Object> byCommand = (Map<String, Object>) CommandMetrics.report().get("byCommand");
+            assertThat(byCommand).containsKeys("newSession", "findElement", "clickElement", "findElements");
+        } finally {
+            driver.quit();
+        }
+    }
+}
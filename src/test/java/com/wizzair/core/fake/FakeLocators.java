@@ -0,0 +1,523 @@
+package com.wizzair.core.fake;
+
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locator strategies understood by the fake server.
+ *
+ * <p>Supports what the framework uses, not the full languages:
+ * <ul>
+ *   <li>{@code accessibility id}, {@code id}, {@code class name}, {@code tag name}</li>
+ *   <li>XPath: unions of {@code //tag[...]} steps with {@code @attr='v'}, {@code text()='v'},
+ *       {@code contains()} / {@code starts-with()} joined by {@code and} / {@code or}</li>
+ *   <li>CSS (WebView only): {@code tag[attr='v']}, {@code [attr^='v']}, {@code #id}, comma lists</li>
+ *   <li>{@code -android uiautomator}: {@code UiSelector} property chains and
+ *       {@code UiScrollable(...).scrollIntoView(...)}</li>
+ *   <li>{@code -ios predicate string}: comparisons, {@code IN}, {@code AND/OR/NOT}, parentheses</li>
+ * </ul>
+ * Anything else fails with {@link InvalidSelectorException}, as a real driver would for
+ * a malformed selector, so callers' fallback paths can be exercised.
+ */
+final class FakeLocators {
+
+    /** A parsed locator; {@code scrollIntoView} asks the server to scroll until it matches. */
+    record Locator(Predicate<FakeNode> matches, boolean scrollIntoView, int maxSwipes) {
+        static Locator of(Predicate<FakeNode> matches) {
+            return new Locator(matches, false, 0);
+        }
+    }
+
+    private static final int DEFAULT_MAX_SWIPES = 30;
+
+    private FakeLocators() {}
+
+    static Locator parse(String using, String value, FakePlatform platform, boolean webContext) {
+        if (webContext) {
+            return switch (using) {
+                case "css selector" -> Locator.of(css(value));
+                case "xpath"        -> Locator.of(xpath(value, platform));
+                case "tag name"     -> Locator.of(n -> value.equalsIgnoreCase(n.tag));
+                case "id"           -> Locator.of(n -> value.equals(n.domAttributes.get("id")));
+                default -> throw new InvalidSelectorException(
+                        "Locator strategy '" + using + "' is not supported in a WebView context");
+            };
+        }
+        return switch (using) {
+            case "accessibility id" -> Locator.of(n -> n.kind != FakeNode.Kind.DOM && value.equals(n.accessibility));
+            case "id" -> Locator.of(n -> platform == FakePlatform.IOS
+                    ? value.equals(n.accessibility)
+                    : value.equals(n.resourceId) || n.resourceId.endsWith(":id/" + value));
+            case "class name", "tag name" -> Locator.of(n -> value.equals(n.className(platform)));
+            case "xpath" -> Locator.of(xpath(value, platform));
+            case "-android uiautomator" -> {
+                requirePlatform(platform, FakePlatform.ANDROID, using);
+                yield new UiSelectorParser(value).parse();
+            }
+            case "-ios predicate string" -> {
+                requirePlatform(platform, FakePlatform.IOS, using);
+                yield Locator.of(predicate(value));
+            }
+            default -> throw new InvalidSelectorException(
+                    "Locator strategy '" + using + "' is not supported by the fake Appium server");
+        };
+    }
+
+    /** Parses an {@code NSPredicate} string (also used by {@code mobile: scroll}). */
+    static Predicate<FakeNode> predicate(String expression) {
+        return new PredicateParser(expression, FakePlatform.IOS).parse();
+    }
+
+    private static void requirePlatform(FakePlatform actual, FakePlatform expected, String using) {
+        if (actual != expected) {
+            throw new InvalidSelectorException("'" + using + "' is only available on " + expected);
+        }
+    }
+
+    // =========================================================================
+    // XPath subset
+    // =========================================================================
+
+    private static final Pattern XPATH_STEP = Pattern.compile("^\\.?//(\\*|[\\w.\\-]+)(?:\\[(.+)])?$");
+    private static final Pattern XPATH_ATOM = Pattern.compile(
+            "^(?:(contains|starts-with)\\(\\s*(@[\\w\\-]+|text\\(\\))\\s*,\\s*(['\"])(.*)\\3\\s*\\)"
+          + "|(@[\\w\\-]+|text\\(\\))\\s*=\\s*(['\"])(.*)\\6"
+          + "|(@[\\w\\-]+))$");
+
+    private static Predicate<FakeNode> xpath(String expression, FakePlatform platform) {
+        Predicate<FakeNode> union = n -> false;
+        for (String part : splitOutside(expression, "|")) {
+            Matcher m = XPATH_STEP.matcher(part.trim());
+            if (!m.matches()) {
+                throw new InvalidSelectorException("Unsupported XPath: " + expression);
+            }
+            String tag = m.group(1);
+            Predicate<FakeNode> step = "*".equals(tag) ? n -> true : n -> tag.equals(n.className(platform));
+            if (m.group(2) != null) {
+                step = step.and(xpathCondition(m.group(2), platform, expression));
+            }
+            union = union.or(step);
+        }
+        return union;
+    }
+
+    private static Predicate<FakeNode> xpathCondition(String condition, FakePlatform platform, String expression) {
+        Predicate<FakeNode> anyOf = n -> false;
+        for (String alternative : splitOutside(condition, " or ")) {
+            Predicate<FakeNode> allOf = n -> true;
+            for (String atom : splitOutside(alternative, " and ")) {
+                allOf = allOf.and(xpathAtom(atom.trim(), platform, expression));
+            }
+            anyOf = anyOf.or(allOf);
+        }
+        return anyOf;
+    }
+
+    private static Predicate<FakeNode> xpathAtom(String atom, FakePlatform platform, String expression) {
+        Matcher m = XPATH_ATOM.matcher(atom);
+        if (!m.matches()) {
+            throw new InvalidSelectorException("Unsupported XPath predicate '" + atom + "' in " + expression);
+        }
+        if (m.group(1) != null) {
+            String attr = xpathAttribute(m.group(2));
+            String value = m.group(4);
+            BiPredicate<String, String> op = "contains".equals(m.group(1)) ? String::contains : String::startsWith;
+            return n -> { String v = n.attribute(attr, platform); return v != null && op.test(v, value); };
+        }
+        if (m.group(5) != null) {
+            String attr = xpathAttribute(m.group(5));
+            String value = m.group(7);
+            return n -> value.equals(n.attribute(attr, platform));
+        }
+        String attr = xpathAttribute(m.group(8));
+        return n -> { String v = n.attribute(attr, platform); return v != null && !v.isEmpty(); };
+    }
+
+    private static String xpathAttribute(String token) {
+        return token.startsWith("@") ? token.substring(1) : "text";
+    }
+
+    // =========================================================================
+    // CSS subset (WebView DOM)
+    // =========================================================================
+
+    private static final Pattern CSS_SELECTOR = Pattern.compile("^([\\w-]*)((?:\\[[^]]+])*)$");
+    private static final Pattern CSS_ATTRIBUTE = Pattern.compile(
+            "\\[\\s*([\\w-]+)\\s*(?:([*^$]?=)\\s*(['\"]?)(.*?)\\3)?\\s*]");
+
+    private static Predicate<FakeNode> css(String selectorList) {
+        Predicate<FakeNode> union = n -> false;
+        for (String selector : splitOutside(selectorList, ",")) {
+            union = union.or(cssSelector(selector.trim(), selectorList));
+        }
+        return union;
+    }
+
+    private static Predicate<FakeNode> cssSelector(String selector, String selectorList) {
+        if (selector.startsWith("#")) {
+            String id = selector.substring(1);
+            return n -> id.equals(n.domAttributes.get("id"));
+        }
+        Matcher m = CSS_SELECTOR.matcher(selector);
+        if (!m.matches()) {
+            throw new InvalidSelectorException("Unsupported CSS selector: " + selectorList);
+        }
+        String tag = m.group(1);
+        Predicate<FakeNode> p = tag.isEmpty() ? n -> n.kind == FakeNode.Kind.DOM : n -> tag.equalsIgnoreCase(n.tag);
+        Matcher attrs = CSS_ATTRIBUTE.matcher(m.group(2));
+        while (attrs.find()) {
+            String name  = attrs.group(1);
+            String op    = attrs.group(2);
+            String value = attrs.group(4);
+            p = p.and(n -> {
+                String actual = "value".equals(name) ? n.text : n.domAttributes.get(name);
+                if (actual == null) return false;
+                if (op == null) return true;
+                return switch (op) {
+                    case "^=" -> actual.startsWith(value);
+                    case "$=" -> actual.endsWith(value);
+                    case "*=" -> actual.contains(value);
+                    default   -> actual.equals(value);
+                };
+            });
+        }
+        return p;
+    }
+
+    // =========================================================================
+    // UiAutomator UiSelector / UiScrollable subset
+    // =========================================================================
+
+    private static final class UiSelectorParser {
+
+        private static final String SELECTOR   = "new UiSelector()";
+        private static final String SCROLLABLE = "new UiScrollable(";
+
+        private final String source;
+        private int pos;
+
+        UiSelectorParser(String source) {
+            this.source = source;
+        }
+
+        Locator parse() {
+            skipSpaces();
+            if (source.startsWith(SCROLLABLE, pos)) {
+                pos += SCROLLABLE.length();
+                selector();                      // the scrollable container – there is only one list
+                expect(")");
+                Predicate<FakeNode> target = null;
+                int maxSwipes = DEFAULT_MAX_SWIPES;
+                while (peek('.')) {
+                    String method = method();
+                    switch (method) {
+                        case "scrollIntoView" -> target = selector();
+                        case "setMaxSearchSwipes" -> maxSwipes = Integer.parseInt(argument());
+                        case "setAsVerticalList" -> { }
+                        default -> throw invalid("UiScrollable." + method);
+                    }
+                    expect(")");
+                }
+                end();
+                if (target == null) {
+                    throw invalid("UiScrollable without scrollIntoView");
+                }
+                return new Locator(target, true, maxSwipes);
+            }
+            Predicate<FakeNode> selector = selector();
+            end();
+            return Locator.of(selector);
+        }
+
+        private Predicate<FakeNode> selector() {
+            skipSpaces();
+            if (!source.startsWith(SELECTOR, pos)) {
+                throw invalid("expected " + SELECTOR);
+            }
+            pos += SELECTOR.length();
+            Predicate<FakeNode> p = n -> n.kind != FakeNode.Kind.DOM;
+            while (peek('.')) {
+                String method = method();
+                String arg = argument();
+                expect(")");
+                p = p.and(property(method, arg));
+            }
+            return p;
+        }
+
+        private Predicate<FakeNode> property(String method, String arg) {
+            return switch (method) {
+                case "text"                  -> attr("text", arg::equals);
+                case "textContains"          -> attr("text", v -> v.contains(arg));
+                case "textStartsWith"        -> attr("text", v -> v.startsWith(arg));
+                case "textMatches"           -> attr("text", Pattern.compile(arg).asMatchPredicate());
+                case "description"           -> attr("content-desc", arg::equals);
+                case "descriptionContains"   -> attr("content-desc", v -> v.contains(arg));
+                case "descriptionStartsWith" -> attr("content-desc", v -> v.startsWith(arg));
+                case "descriptionMatches"    -> attr("content-desc", Pattern.compile(arg).asMatchPredicate());
+                case "className"             -> attr("class", arg::equals);
+                case "classNameMatches"      -> attr("class", Pattern.compile(arg).asMatchPredicate());
+                case "resourceId"            -> attr("resource-id", arg::equals);
+                case "resourceIdMatches"     -> attr("resource-id", Pattern.compile(arg).asMatchPredicate());
+                case "scrollable", "clickable", "enabled" -> attr(method, arg::equals);
+                default -> throw invalid("UiSelector." + method);
+            };
+        }
+
+        private static Predicate<FakeNode> attr(String name, Predicate<String> test) {
+            return n -> {
+                String v = n.attribute(name, FakePlatform.ANDROID);
+                return v != null && test.test(v);
+            };
+        }
+
+        private String method() {
+            expect(".");
+            int start = pos;
+            while (pos < source.length() && Character.isJavaIdentifierPart(source.charAt(pos))) {
+                pos++;
+            }
+            String name = source.substring(start, pos);
+            expect("(");
+            return name;
+        }
+
+        /** Reads a string literal (with Java escapes) or a bare token up to ')'. */
+        private String argument() {
+            skipSpaces();
+            if (pos < source.length() && source.charAt(pos) == '"') {
+                StringBuilder out = new StringBuilder();
+                pos++;
+                while (pos < source.length() && source.charAt(pos) != '"') {
+                    char c = source.charAt(pos++);
+                    if (c == '\\' && pos < source.length()) {
+                        c = source.charAt(pos++);
+                    }
+                    out.append(c);
+                }
+                expect("\"");
+                return out.toString();
+            }
+            int start = pos;
+            while (pos < source.length() && source.charAt(pos) != ')') {
+                pos++;
+            }
+            return source.substring(start, pos).trim();
+        }
+
+        private boolean peek(char c) {
+            skipSpaces();
+            return pos < source.length() && source.charAt(pos) == c;
+        }
+
+        private void expect(String token) {
+            skipSpaces();
+            if (!source.startsWith(token, pos)) {
+                throw invalid("expected '" + token + "' at " + pos);
+            }
+            pos += token.length();
+        }
+
+        private void end() {
+            skipSpaces();
+            if (pos < source.length() && source.charAt(pos) == ';') {
+                pos++;
+                skipSpaces();
+            }
+            if (pos != source.length()) {
+                throw invalid("unexpected input at " + pos);
+            }
+        }
+
+        private void skipSpaces() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private InvalidSelectorException invalid(String detail) {
+            return new InvalidSelectorException("Unsupported UiAutomator selector (" + detail + "): " + source);
+        }
+    }
+
+    // =========================================================================
+    // NSPredicate subset
+    // =========================================================================
+
+    private static final class PredicateParser {
+
+        private static final Pattern TOKEN = Pattern.compile(
+                "\\s*(==|!=|=|&&|\\|\\||[(){},!]|'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\""
+              + "|[A-Za-z_][\\w.]*(?:\\[[a-z]+])?|-?\\d+)");
+
+        private final String source;
+        private final FakePlatform platform;
+        private final List<String> tokens = new ArrayList<>();
+        private int pos;
+
+        PredicateParser(String source, FakePlatform platform) {
+            this.source   = source;
+            this.platform = platform;
+            Matcher m = TOKEN.matcher(source);
+            int end = 0;
+            while (m.lookingAt()) {
+                tokens.add(m.group(1));
+                end = m.end();
+                m.region(end, source.length());
+            }
+            if (!source.substring(end).isBlank()) {
+                throw invalid("cannot tokenize '" + source.substring(end).trim() + "'");
+            }
+        }
+
+        Predicate<FakeNode> parse() {
+            Predicate<FakeNode> p = or();
+            if (pos != tokens.size()) {
+                throw invalid("unexpected '" + tokens.get(pos) + "'");
+            }
+            return p;
+        }
+
+        private Predicate<FakeNode> or() {
+            Predicate<FakeNode> p = and();
+            while (accept("OR") || accept("||")) {
+                p = p.or(and());
+            }
+            return p;
+        }
+
+        private Predicate<FakeNode> and() {
+            Predicate<FakeNode> p = not();
+            while (accept("AND") || accept("&&")) {
+                p = p.and(not());
+            }
+            return p;
+        }
+
+        private Predicate<FakeNode> not() {
+            if (accept("NOT") || accept("!")) {
+                return not().negate();
+            }
+            if (accept("(")) {
+                Predicate<FakeNode> p = or();
+                expect(")");
+                return p;
+            }
+            return comparison();
+        }
+
+        private Predicate<FakeNode> comparison() {
+            String attribute = next();
+            String operator  = next();
+            boolean ignoreCase = operator.endsWith("[c]");
+            String op = operator.replaceAll("\\[[a-z]+]$", "").toUpperCase(Locale.ROOT);
+
+            if ("IN".equals(op)) {
+                Set<String> values = new HashSet<>();
+                expect("{");
+                do {
+                    values.add(normalise(literal(next()), ignoreCase));
+                } while (accept(","));
+                expect("}");
+                return n -> values.contains(normalise(value(n, attribute), ignoreCase));
+            }
+
+            String expected = normalise(literal(next()), ignoreCase);
+            BiPredicate<String, String> test = switch (op) {
+                case "==", "=", "LIKE" -> String::equals;
+                case "!="              -> (a, b) -> !a.equals(b);
+                case "CONTAINS"        -> String::contains;
+                case "BEGINSWITH"      -> String::startsWith;
+                case "ENDSWITH"        -> String::endsWith;
+                case "MATCHES"         -> (a, b) -> a.matches(b);
+                default -> throw invalid("operator " + operator);
+            };
+            return n -> test.test(normalise(value(n, attribute), ignoreCase), expected);
+        }
+
+        private String value(FakeNode node, String attribute) {
+            String v = node.attribute(attribute, platform);
+            return v == null ? "" : v;
+        }
+
+        private static String normalise(String value, boolean ignoreCase) {
+            String v = switch (value) {
+                case "1", "YES", "TRUE" -> "true";
+                case "0", "NO", "FALSE" -> "false";
+                default -> value;
+            };
+            return ignoreCase ? v.toLowerCase(Locale.ROOT) : v;
+        }
+
+        private String literal(String token) {
+            if (token.length() >= 2 && (token.startsWith("'") || token.startsWith("\""))) {
+                return token.substring(1, token.length() - 1).replaceAll("\\\\(.)", "$1");
+            }
+            return token.toUpperCase(Locale.ROOT).equals(token) ? token : token.toLowerCase(Locale.ROOT);
+        }
+
+        private boolean accept(String token) {
+            if (pos < tokens.size() && tokens.get(pos).equalsIgnoreCase(token)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw invalid("expected '" + token + "'");
+            }
+        }
+
+        private String next() {
+            if (pos >= tokens.size()) {
+                throw invalid("unexpected end of predicate");
+            }
+            return tokens.get(pos++);
+        }
+
+        private InvalidSelectorException invalid(String detail) {
+            return new InvalidSelectorException("Unsupported predicate (" + detail + "): " + source);
+        }
+    }
+
+    // =========================================================================
+    // Helpers
+    // =========================================================================
+
+    /** Splits on a separator that is not inside quotes or brackets. */
+    private static List<String> splitOutside(String s, String separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (depth == 0 && s.startsWith(separator, i)) {
+                parts.add(s.substring(start, i));
+                start = i + separator.length();
+                i = start - 1;
+            }
+        }
+        parts.add(s.substring(start));
+        return parts;
+    }
+}
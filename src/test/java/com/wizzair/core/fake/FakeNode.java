@@ -0,0 +1,142 @@
+package com.wizzair.core.fake;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One element of the fake app's UI tree (native or WebView DOM).
+ *
+ * <p>Attributes are stored under platform-neutral keys and mapped to the
+ * UiAutomator2 / XCUITest / DOM attribute names on read, so one scripted
+ * screen serves both platforms.
+ */
+final class FakeNode {
+
+    /** Platform-neutral element kinds. */
+    enum Kind {
+        GROUP("android.view.ViewGroup", "XCUIElementTypeOther"),
+        TEXT("android.widget.TextView", "XCUIElementTypeStaticText"),
+        INPUT("android.widget.EditText", "XCUIElementTypeTextField"),
+        BUTTON("android.widget.Button", "XCUIElementTypeButton"),
+        LIST("androidx.recyclerview.widget.RecyclerView", "XCUIElementTypeCollectionView"),
+        CELL("android.view.ViewGroup", "XCUIElementTypeCell"),
+        ALERT("android.widget.FrameLayout", "XCUIElementTypeAlert"),
+        WEBVIEW("android.webkit.WebView", "XCUIElementTypeWebView"),
+        ROOT("android.widget.FrameLayout", "XCUIElementTypeApplication"),
+        /** WebView DOM element – tag name held in {@link #tag}. */
+        DOM("", "");
+
+        final String androidClass;
+        final String iosType;
+
+        Kind(String androidClass, String iosType) {
+            this.androidClass = androidClass;
+            this.iosType      = iosType;
+        }
+    }
+
+    final String id;
+    final Kind   kind;
+    final List<FakeNode> children = new ArrayList<>();
+    final Map<String, String> domAttributes = new LinkedHashMap<>();
+
+    FakeNode parent;
+    String  tag = "";
+    String  accessibility = "";
+    String  text = "";
+    String  resourceId = "";
+    boolean displayed = true;
+    boolean enabled = true;
+    Consumer<FakeNode> onClick;
+
+    FakeNode(String id, Kind kind) {
+        this.id   = id;
+        this.kind = kind;
+    }
+
+    FakeNode accessibility(String value) { this.accessibility = value; return this; }
+    FakeNode text(String value)          { this.text = value; return this; }
+    FakeNode resourceId(String value)    { this.resourceId = value; return this; }
+    FakeNode onClick(Consumer<FakeNode> action) { this.onClick = action; return this; }
+
+    FakeNode dom(String tagName, String attr, String value) {
+        this.tag = tagName;
+        domAttributes.put(attr, value);
+        return this;
+    }
+
+    FakeNode add(FakeNode child) {
+        child.parent = this;
+        children.add(child);
+        return this;
+    }
+
+    void replaceChildren(List<FakeNode> newChildren) {
+        children.forEach(c -> c.parent = null);
+        children.clear();
+        newChildren.forEach(this::add);
+    }
+
+    boolean isEditable() {
+        return kind == Kind.INPUT || (kind == Kind.DOM && "input".equals(tag));
+    }
+
+    /** Class / type / tag name for the given platform. */
+    String className(FakePlatform platform) {
+        if (kind == Kind.DOM) {
+            return tag;
+        }
+        return platform == FakePlatform.IOS ? kind.iosType : kind.androidClass;
+    }
+
+    /**
+     * Returns an attribute by its platform-specific name
+     * ({@code content-desc}, {@code name}, {@code label}, {@code data-cy}, ...).
+     */
+    String attribute(String name, FakePlatform platform) {
+        if (kind == Kind.DOM) {
+            return switch (name) {
+                case "value"   -> text;
+                case "tagName" -> tag;
+                default        -> domAttributes.get(name);
+            };
+        }
+        return switch (name) {
+            case "content-desc", "name", "contentDescription" -> accessibility;
+            case "text"        -> platform == FakePlatform.IOS && !text.isEmpty() ? text
+                                : platform == FakePlatform.IOS ? accessibility : text;
+            case "label"       -> text.isEmpty() || kind == Kind.INPUT ? accessibility : text;
+            case "value"       -> text;
+            case "resource-id" -> resourceId;
+            case "class", "type" -> className(platform);
+            case "displayed", "visible" -> String.valueOf(displayed);
+            case "enabled"     -> String.valueOf(enabled);
+            case "scrollable"  -> String.valueOf(kind == Kind.LIST);
+            case "clickable"   -> String.valueOf(onClick != null);
+            default            -> null;
+        };
+    }
+
+    /** Visible text as returned by {@code getText()}. */
+    String visibleText(FakePlatform platform) {
+        if (kind == Kind.DOM) {
+            return text;
+        }
+        return platform == FakePlatform.IOS && text.isEmpty() ? accessibility : text;
+    }
+
+    /** All nodes of this subtree in document order. */
+    List<FakeNode> descendantsAndSelf() {
+        List<FakeNode> out = new ArrayList<>();
+        collect(this, out);
+        return out;
+    }
+
+    private static void collect(FakeNode node, List<FakeNode> out) {
+        out.add(node);
+        node.children.forEach(c -> collect(c, out));
+    }
+}
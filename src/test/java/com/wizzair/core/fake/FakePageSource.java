@@ -0,0 +1,154 @@
+package com.wizzair.core.fake;
+
+import java.util.Map;
+
+/**
+ * Renders the fake UI tree the way the real drivers do: UiAutomator2 hierarchy XML,
+ * XCUITest {@code AppiumAUT} XML, or WebView HTML.
+ */
+final class FakePageSource {
+
+    static final int ANDROID_WIDTH  = 1080;
+    static final int ANDROID_HEIGHT = 2400;
+    static final int IOS_WIDTH      = 390;
+    static final int IOS_HEIGHT     = 844;
+
+    private FakePageSource() {}
+
+    static String render(FakeNode root, FakePlatform platform, String appId) {
+        StringBuilder out = new StringBuilder();
+        if (platform == FakePlatform.IOS) {
+            out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<AppiumAUT>\n");
+            if (root != null) {
+                appendIos(out, root, 0, new int[] {0}, 1);
+            }
+            out.append("</AppiumAUT>\n");
+        } else {
+            out.append("<?xml version='1.0' encoding='UTF-8' standalone='yes' ?>\n")
+               .append("<hierarchy index=\"0\" class=\"hierarchy\" rotation=\"0\" width=\"")
+               .append(ANDROID_WIDTH).append("\" height=\"").append(ANDROID_HEIGHT).append("\">\n");
+            if (root != null) {
+                appendAndroid(out, root, 0, new int[] {0}, 1, appId);
+            }
+            out.append("</hierarchy>\n");
+        }
+        return out.toString();
+    }
+
+    static String renderHtml(FakeNode root) {
+        StringBuilder out = new StringBuilder("<!DOCTYPE html>\n");
+        appendHtml(out, root, 0);
+        return out.toString();
+    }
+
+    /** Element rectangle: nodes are laid out top to bottom in document order. */
+    static Map<String, Object> rect(FakeNode root, FakeNode node, FakePlatform platform) {
+        int order = root == null ? 0 : Math.max(0, root.descendantsAndSelf().indexOf(node));
+        return rectFor(order, platform, node);
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static void appendAndroid(StringBuilder out, FakeNode node, int index, int[] order,
+                                      int depth, String appId) {
+        Map<String, Object> r = rectFor(order[0]++, FakePlatform.ANDROID, node);
+        int x = (int) r.get("x"), y = (int) r.get("y"), w = (int) r.get("width"), h = (int) r.get("height");
+        String cls = node.className(FakePlatform.ANDROID);
+        indent(out, depth).append('<').append(cls)
+           .append(attr("index", String.valueOf(index)))
+           .append(attr("package", appId))
+           .append(attr("class", cls))
+           .append(attr("text", node.text))
+           .append(attr("content-desc", node.accessibility))
+           .append(attr("resource-id", node.resourceId))
+           .append(attr("checkable", "false"))
+           .append(attr("checked", "false"))
+           .append(attr("clickable", String.valueOf(node.onClick != null || node.isEditable())))
+           .append(attr("enabled", String.valueOf(node.enabled)))
+           .append(attr("focusable", String.valueOf(node.isEditable())))
+           .append(attr("focused", "false"))
+           .append(attr("long-clickable", "false"))
+           .append(attr("password", "false"))
+           .append(attr("scrollable", String.valueOf(node.kind == FakeNode.Kind.LIST)))
+           .append(attr("selected", "false"))
+           .append(attr("bounds", "[" + x + "," + y + "][" + (x + w) + "," + (y + h) + "]"))
+           .append(attr("displayed", String.valueOf(node.displayed)));
+        closeAndRecurse(out, node, depth, cls, (child, i) -> appendAndroid(out, child, i, order, depth + 1, appId));
+    }
+
+    private static void appendIos(StringBuilder out, FakeNode node, int index, int[] order, int depth) {
+        Map<String, Object> r = rectFor(order[0]++, FakePlatform.IOS, node);
+        String type = node.className(FakePlatform.IOS);
+        indent(out, depth).append('<').append(type)
+           .append(attr("type", type))
+           .append(attr("name", node.accessibility))
+           .append(attr("label", node.attribute("label", FakePlatform.IOS)))
+           .append(attr("value", node.text))
+           .append(attr("enabled", String.valueOf(node.enabled)))
+           .append(attr("visible", String.valueOf(node.displayed)))
+           .append(attr("accessible", String.valueOf(!node.accessibility.isEmpty())))
+           .append(attr("x", String.valueOf(r.get("x"))))
+           .append(attr("y", String.valueOf(r.get("y"))))
+           .append(attr("width", String.valueOf(r.get("width"))))
+           .append(attr("height", String.valueOf(r.get("height"))))
+           .append(attr("index", String.valueOf(index)));
+        closeAndRecurse(out, node, depth, type, (child, i) -> appendIos(out, child, i, order, depth + 1));
+    }
+
+    private static void appendHtml(StringBuilder out, FakeNode node, int depth) {
+        indent(out, depth).append('<').append(node.tag);
+        node.domAttributes.forEach((k, v) -> out.append(attr(k, v)));
+        if ("input".equals(node.tag)) {
+            out.append(attr("value", node.text)).append(">\n");
+            return;
+        }
+        out.append('>');
+        if (node.children.isEmpty()) {
+            out.append(escape(node.text)).append("</").append(node.tag).append(">\n");
+            return;
+        }
+        out.append('\n');
+        node.children.forEach(child -> appendHtml(out, child, depth + 1));
+        indent(out, depth).append("</").append(node.tag).append(">\n");
+    }
+
+    @FunctionalInterface
+    private interface ChildRenderer { void render(FakeNode child, int index); }
+
+    private static void closeAndRecurse(StringBuilder out, FakeNode node, int depth, String tag, ChildRenderer renderer) {
+        if (node.children.isEmpty()) {
+            out.append(" />\n");
+            return;
+        }
+        out.append(">\n");
+        for (int i = 0; i < node.children.size(); i++) {
+            renderer.render(node.children.get(i), i);
+        }
+        indent(out, depth).append("</").append(tag).append(">\n");
+    }
+
+    private static Map<String, Object> rectFor(int order, FakePlatform platform, FakeNode node) {
+        int width  = platform == FakePlatform.IOS ? IOS_WIDTH : ANDROID_WIDTH;
+        int height = platform == FakePlatform.IOS ? IOS_HEIGHT : ANDROID_HEIGHT;
+        int row    = platform == FakePlatform.IOS ? 44 : 120;
+        if (node.kind == FakeNode.Kind.ROOT) {
+            return Map.of("x", 0, "y", 0, "width", width, "height", height);
+        }
+        return Map.of("x", 0, "y", (order * row) % (height - row), "width", width, "height", row);
+    }
+
+    private static StringBuilder indent(StringBuilder out, int depth) {
+        return out.append("  ".repeat(depth));
+    }
+
+    private static String attr(String name, String value) {
+        return " " + name + "=\"" + escape(value == null ? "" : value) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                    .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+}
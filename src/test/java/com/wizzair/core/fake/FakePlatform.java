@@ -0,0 +1,13 @@
+package com.wizzair.core.fake;
+
+/**
+ * Platform flavour the fake server emulates: UiAutomator2 or XCUITest.
+ */
+enum FakePlatform {
+    ANDROID, IOS;
+
+    /** Resolves the platform from a {@code platformName} capability value. */
+    static FakePlatform of(Object platformName) {
+        return platformName != null && "ios".equalsIgnoreCase(platformName.toString()) ? IOS : ANDROID;
+    }
+}
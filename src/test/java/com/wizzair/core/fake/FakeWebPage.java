@@ -0,0 +1,167 @@
+package com.wizzair.core.fake;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The page loaded in the fake WebView, as far as {@code executeScript} can see it.
+ *
+ * <p>The fake cannot evaluate JavaScript, so it recognises the scripts the framework
+ * sends by their shape and runs their effect on the DOM:
+ * <ul>
+ *   <li>a fill script – {@code arguments[0]} a list of {@code [selector, value]} pairs –
+ *       sets each matching input and answers the value read back per selector,
+ *       {@code null} when nothing matches;</li>
+ *   <li>the {@code WebViewPerformance} start script records which selectors are already
+ *       interactive, and its capture script answers the Navigation Timing shape.</li>
+ * </ul>
+ * Any other script answers {@code null}. Timings are synthetic: navigation starts with
+ * the payment screen and the load ends when the WebView context appears. A selector
+ * that becomes interactive later is timed when the capture script looks, since the
+ * fake DOM has no mutation events.
+ */
+final class FakeWebPage {
+
+    static final String URL = "https://pay.wizzair.com/checkout";
+
+    private final FakeNode     root;
+    private final FakePlatform platform;
+    private final long         navigationStart;
+    private final long         loadMs;
+
+    // window.__wizzPerf
+    private Double               installedAt;
+    private List<String>         observed = List.of();
+    private final Set<String>    atStart  = new LinkedHashSet<>();
+    private final Map<String, Double> tti = new LinkedHashMap<>();
+
+    FakeWebPage(FakeNode root, FakePlatform platform, long navigationStart, long loadMs) {
+        this.root            = root;
+        this.platform        = platform;
+        this.navigationStart = navigationStart;
+        this.loadMs          = loadMs;
+    }
+
+    /** Runs a recognised script; {@code null} for any other. */
+    Object execute(String script, List<?> args) {
+        if (script.contains("__wizzPerf") && script.contains("MutationObserver")) {
+            return startObserving(args);
+        }
+        if (script.contains("getEntriesByType('navigation')")) {
+            return capture();
+        }
+        List<List<?>> pairs = pairs(args);
+        if (pairs != null && script.contains("querySelector") && script.contains(".value")) {
+            return fill(pairs);
+        }
+        return null;
+    }
+
+    // =========================================================================
+    // Scripts
+    // =========================================================================
+
+    private Map<String, Object> fill(List<List<?>> pairs) {
+        Map<String, Object> readBack = new LinkedHashMap<>();
+        for (List<?> pair : pairs) {
+            String selector = String.valueOf(pair.get(0));
+            FakeNode el = querySelector(selector);
+            if (el == null) {
+                readBack.put(selector, null);
+                continue;
+            }
+            if (el.isEditable()) {
+                el.text = String.valueOf(pair.get(1));
+            }
+            readBack.put(selector, el.attribute("value", platform));
+        }
+        return readBack;
+    }
+
+    private Object startObserving(List<?> args) {
+        if (installedAt == null) {
+            installedAt = now();
+        }
+        observed = args.isEmpty() ? List.of() : asStrings(args.get(0));
+        check(true);
+        return true;
+    }
+
+    private Map<String, Object> capture() {
+        check(false);
+        Map<String, Object> navigation = new LinkedHashMap<>();
+        navigation.put("ttfbMs", loadMs / 5.0);
+        navigation.put("domInteractiveMs", loadMs * 0.6);
+        navigation.put("domContentLoadedMs", loadMs * 0.7);
+        navigation.put("loadMs", (double) loadMs);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("url", URL);
+        data.put("navigation", navigation);
+        data.put("resources", List.of());
+        data.put("longTasks", List.of());
+        data.put("longTasksObserved", installedAt != null);
+        data.put("tti", new LinkedHashMap<>(tti));
+        data.put("interactiveAtStart", new ArrayList<>(atStart));
+        data.put("observedFromMs", installedAt);
+        return data;
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    /** {@code p.check}: notes each observed selector the first time it is interactive. */
+    private void check(boolean start) {
+        for (String selector : observed) {
+            if (tti.containsKey(selector) || atStart.contains(selector)) {
+                continue;
+            }
+            FakeNode el = querySelector(selector);
+            if (el != null && el.displayed && el.enabled) {
+                if (start) {
+                    atStart.add(selector);
+                } else {
+                    tti.put(selector, now());
+                }
+            }
+        }
+    }
+
+    private FakeNode querySelector(String selector) {
+        return root.descendantsAndSelf().stream()
+                .filter(FakeLocators.parse("css selector", selector, platform, true).matches())
+                .findFirst().orElse(null);
+    }
+
+    private double now() {
+        return (double) (System.currentTimeMillis() - navigationStart);
+    }
+
+    /** {@code arguments[0]} as {@code [selector, value]} pairs, or {@code null} if it is not. */
+    private static List<List<?>> pairs(List<?> args) {
+        if (args.isEmpty() || !(args.get(0) instanceof List<?> list)) {
+            return null;
+        }
+        List<List<?>> pairs = new ArrayList<>();
+        for (Object entry : list) {
+            if (!(entry instanceof List<?> pair) || pair.size() != 2) {
+                return null;
+            }
+            pairs.add(pair);
+        }
+        return pairs;
+    }
+
+    private static List<String> asStrings(Object value) {
+        List<String> out = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            list.forEach(v -> out.add(String.valueOf(v)));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,175 @@
+package com.wizzair.core.form;
+
+import com.wizzair.core.metrics.RunMetrics;
+import com.wizzair.core.snapshot.PageSnapshot;
+import com.wizzair.core.snapshot.SnapshotNode;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Fills several native text fields with as few commands as possible, and checks the
+ * result with one read.
+ *
+ * <ol>
+ *   <li>One {@link PageSnapshot} shows what every field holds; fields that already
+ *       have their value are skipped.</li>
+ *   <li>Each remaining field is set in one command: {@code mobile: replaceElementValue}
+ *       on Android (no tap, no keyboard), {@code clear} (only when not empty) plus
+ *       {@code sendKeys} on iOS.</li>
+ *   <li>A second snapshot verifies all values at once. A field the snapshot does not
+ *       show (e.g. its accessibility id is not exposed) is read from its element
+ *       instead.</li>
+ *   <li>Only fields that rejected the fast path or ended up with a different value are
+ *       typed again with the page's own typing routine, then verified once more.</li>
+ * </ol>
+ * A plain {@code tap + clear + sendKeys} per field with clickable waits costs about four
+ * round-trips per field plus keyboard animations.
+ */
+public final class FormFiller {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FormFiller.class);
+
+    private static final LongAdder FIELDS_SKIPPED  = new LongAdder();
+    private static final LongAdder FIELDS_BATCHED  = new LongAdder();
+    private static final LongAdder FIELDS_FALLBACK = new LongAdder();
+
+    static {
+        RunMetrics.register("formFill", FormFiller::stats);
+    }
+
+    /**
+     * One field to fill.
+     *
+     * @param accessibilityId the field's accessibility id, used to read it from a snapshot
+     * @param element         the field, e.g. a page-object proxy
+     * @param value           the value it must end up with
+     */
+    public record Field(String accessibilityId, WebElement element, String value) {}
+
+    private FormFiller() {}
+
+    /**
+     * Fills the fields and verifies them.
+     *
+     * @param fallback types one field the slow way, e.g. {@code BasePage::type}
+     * @throws IllegalStateException if a field still has a different value after the fallback
+     */
+    public static void fill(AppiumDriver driver, List<Field> fields, BiConsumer<WebElement, String> fallback) {
+        PageSnapshot before = PageSnapshot.current(driver);
+        List<Field> retry = new ArrayList<>();
+        for (Field field : fields) {
+            String current = valueOf(before, field);
+            if (Objects.equals(current, field.value())) {
+                FIELDS_SKIPPED.increment();
+                continue;
+            }
+            try {
+                set(driver, before.isAndroid(), field, current);
+                FIELDS_BATCHED.increment();
+            } catch (WebDriverException e) {
+                LOG.debug("Fast fill rejected for '{}': {}", field.accessibilityId(), e.getClass().getSimpleName());
+                retry.add(field);
+            }
+        }
+
+        List<Field> wrong = mismatches(PageSnapshot.capture(driver), fields);
+        wrong.stream().filter(f -> !retry.contains(f)).forEach(retry::add);
+        if (retry.isEmpty()) {
+            return;
+        }
+
+        LOG.info("Typing {} field(s) one by one: {}", retry.size(),
+                retry.stream().map(Field::accessibilityId).toList());
+        for (Field field : retry) {
+            fallback.accept(field.element(), field.value());
+            FIELDS_FALLBACK.increment();
+        }
+        List<Field> stillWrong = mismatches(PageSnapshot.capture(driver), retry);
+        if (!stillWrong.isEmpty()) {
+            throw new IllegalStateException("Fields do not hold the expected value: "
+                    + stillWrong.stream().map(Field::accessibilityId).toList());
+        }
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    private static void set(AppiumDriver driver, boolean android, Field field, String current) {
+        if (android) {
+            driver.executeScript("mobile: replaceElementValue",
+                    Map.of("elementId", elementId(field.element()), "text", field.value()));
+            return;
+        }
+        // Clear unless the field is known to be empty
+        if (current == null || !current.isEmpty()) {
+            field.element().clear();
+        }
+        field.element().sendKeys(field.value());
+    }
+
+    private static List<Field> mismatches(PageSnapshot snapshot, List<Field> fields) {
+        return fields.stream()
+                .filter(f -> !Objects.equals(verifiedValue(snapshot, f), f.value()))
+                .toList();
+    }
+
+    /**
+     * The field's content from the snapshot, or read from its element when the snapshot
+     * does not show it; {@code null} if neither works.
+     */
+    private static String verifiedValue(PageSnapshot snapshot, Field field) {
+        String value = valueOf(snapshot, field);
+        if (value != null) {
+            return value;
+        }
+        try {
+            return field.element().getText();
+        } catch (WebDriverException e) {
+            LOG.debug("Could not read '{}': {}", field.accessibilityId(), e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    /** The field's content, or {@code null} if the snapshot does not show it. */
+    private static String valueOf(PageSnapshot snapshot, Field field) {
+        List<SnapshotNode> nodes = snapshot.byAccessibilityId(field.accessibilityId());
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        String value = nodes.get(0).inputValue();
+        return value == null ? "" : value;
+    }
+
+    private static String elementId(WebElement element) {
+        WebElement unwrapped = element;
+        while (unwrapped instanceof WrapsElement wrapper) {
+            unwrapped = wrapper.getWrappedElement();
+        }
+        if (unwrapped instanceof RemoteWebElement remote) {
+            return remote.getId();
+        }
+        throw new IllegalArgumentException("Not a remote element: " + element);
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("fieldsAlreadySet", FIELDS_SKIPPED.sum());
+        stats.put("fieldsSetInOneCommand", FIELDS_BATCHED.sum());
+        stats.put("fieldsTypedAsFallback", FIELDS_FALLBACK.sum());
+        return stats;
+    }
+}
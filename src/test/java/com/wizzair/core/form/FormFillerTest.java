@@ -0,0 +1,132 @@
+package com.wizzair.core.form;
+
+import com.wizzair.core.driver.InstrumentedCommandExecutor;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Filling the fake app's passenger form, on both platforms.
+ */
+class FormFillerTest {
+
+    private AppiumDriver driver;
+    private final List<String> typedByFallback = new ArrayList<>();
+
+    @AfterEach
+    void quit() {
+        driver.quit();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void setsEachFieldInOneCommand(String platform) {
+        openBooking(platform);
+        long mutations = mutations();
+
+        FormFiller.fill(driver, passenger("Anna", "Kovacs"), recordingFallback());
+
+        assertThat(mutations() - mutations).isEqualTo(2);
+        assertThat(typedByFallback).isEmpty();
+        assertThat(FormState.of(PageSnapshot.capture(driver)).values())
+                .containsEntry("First name", "Anna")
+                .containsEntry("Last name", "Kovacs");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void fieldsThatAlreadyHoldTheirValueAreSkipped(String platform) {
+        openBooking(platform);
+        field("First name").sendKeys("Anna");
+        long mutations = mutations();
+
+        FormFiller.fill(driver, passenger("Anna", "Kovacs"), recordingFallback());
+
+        assertThat(mutations() - mutations).isEqualTo(1);
+        assertThat(FormState.of(PageSnapshot.capture(driver)).value("First name")).isEqualTo("Anna");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void fieldTheSnapshotDoesNotShowIsVerifiedOnItsElement(String platform) {
+        openBooking(platform);
+        // No node carries this id, so the snapshot cannot confirm the value
+        List<FormFiller.Field> fields = List.of(new FormFiller.Field("Given name", field("First name"), "Anna"));
+
+        FormFiller.fill(driver, fields, recordingFallback());
+
+        assertThat(typedByFallback).isEmpty();
+        assertThat(FormState.of(PageSnapshot.capture(driver)).value("First name")).isEqualTo("Anna");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void fieldThatIsWrongAfterTheFastPathIsTypedAgain(String platform) {
+        openBooking(platform);
+        // The fast path writes into the wrong element; the fallback types into the right one
+        List<FormFiller.Field> fields = List.of(new FormFiller.Field("Email", field("Phone number"), "anna@example.com"));
+
+        FormFiller.fill(driver, fields, (element, value) -> {
+            typedByFallback.add(value);
+            field("Email").sendKeys(value);
+        });
+
+        assertThat(typedByFallback).containsExactly("anna@example.com");
+        assertThat(FormState.of(PageSnapshot.capture(driver)).value("Email")).isEqualTo("anna@example.com");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void fieldStillWrongAfterTheFallbackFails(String platform) {
+        openBooking(platform);
+        List<FormFiller.Field> fields = List.of(new FormFiller.Field("Email", field("Phone number"), "anna@example.com"));
+
+        assertThatThrownBy(() -> FormFiller.fill(driver, fields, recordingFallback()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[Email]");
+    }
+
+    // ---- Helpers
+
+    private void openBooking(String platform) {
+        driver = FakeCommandExecutor.driver(platform, new FakeAppiumOptions());
+        driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+        driver.findElements(AppiumBy.accessibilityId("Flight card")).get(0).click();
+    }
+
+    private List<FormFiller.Field> passenger(String firstName, String lastName) {
+        return List.of(
+                new FormFiller.Field("First name", field("First name"), firstName),
+                new FormFiller.Field("Last name", field("Last name"), lastName));
+    }
+
+    private WebElement field(String accessibilityId) {
+        return driver.findElement(AppiumBy.accessibilityId(accessibilityId));
+    }
+
+    /** Types like a page would, and records the value. */
+    private BiConsumer<WebElement, String> recordingFallback() {
+        return (element, value) -> {
+            typedByFallback.add(value);
+            element.clear();
+            element.sendKeys(value);
+        };
+    }
+
+    private long mutations() {
+        return ((InstrumentedCommandExecutor) driver.getCommandExecutor()).mutationCount();
+    }
+}
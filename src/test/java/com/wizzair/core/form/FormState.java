@@ -0,0 +1,119 @@
+package com.wizzair.core.form;
+
+import com.wizzair.core.snapshot.PageSnapshot;
+import com.wizzair.core.snapshot.SnapshotNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The values of every text input on a screen, read from one {@link PageSnapshot}.
+ *
+ * <p>Reading fields one by one with {@code getAttribute("text")} costs a round-trip
+ * per field. A form state costs one page-source fetch however many inputs the screen
+ * has, and two states can be compared locally:
+ * <pre>
+ *   FormState before = page.formState();
+ *   AppStateHelper.backgroundApp(30);
+ *   FormState.Diff lost = before.diff(page.formState());
+ * </pre>
+ * Inputs are keyed by accessibility id, then resource id, then class and position.
+ */
+public final class FormState {
+
+    private static final Set<String> INPUT_CLASSES = Set.of(
+            "android.widget.EditText",
+            "android.widget.AutoCompleteTextView",
+            "XCUIElementTypeTextField",
+            "XCUIElementTypeSecureTextField",
+            "XCUIElementTypeSearchField",
+            "XCUIElementTypeTextView");
+
+    /** One input whose value differs; {@code null} means the input was not on screen. */
+    public record Change(String field, String before, String after) {
+
+        @Override
+        public String toString() {
+            return field + ": " + describe(before) + " -> " + describe(after);
+        }
+
+        private static String describe(String value) {
+            return value == null ? "<absent>" : "'" + value + "'";
+        }
+    }
+
+    /** Differences between two form states, in screen order. */
+    public record Diff(List<Change> changes) {
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return changes.isEmpty() ? "no changes"
+                    : changes.stream().map(Change::toString).collect(Collectors.joining(", "));
+        }
+    }
+
+    private final Map<String, String> values;
+
+    private FormState(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /** Reads the inputs of a snapshot; no driver call. */
+    public static FormState of(PageSnapshot snapshot) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, Integer> unnamed = new LinkedHashMap<>();
+        for (SnapshotNode input : snapshot.find(node -> INPUT_CLASSES.contains(node.className()))) {
+            String key = input.accessibilityId() != null ? input.accessibilityId() : input.resourceId();
+            if (key == null) {
+                int ordinal = unnamed.merge(input.className(), 1, Integer::sum);
+                key = input.className() + "[" + ordinal + "]";
+            }
+            String value = input.inputValue();
+            values.putIfAbsent(key, value == null ? "" : value);
+        }
+        return new FormState(values);
+    }
+
+    /**
+     * The input's value ({@code ""} when empty), or {@code null} if the screen had no such input.
+     */
+    public String value(String field) {
+        return values.get(field);
+    }
+
+    /** Inputs and their values, in screen order. */
+    public Map<String, String> values() {
+        return values;
+    }
+
+    /** What changed from this state to {@code after}, including inputs that appeared or went away. */
+    public Diff diff(FormState after) {
+        Set<String> fields = new LinkedHashSet<>(values.keySet());
+        fields.addAll(after.values.keySet());
+        List<Change> changes = new ArrayList<>();
+        for (String field : fields) {
+            String before = values.get(field);
+            String now    = after.values.get(field);
+            if (!Objects.equals(before, now)) {
+                changes.add(new Change(field, before, now));
+            }
+        }
+        return new Diff(List.copyOf(changes));
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package com.wizzair.core.form;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.driver.DriverFactory;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeAppiumServer;
+import com.wizzair.core.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link FormState} read from the fake app's passenger-details form, on both platforms.
+ */
+class FormStateTest {
+
+    private static final List<String> PASSENGER_FIELDS = List.of("First name", "Last name", "Email", "Phone number");
+
+    private static FakeAppiumServer server;
+
+    private AppiumDriver driver;
+
+    @BeforeAll
+    static void startServer() {
+        server = FakeAppiumServer.start(new FakeAppiumOptions());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @AfterEach
+    void quit() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void readsEveryInputOfTheScreen(String platform) {
+        openBooking(platform);
+
+        FormState state = FormState.of(PageSnapshot.capture(driver));
+
+        assertThat(state.values()).containsOnlyKeys(PASSENGER_FIELDS);
+        assertThat(state.values().keySet()).containsExactlyElementsOf(PASSENGER_FIELDS);
+        assertThat(state.value("First name")).isEmpty();
+        assertThat(state.value("Passport number")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void diffListsOnlyTheInputsThatChanged(String platform) {
+        openBooking(platform);
+        FormState before = FormState.of(PageSnapshot.capture(driver));
+
+        driver.findElement(AppiumBy.accessibilityId("First name")).sendKeys("Anna");
+        driver.findElement(AppiumBy.accessibilityId("Email")).sendKeys("anna@example.com");
+        FormState after = FormState.of(PageSnapshot.capture(driver));
+
+        assertThat(after.value("First name")).isEqualTo("Anna");
+        assertThat(before.diff(after).changes()).containsExactly(
+                new FormState.Change("First name", "", "Anna"),
+                new FormState.Change("Email", "", "anna@example.com"));
+        assertThat(after.diff(after).isEmpty()).isTrue();
+        assertThat(after.diff(before)).hasToString(
+                "First name: 'Anna' -> '', Email: 'anna@example.com' -> ''");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void inputsThatLeaveTheScreenAreReportedAsAbsent(String platform) {
+        openBooking(platform);
+        driver.findElement(AppiumBy.accessibilityId("Last name")).sendKeys("Kovacs");
+        FormState booking = FormState.of(PageSnapshot.capture(driver));
+
+        InteractsWithApps apps = (InteractsWithApps) driver;
+        apps.terminateApp("com.wizzair.WizzAirApp");
+        apps.activateApp("com.wizzair.WizzAirApp");
+        FormState relaunched = FormState.of(PageSnapshot.capture(driver));
+
+        // The search screen's airport inputs appear, the passenger inputs are gone
+        FormState.Diff lost = booking.diff(relaunched);
+        assertThat(lost.changes()).contains(
+                new FormState.Change("Last name", "Kovacs", null),
+                new FormState.Change("Origin airport", null, ""));
+        assertThat(lost.toString()).contains("Last name: 'Kovacs' -> <absent>");
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private void openBooking(String platform) {
+        DeviceConfig device = new DeviceConfig();
+        device.setPlatform(platform);
+        device.setPlatformVersion(platform.equals("ios") ? "17.0" : "14");
+        device.setDeviceName("Fake Device");
+        device.setAppiumServerUrl(server.url());
+        if (platform.equals("ios")) {
+            device.setAutomationName("XCUITest");
+            device.setBundleId("com.wizzair.WizzAirApp");
+        } else {
+            device.setAutomationName("UiAutomator2");
+            device.setAppPackage("com.wizzair.WizzAirApp");
+            device.setAppActivity(".activity.MainActivity");
+        }
+        driver = DriverFactory.createDriver(device);
+        driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+        driver.findElements(AppiumBy.accessibilityId("Flight card")).get(0).click();
+    }
+}
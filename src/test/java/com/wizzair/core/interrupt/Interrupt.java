@@ -0,0 +1,15 @@
+package com.wizzair.core.interrupt;
+
+import com.wizzair.core.snapshot.PageSnapshot;
+
+import java.util.function.Predicate;
+
+/**
+ * Something the app may put in front of the screen under test at any time – a
+ * permission dialog, a price-change modal – and how to get rid of it.
+ *
+ * @param name     unique key, used for suspending and in the metrics
+ * @param detector local check against a page snapshot; must not send commands
+ * @param handler  dismisses the interrupt; runs on the scenario's thread with its driver
+ */
+public record Interrupt(String name, Predicate<PageSnapshot> detector, Runnable handler) {}
@@ -0,0 +1,164 @@
+package com.wizzair.core.interrupt;
+
+import com.wizzair.core.metrics.LatencyHistogram;
+import com.wizzair.core.metrics.RunMetrics;
+import com.wizzair.core.snapshot.PageSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of {@link Interrupt}s, so dialogs and modals that can pop up anywhere are
+ * handled in one place instead of by blocking checks inside every step.
+ *
+ * <p>Detection costs no round-trips of its own: detectors run against every
+ * {@link PageSnapshot} the framework captures anyway, and a hit is only remembered as
+ * pending (handling it there would make the caller's snapshot stale). Pending
+ * interrupts are dismissed by {@link #handlePending()}, which
+ * {@link com.wizzair.hooks.DriverHooks} calls before every step – a no-op when nothing
+ * was seen. Where an interrupt is likely, such as app launch or a deep link, callers
+ * handle it directly instead (e.g. {@code PermissionHandler.acceptAll}): one targeted
+ * lookup is cheaper than a page-source fetch.
+ *
+ * <p>Page objects and hooks register their interrupts once; scenarios that test an
+ * interrupt themselves can {@link #suspendForScenario(String) suspend} it.
+ */
+public final class InterruptRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InterruptRegistry.class);
+
+    /** Guarded by itself; registration order is the handling order. */
+    private static final Map<String, Interrupt> INTERRUPTS = new LinkedHashMap<>();
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Set<String>> PENDING   = ThreadLocal.withInitial(LinkedHashSet::new);
+    private static final ThreadLocal<Set<String>> SUSPENDED = ThreadLocal.withInitial(HashSet::new);
+
+    static {
+        PageSnapshot.onCapture(InterruptRegistry::inspect);
+        RunMetrics.register("interrupts", InterruptRegistry::report);
+    }
+
+    private InterruptRegistry() {}
+
+    /** Registers an interrupt, replacing any previous one with the same name. */
+    public static void register(Interrupt interrupt) {
+        synchronized (INTERRUPTS) {
+            INTERRUPTS.put(interrupt.name(), interrupt);
+        }
+        STATS.computeIfAbsent(interrupt.name(), k -> new Stats());
+    }
+
+    /** Leaves the named interrupt alone on this thread until {@link #resetScenario()}. */
+    public static void suspendForScenario(String name) {
+        SUSPENDED.get().add(name);
+        PENDING.get().remove(name);
+    }
+
+    /** Forgets pending and suspended interrupts; call when a scenario ends. */
+    public static void resetScenario() {
+        PENDING.remove();
+        SUSPENDED.remove();
+    }
+
+    // =========================================================================
+    // Detection and handling
+    // =========================================================================
+
+    /**
+     * Runs every active detector against the snapshot and marks hits as pending.
+     * Called for each captured snapshot; sends no commands.
+     */
+    public static void inspect(PageSnapshot snapshot) {
+        for (Interrupt interrupt : active()) {
+            try {
+                if (interrupt.detector().test(snapshot) && PENDING.get().add(interrupt.name())) {
+                    STATS.get(interrupt.name()).detected.increment();
+                    LOG.debug("Interrupt detected: {}", interrupt.name());
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Interrupt detector '{}' failed: {}", interrupt.name(), e.toString());
+            }
+        }
+    }
+
+    /**
+     * Dismisses the interrupts seen in earlier snapshots. No round-trips when none
+     * are pending.
+     *
+     * @return names of the interrupts handled
+     */
+    public static List<String> handlePending() {
+        Set<String> pending = PENDING.get();
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<String> handled = new ArrayList<>();
+        for (Interrupt interrupt : active()) {
+            if (pending.remove(interrupt.name())) {
+                run(interrupt);
+                handled.add(interrupt.name());
+            }
+        }
+        pending.clear();
+        return handled;
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    private static List<Interrupt> active() {
+        Set<String> suspended = SUSPENDED.get();
+        synchronized (INTERRUPTS) {
+            return INTERRUPTS.values().stream()
+                    .filter(i -> !suspended.contains(i.name()))
+                    .toList();
+        }
+    }
+
+    private static void run(Interrupt interrupt) {
+        LOG.info("Handling interrupt: {}", interrupt.name());
+        Stats stats = STATS.get(interrupt.name());
+        long start = System.nanoTime();
+        try {
+            interrupt.handler().run();
+            stats.handled.increment();
+        } catch (RuntimeException e) {
+            // The step that follows will fail on its own if the screen is still blocked
+            stats.failed.increment();
+            LOG.warn("Interrupt handler '{}' failed: {}", interrupt.name(), e.toString());
+        } finally {
+            stats.handlerLatency.recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    private static Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        STATS.forEach((name, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("detected", stats.detected.sum());
+            entry.put("handled", stats.handled.sum());
+            entry.put("failed", stats.failed.sum());
+            entry.put("handlerLatency", stats.handlerLatency.summary());
+            report.put(name, entry);
+        });
+        return report;
+    }
+
+    private static final class Stats {
+        final LongAdder detected = new LongAdder();
+        final LongAdder handled  = new LongAdder();
+        final LongAdder failed   = new LongAdder();
+        final LatencyHistogram handlerLatency = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,92 @@
+package com.wizzair.core.interrupt;
+
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Detection piggybacks on snapshots of the fake app; the interrupts here are the
+ * tests' own, so nothing is dismissed on the device. Registrations outlive a test,
+ * so each one only asserts on its own interrupt.
+ */
+class InterruptRegistryTest {
+
+    private AppiumDriver driver;
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @BeforeEach
+    void startDriver() {
+        driver = FakeCommandExecutor.androidDriver(new FakeAppiumOptions());
+    }
+
+    @AfterEach
+    void quitDriver() {
+        InterruptRegistry.resetScenario();
+        driver.quit();
+    }
+
+    @Test
+    void interruptSeenInASnapshotIsHandledOnce() {
+        InterruptRegistry.register(onScreen("results-once", "Flight card"));
+        assertThat(InterruptRegistry.handlePending()).doesNotContain("results-once");
+
+        driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+        PageSnapshot.capture(driver);
+
+        assertThat(InterruptRegistry.handlePending()).contains("results-once");
+        assertThat(InterruptRegistry.handlePending()).doesNotContain("results-once");
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    void snapshotWithoutTheInterruptLeavesNothingPending() {
+        InterruptRegistry.register(onScreen("results-absent", "Flight card"));
+
+        PageSnapshot.capture(driver);
+
+        assertThat(InterruptRegistry.handlePending()).doesNotContain("results-absent");
+        assertThat(handled).hasValue(0);
+    }
+
+    @Test
+    void suspendedInterruptIsLeftForTheScenario() {
+        InterruptRegistry.register(onScreen("search-suspended", "Search flights"));
+        InterruptRegistry.suspendForScenario("search-suspended");
+
+        PageSnapshot.capture(driver);
+        assertThat(InterruptRegistry.handlePending()).doesNotContain("search-suspended");
+
+        InterruptRegistry.resetScenario();
+        PageSnapshot.capture(driver);
+        assertThat(InterruptRegistry.handlePending()).contains("search-suspended");
+    }
+
+    @Test
+    void failingHandlerDoesNotFailTheCaller() {
+        InterruptRegistry.register(new Interrupt("search-failing",
+                snapshot -> !snapshot.byAccessibilityId("Search flights").isEmpty(),
+                () -> { throw new IllegalStateException("modal would not close"); }));
+
+        PageSnapshot.capture(driver);
+
+        assertThat(InterruptRegistry.handlePending()).contains("search-failing");
+    }
+
+    // ---- Helpers
+
+    /** Interrupt "shown" whenever an element with the id is on screen; counts its handling. */
+    private Interrupt onScreen(String name, String accessibilityId) {
+        return new Interrupt(name,
+                snapshot -> !snapshot.byAccessibilityId(accessibilityId).isEmpty(),
+                handled::incrementAndGet);
+    }
+}
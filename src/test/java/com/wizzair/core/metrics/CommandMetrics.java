@@ -0,0 +1,155 @@
+package com.wizzair.core.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Latency histograms for every WebDriver command, keyed by command name,
+ * calling page object (or helper) and the Cucumber step that was running.
+ *
+ * <p>Fed by {@link com.wizzair.core.driver.InstrumentedCommandExecutor}; the step comes
+ * from {@link StepTracker}, and the caller is the first stack frame outside
+ * {@code com.wizzair.core} and {@code BasePage}. At the end of the run
+ * {@link #logTables()} prints p50/p95/p99 tables and the full breakdown goes into
+ * {@link RunMetrics}.
+ */
+public final class CommandMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandMetrics.class);
+    private static final String FRAMEWORK_PACKAGE = "com.wizzair.";
+    private static final String CORE_PACKAGE      = "com.wizzair.core.";
+    /** Its tap/type/getText helpers run on behalf of the page subclass further up the stack. */
+    private static final String BASE_PAGE         = "com.wizzair.pages.common.BasePage";
+    private static final String NONE              = "(none)";
+    private static final int    TABLE_ROWS        = 15;
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final Map<Key, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    static {
+        RunMetrics.register("commandLatency", CommandMetrics::report);
+    }
+
+    private CommandMetrics() {}
+
+    /**
+     * Records one command round-trip for the current thread's step and caller.
+     *
+     * @param command command name, e.g. {@code findElement}
+     * @param nanos   wall-clock duration of the round-trip
+     */
+    public static void record(String command, long nanos) {
+        String step = StepTracker.currentStep();
+        Key key = new Key(command, callerComponent(), step != null ? step : NONE);
+        HISTOGRAMS.computeIfAbsent(key, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    // -------------------------------------------------------------------------
+    // Reporting
+    // -------------------------------------------------------------------------
+
+    /** Logs the slowest commands, pages and steps by total time spent. */
+    public static void logTables() {
+        if (HISTOGRAMS.isEmpty()) {
+            return;
+        }
+        logTable("command", rollUp(Key::command));
+        logTable("page object", rollUp(Key::page));
+        logTable("step", rollUp(Key::step));
+    }
+
+    /** Returns the full breakdown as a JSON-friendly map. */
+    public static Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("byCommand", summaries(rollUp(Key::command)));
+        report.put("byPage", summaries(rollUp(Key::page)));
+        report.put("byStep", summaries(rollUp(Key::step)));
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        HISTOGRAMS.forEach((key, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("command", key.command());
+            entry.put("page", key.page());
+            entry.put("step", key.step());
+            entry.putAll(histogram.summary());
+            entries.add(entry);
+        });
+        report.put("entries", entries);
+        return report;
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    private static Map<String, LatencyHistogram> rollUp(Function<Key, String> dimension) {
+        Map<String, LatencyHistogram> rolled = new LinkedHashMap<>();
+        HISTOGRAMS.forEach((key, histogram) ->
+            rolled.computeIfAbsent(dimension.apply(key), k -> new LatencyHistogram()).merge(histogram));
+        return rolled;
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> rolled) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        sortedByTotal(rolled).forEach(e -> out.put(e.getKey(), e.getValue().summary()));
+        return out;
+    }
+
+    private static List<Map.Entry<String, LatencyHistogram>> sortedByTotal(Map<String, LatencyHistogram> rolled) {
+        List<Map.Entry<String, LatencyHistogram>> rows = new ArrayList<>(rolled.entrySet());
+        rows.sort(Comparator.comparingLong(
+            (Map.Entry<String, LatencyHistogram> e) -> e.getValue().totalMicros()).reversed());
+        return rows;
+    }
+
+    private static void logTable(String dimension, Map<String, LatencyHistogram> rolled) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%nCommand latency by %s (ms, top %d by total time)%n", dimension, TABLE_ROWS));
+        table.append(String.format("  %-60s %7s %9s %9s %9s %11s%n", dimension, "count", "p50", "p95", "p99", "total"));
+        sortedByTotal(rolled).stream().limit(TABLE_ROWS).forEach(e -> {
+            LatencyHistogram h = e.getValue();
+            table.append(String.format("  %-60s %7d %9.1f %9.1f %9.1f %11.1f%n",
+                    abbreviate(e.getKey(), 60), h.count(),
+                    LatencyHistogram.toMs(h.percentileMicros(50)),
+                    LatencyHistogram.toMs(h.percentileMicros(95)),
+                    LatencyHistogram.toMs(h.percentileMicros(99)),
+                    LatencyHistogram.toMs(h.totalMicros())));
+        });
+        LOG.info(table.toString());
+    }
+
+    /** Returns the simple name of the first caller outside the core framework packages and {@code BasePage}. */
+    private static String callerComponent() {
+        return WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getClassName)
+                .filter(name -> name.startsWith(FRAMEWORK_PACKAGE) && !name.startsWith(CORE_PACKAGE)
+                             && !isBasePage(name))
+                .findFirst()
+                .map(CommandMetrics::simpleName)
+                .orElse(NONE));
+    }
+
+    private static boolean isBasePage(String className) {
+        return className.equals(BASE_PAGE) || className.startsWith(BASE_PAGE + "$");
+    }
+
+    private static String simpleName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int inner = simple.indexOf('$');
+        return inner > 0 ? simple.substring(0, inner) : simple;
+    }
+
+    private static String abbreviate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max - 1) + "…";
+    }
+
+    private record Key(String command, String page, String step) {}
+}
@@ -0,0 +1,53 @@
+package com.wizzair.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandMetricsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rollsCommandsUpSlowestFirst() {
+        record("findElement", 2, 3);
+        record("getPageSource", 40);
+        record("findElement", 5);
+
+        Map<String, Object> report = CommandMetrics.report();
+        Map<String, Map<String, Object>> byCommand = (Map<String, Map<String, Object>>) report.get("byCommand");
+
+        // Histograms are run-wide, so other tests' commands may be listed too
+        assertThat(byCommand.keySet()).containsSubsequence("getPageSource", "findElement");
+        assertThat(byCommand.get("findElement"))
+                .containsEntry("count", 3L)
+                .containsEntry("totalMs", 10.0)
+                .containsEntry("maxMs", 5.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void commandsOutsideStepsAndPagesAreKeyedAsNone() {
+        record("clickElement", 1);
+
+        Map<String, Object> report = CommandMetrics.report();
+
+        // No Cucumber step is running, and every frame up the stack is test or core code
+        assertThat((Map<String, Object>) report.get("byStep")).containsKey("(none)");
+        assertThat((Map<String, Object>) report.get("byPage")).containsOnlyKeys("(none)");
+        assertThat((List<Map<String, Object>>) report.get("entries"))
+                .anySatisfy(entry -> assertThat(entry)
+                        .containsEntry("command", "clickElement")
+                        .containsEntry("page", "(none)")
+                        .containsEntry("step", "(none)"));
+    }
+
+    private static void record(String command, long... millis) {
+        for (long ms : millis) {
+            CommandMetrics.record(command, TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+    }
+}
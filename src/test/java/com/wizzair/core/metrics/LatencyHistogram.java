@@ -0,0 +1,121 @@
+package com.wizzair.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed-size latency histogram.
+ *
+ * <p>Values are recorded in microseconds into log-linear buckets: every power of two
+ * is split into 8 sub-buckets, so a reported percentile is at most ~12% above the
+ * true value. Recording is a couple of atomic increments – cheap enough to run on
+ * every WebDriver command.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS         = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder  count   = new LongAdder();
+    private final LongAdder  totalUs = new LongAdder();
+    private final AtomicLong maxUs   = new AtomicLong();
+
+    /** Records one observation given in nanoseconds. */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long v = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(v));
+        count.increment();
+        totalUs.add(v);
+        maxUs.accumulateAndGet(v, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalMicros() {
+        return totalUs.sum();
+    }
+
+    /** Adds every observation of {@code other} to this histogram. */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c > 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        count.add(other.count.sum());
+        totalUs.add(other.totalUs.sum());
+        maxUs.accumulateAndGet(other.maxUs.get(), Math::max);
+    }
+
+    /**
+     * Returns the upper bound, in microseconds, of the bucket holding the given
+     * percentile (0–100), or 0 when nothing was recorded.
+     */
+    public long percentileMicros(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxUs.get());
+            }
+        }
+        return maxUs.get();
+    }
+
+    /** Returns count / p50 / p95 / p99 / max / total with latencies in milliseconds. */
+    public Map<String, Object> summary() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("count", count());
+        out.put("p50Ms", toMs(percentileMicros(50)));
+        out.put("p95Ms", toMs(percentileMicros(95)));
+        out.put("p99Ms", toMs(percentileMicros(99)));
+        out.put("maxMs", toMs(maxUs.get()));
+        out.put("totalMs", toMs(totalMicros()));
+        return out;
+    }
+
+    static double toMs(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    // -------------------------------------------------------------------------
+    // Bucket maths
+    // -------------------------------------------------------------------------
+
+    static int indexOf(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int msb   = 63 - Long.numberOfLeadingZeros(v);
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub   = (int) (v >>> shift) & (SUB_BUCKETS - 1);
+        return ((shift + 1) << SUB_BUCKET_BITS) + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        int sub   = index & (SUB_BUCKETS - 1);
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.wizzair.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentileMicros(50)).isZero();
+        assertThat(histogram.summary())
+                .containsEntry("count", 0L)
+                .containsEntry("p99Ms", 0.0)
+                .containsEntry("maxMs", 0.0);
+    }
+
+    @Test
+    void everyValueFallsInABucketThatBoundsIt() {
+        long previous = -1;
+        for (long v = 0; v < 1_000_000; v += 1 + v / 50) {
+            int index = LatencyHistogram.indexOf(v);
+            long upper = LatencyHistogram.upperBoundOf(index);
+            assertThat(upper).as("upper bound of %d", v).isGreaterThanOrEqualTo(v);
+            // Log-linear buckets: at most 1/8 above the value
+            assertThat(upper - v).as("error for %d", v).isLessThanOrEqualTo(v / 8);
+            assertThat(index).as("bucket of %d", v).isGreaterThanOrEqualTo((int) previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    void percentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long ms = 1; ms <= 100; ms++) {
+            histogram.recordMicros(ms * 1000);
+        }
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.percentileMicros(50)).isBetween(50_000L, 50_000L * 9 / 8);
+        assertThat(histogram.percentileMicros(95)).isBetween(95_000L, 95_000L * 9 / 8);
+        // Never above the largest value actually seen
+        assertThat(histogram.percentileMicros(99.9)).isEqualTo(100_000L);
+        assertThat(histogram.percentileMicros(100)).isEqualTo(100_000L);
+    }
+
+    @Test
+    void recordsNanosAndClampsNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.recordMicros(-5);
+
+        assertThat(histogram.count()).isEqualTo(2);
+        assertThat(histogram.totalMicros()).isEqualTo(3000);
+        assertThat(histogram.percentileMicros(50)).isZero();
+    }
+
+    @Test
+    void mergeAddsTheOtherHistogramsObservations() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            fast.recordMicros(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            slow.recordMicros(200_000);
+        }
+
+        fast.merge(slow);
+
+        assertThat(fast.count()).isEqualTo(100);
+        assertThat(fast.totalMicros()).isEqualTo(90 * 1_000 + 10 * 200_000);
+        assertThat(fast.percentileMicros(50)).isBetween(1_000L, 1_125L);
+        assertThat(fast.percentileMicros(95)).isEqualTo(200_000L);
+        assertThat(slow.count()).isEqualTo(10);
+    }
+
+    @Test
+    void summaryIsInMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(12_340);
+
+        assertThat(histogram.summary())
+                .containsEntry("count", 1L)
+                .containsEntry("p50Ms", 12.3)
+                .containsEntry("maxMs", 12.3)
+                .containsEntry("totalMs", 12.3);
+    }
+
+    @Test
+    void concurrentRecordingLosesNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.recordMicros(i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(histogram.count()).isEqualTo(40_000);
+        assertThat(histogram.totalMicros()).isEqualTo(4L * (9_999L * 10_000 / 2));
+    }
+}
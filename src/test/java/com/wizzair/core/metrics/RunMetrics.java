@@ -0,0 +1,74 @@
+package com.wizzair.core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of per-run performance counters, written to a single JSON file at the
+ * end of the run.
+ *
+ * <p>Framework components register a named section once (e.g. the session pool or
+ * command latencies); {@link StepTracker} collects every section when the test run
+ * finishes and writes them to {@link #REPORT_FILE}.
+ */
+public final class RunMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RunMetrics.class);
+
+    public static final Path REPORT_FILE = Paths.get("target", "perf", "run-metrics.json");
+
+    /** Guarded by itself; insertion order is kept in the report. */
+    private static final Map<String, Supplier<?>> SECTIONS = new LinkedHashMap<>();
+
+    private RunMetrics() {}
+
+    /**
+     * Registers (or replaces) a report section. The supplier is only called when
+     * the report is written, so it should return a snapshot of live counters.
+     */
+    public static void register(String name, Supplier<?> section) {
+        synchronized (SECTIONS) {
+            SECTIONS.put(name, section);
+        }
+    }
+
+    /** Evaluates every registered section. */
+    public static Map<String, Object> collect() {
+        Map<String, Supplier<?>> sections;
+        synchronized (SECTIONS) {
+            sections = new LinkedHashMap<>(SECTIONS);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        sections.forEach((name, supplier) -> {
+            try {
+                report.put(name, supplier.get());
+            } catch (RuntimeException e) {
+                LOG.warn("Could not collect metrics section '{}': {}", name, e.getMessage());
+            }
+        });
+        return report;
+    }
+
+    /** Writes every section to {@link #REPORT_FILE}. */
+    public static void writeReport() {
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(REPORT_FILE.toFile(), collect());
+            LOG.info("Run metrics written to {}", REPORT_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("Failed to write run metrics to {}: {}", REPORT_FILE, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.wizzair.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-step counters for {@link com.wizzair.core.snapshot.PageSnapshot}: page-source
+ * captures, lookups answered locally and elements fetched back from the server.
+ *
+ * <p>Every local read stands for a round-trip the caller would otherwise have made: a
+ * query (index lookup or scan) for a {@code findElements}, and a node whose attributes
+ * are read for one element read, however many attributes {@code text()} or
+ * {@code mentions()} look at. The saving reported per step is those reads minus the
+ * round-trips the snapshot itself cost (one {@code getPageSource} per capture and one
+ * find per resolved element), so it never overstates the gain.
+ */
+public final class SnapshotMetrics {
+
+    private static final String NONE = "(none)";
+    private static final Map<String, Counters> BY_STEP = new ConcurrentHashMap<>();
+
+    static {
+        RunMetrics.register("pageSnapshots", SnapshotMetrics::report);
+    }
+
+    private SnapshotMetrics() {}
+
+    /** Counters for the step running on the current thread. */
+    public static Counters forCurrentStep() {
+        String step = StepTracker.currentStep();
+        return BY_STEP.computeIfAbsent(step != null ? step : NONE, k -> new Counters());
+    }
+
+    /** Returns totals and the per-step breakdown, biggest saving first. */
+    public static Map<String, Object> report() {
+        Counters total = new Counters();
+        List<Map.Entry<String, Counters>> rows = new ArrayList<>(BY_STEP.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, Counters> e) -> e.getValue().saved()).reversed());
+
+        Map<String, Object> byStep = new LinkedHashMap<>();
+        for (Map.Entry<String, Counters> row : rows) {
+            total.add(row.getValue());
+            byStep.put(row.getKey(), row.getValue().summary());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>(total.summary());
+        report.put("byStep", byStep);
+        return report;
+    }
+
+    /** Thread-safe counters; a step may run on any worker thread. */
+    public static final class Counters {
+
+        private final LongAdder captures   = new LongAdder();
+        private final LongAdder reuses     = new LongAdder();
+        private final LongAdder localReads = new LongAdder();
+        private final LongAdder resolves   = new LongAdder();
+
+        /** A fresh {@code getPageSource} round-trip. */
+        public void captured() {
+            captures.increment();
+        }
+
+        /** A snapshot served again because no UI-changing command ran since it was taken. */
+        public void reused() {
+            reuses.increment();
+        }
+
+        /** A query answered from the snapshot, or the first attribute read of a node. */
+        public void localRead() {
+            localReads.increment();
+        }
+
+        /** A matched node fetched from the server as a {@code WebElement}. */
+        public void resolved() {
+            resolves.increment();
+        }
+
+        long saved() {
+            return localReads.sum() - captures.sum() - resolves.sum();
+        }
+
+        private void add(Counters other) {
+            captures.add(other.captures.sum());
+            reuses.add(other.reuses.sum());
+            localReads.add(other.localReads.sum());
+            resolves.add(other.resolves.sum());
+        }
+
+        private Map<String, Object> summary() {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("captures", captures.sum());
+            out.put("reuses", reuses.sum());
+            out.put("localReads", localReads.sum());
+            out.put("resolves", resolves.sum());
+            out.put("roundTripsSaved", saved());
+            return out;
+        }
+    }
+}
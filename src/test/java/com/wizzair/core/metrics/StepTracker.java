@@ -0,0 +1,50 @@
+package com.wizzair.core.metrics;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that tracks which step each worker thread is executing, and
+ * writes the run's performance report when the run finishes.
+ *
+ * <p>{@link ConcurrentEventListener} events are delivered on the thread that runs
+ * the step, so a {@link ThreadLocal} is enough to attribute WebDriver commands to
+ * steps in parallel runs. Steps are keyed by their step-definition pattern rather
+ * than the expanded text, so example values do not fragment the histograms.
+ *
+ * <p>Registered in {@link com.wizzair.TestRunner}'s plugin list.
+ */
+public class StepTracker implements ConcurrentEventListener {
+
+    private static final ThreadLocal<String> CURRENT_STEP = new ThreadLocal<>();
+
+    /** Returns the step (or hook) running on the current thread, or {@code null}. */
+    public static String currentStep() {
+        return CURRENT_STEP.get();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, event -> CURRENT_STEP.remove());
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onRunFinished());
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            CURRENT_STEP.set(step.getPattern());
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            CURRENT_STEP.set("@" + hook.getHookType() + " " + hook.getCodeLocation());
+        }
+    }
+
+    private void onRunFinished() {
+        CommandMetrics.logTables();
+        RunMetrics.writeReport();
+    }
+}
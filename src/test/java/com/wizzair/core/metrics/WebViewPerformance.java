@@ -0,0 +1,322 @@
+package com.wizzair.core.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Page-performance data from inside a WebView, checked against per-scenario budgets.
+ *
+ * <p>Call {@link #start} right after switching into the WebView and {@link #capture}
+ * before switching back:
+ * <ul>
+ *   <li>{@code start} installs observers in the page: a {@code PerformanceObserver} for
+ *       long tasks (buffered, so tasks from page load are included) and a
+ *       {@code MutationObserver} that notes when each given selector first matches an
+ *       enabled, laid-out element – its time-to-interactive. A selector already
+ *       interactive at that point has no time of its own; it is reported as
+ *       interactive before start and left out of the metrics and budgets.</li>
+ *   <li>{@code capture} reads Navigation Timing, Resource Timing, the long tasks and the
+ *       times-to-interactive in one script and keeps the {@link Report} for the
+ *       scenario.</li>
+ * </ul>
+ * All times are milliseconds since the WebView's navigation start. Both calls are one
+ * {@code executeScript} each and never throw: a page without these APIs simply yields
+ * no report.
+ *
+ * <p>Budgets are system properties {@code -Dwebperf.budget.<metric>=<ms>} for the
+ * metrics of {@link Report#metrics()}, e.g. {@code -Dwebperf.budget.loadMs=3000
+ * -Dwebperf.budget.ttiMs=2500}. {@code DriverHooks} attaches each scenario's reports
+ * and fails the scenario when one exceeds a budget, unless
+ * {@code -Dwebperf.enforceBudgets=false}, which only logs. Run-wide distributions go
+ * to the {@code webViewPerformance} section of the run metrics.
+ */
+public final class WebViewPerformance {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebViewPerformance.class);
+
+    private static final String BUDGET_PREFIX = "webperf.budget.";
+
+    private static final boolean ENFORCE =
+            Boolean.parseBoolean(System.getProperty("webperf.enforceBudgets", "true"));
+
+    private static final String START_SCRIPT = """
+            var p = window.__wizzPerf = window.__wizzPerf
+                || { longTasks: [], tti: {}, atStart: {}, installedAt: performance.now() };
+            p.selectors = arguments[0];
+            p.check = p.check || function (atStart) {
+              for (var i = 0; i < p.selectors.length; i++) {
+                var s = p.selectors[i], el = document.querySelector(s);
+                if (p.tti[s] === undefined && !p.atStart[s] && el && !el.disabled && el.getClientRects().length > 0) {
+                  if (atStart === true) { p.atStart[s] = true; } else { p.tti[s] = performance.now(); }
+                }
+              }
+            };
+            if (!p.observing) {
+              p.observing = true;
+              try {
+                new PerformanceObserver(function (list) {
+                  list.getEntries().forEach(function (e) { p.longTasks.push([e.startTime, e.duration]); });
+                }).observe({ type: 'longtask', buffered: true });
+              } catch (e) { p.noLongTasks = true; }
+              new MutationObserver(p.check).observe(document.documentElement,
+                  { subtree: true, childList: true, attributes: true });
+            }
+            p.check(true);
+            return true;
+            """;
+
+    private static final String CAPTURE_SCRIPT = """
+            var p = window.__wizzPerf || { longTasks: [], tti: {}, atStart: {}, noLongTasks: true };
+            if (p.check) { p.check(); }
+            var nav = performance.getEntriesByType('navigation')[0], n;
+            if (nav) {
+              n = { ttfbMs: nav.responseStart, domInteractiveMs: nav.domInteractive,
+                    domContentLoadedMs: nav.domContentLoadedEventEnd, loadMs: nav.loadEventEnd };
+            } else {
+              var t = performance.timing, s = t.navigationStart;
+              n = { ttfbMs: t.responseStart - s, domInteractiveMs: t.domInteractive - s,
+                    domContentLoadedMs: t.domContentLoadedEventEnd - s,
+                    loadMs: t.loadEventEnd > 0 ? t.loadEventEnd - s : 0 };
+            }
+            var res = performance.getEntriesByType('resource').map(function (r) {
+              return { name: r.name, type: r.initiatorType, durationMs: r.duration, transferBytes: r.transferSize || 0 };
+            });
+            return { url: location.href, navigation: n, resources: res, longTasks: p.longTasks,
+                     longTasksObserved: !p.noLongTasks, tti: p.tti, interactiveAtStart: Object.keys(p.atStart),
+                     observedFromMs: p.installedAt === undefined ? null : p.installedAt };
+            """;
+
+    /** Reports captured by the scenario running on this thread. */
+    private static final ThreadLocal<List<Report>> SCENARIO = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final Map<String, Double> BUDGETS = budgets(System.getProperties());
+
+    private static final Map<String, LatencyHistogram> RUN = new LinkedHashMap<>();
+
+    static {
+        for (String metric : List.of("ttfbMs", "domContentLoadedMs", "loadMs", "longTaskTotalMs", "ttiMs")) {
+            RUN.put(metric, new LatencyHistogram());
+        }
+        RunMetrics.register("webViewPerformance", WebViewPerformance::stats);
+    }
+
+    /** One Resource Timing entry. */
+    public record Resource(String name, String type, double durationMs, long transferBytes) {}
+
+    /**
+     * What one capture saw.
+     *
+     * @param navigation         Navigation Timing: {@code ttfbMs}, {@code domInteractiveMs},
+     *                           {@code domContentLoadedMs}, {@code loadMs}
+     * @param slowestResources   the five longest Resource Timing entries
+     * @param longTaskCount      long tasks seen, or {@code -1} if the WebView cannot observe them
+     * @param timeToInteractive  per selector, when it first became interactive
+     * @param interactiveAtStart selectors already interactive when {@link #start} ran,
+     *                           so without a time-to-interactive
+     * @param observedFromMs     when {@link #start} installed the observers
+     */
+    public record Report(String url,
+                         Map<String, Double> navigation,
+                         int resourceCount,
+                         long transferBytes,
+                         List<Resource> slowestResources,
+                         int longTaskCount,
+                         double longTaskTotalMs,
+                         double longestTaskMs,
+                         Map<String, Double> timeToInteractive,
+                         List<String> interactiveAtStart,
+                         Double observedFromMs) {
+
+        /**
+         * Every budgetable metric: navigation timings, long-task totals and the slowest
+         * measured time-to-interactive ({@link #interactiveAtStart()} have none).
+         */
+        public Map<String, Double> metrics() {
+            Map<String, Double> metrics = new LinkedHashMap<>(navigation);
+            metrics.put("longTaskTotalMs", longTaskTotalMs);
+            metrics.put("longestTaskMs", longestTaskMs);
+            timeToInteractive.values().stream().max(Double::compare)
+                    .ifPresent(tti -> metrics.put("ttiMs", tti));
+            return metrics;
+        }
+    }
+
+    private WebViewPerformance() {}
+
+    // =========================================================================
+    // Capture
+    // =========================================================================
+
+    /**
+     * Installs the page observers; call in the WebView context, right after switching.
+     *
+     * @param interactiveSelectors CSS selectors whose time-to-interactive to record
+     */
+    public static void start(AppiumDriver driver, List<String> interactiveSelectors) {
+        try {
+            driver.executeScript(START_SCRIPT, interactiveSelectors);
+        } catch (WebDriverException e) {
+            LOG.debug("Could not install WebView performance observers: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the page's timings and keeps them for the scenario; call in the WebView
+     * context, before switching back.
+     *
+     * @return the report, or {@code null} if the WebView returned nothing usable
+     */
+    public static Report capture(AppiumDriver driver) {
+        Object raw;
+        try {
+            raw = driver.executeScript(CAPTURE_SCRIPT);
+        } catch (WebDriverException e) {
+            LOG.debug("Could not read WebView performance data: {}", e.getMessage());
+            return null;
+        }
+        if (!(raw instanceof Map<?, ?> data) || !(data.get("navigation") instanceof Map<?, ?>)) {
+            return null;
+        }
+        Report report = reportOf(data);
+        SCENARIO.get().add(report);
+        report.metrics().forEach((metric, ms) -> {
+            LatencyHistogram histogram = RUN.get(metric);
+            if (histogram != null) {
+                histogram.recordMicros(Math.round(ms * 1000));
+            }
+        });
+        LOG.info("WebView performance for {}: {}", report.url(), report.metrics());
+        return report;
+    }
+
+    // =========================================================================
+    // Scenario lifecycle
+    // =========================================================================
+
+    /** Returns and forgets the reports captured by this thread's scenario. */
+    public static List<Report> finishScenario() {
+        List<Report> reports = List.copyOf(SCENARIO.get());
+        SCENARIO.remove();
+        return reports;
+    }
+
+    /** Every budget one of {@code reports} exceeds, e.g. {@code "loadMs 4210 > 3000 (https://…)"}. */
+    public static List<String> violations(List<Report> reports) {
+        List<String> violations = new ArrayList<>();
+        for (Report report : reports) {
+            Map<String, Double> metrics = report.metrics();
+            BUDGETS.forEach((metric, limit) -> {
+                Double value = metrics.get(metric);
+                if (value != null && value > limit) {
+                    violations.add(String.format("%s %.0f > %.0f (%s)", metric, value, limit, report.url()));
+                }
+            });
+        }
+        return violations;
+    }
+
+    /** The reports with their budgets, as indented JSON for the scenario's report attachment. */
+    public static String toJson(List<Report> reports) {
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        breakdown.put("budgets", BUDGETS);
+        breakdown.put("violations", violations(reports));
+        breakdown.put("captures", reports);
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(breakdown);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise WebView performance reports", e);
+        }
+    }
+
+    /** Whether exceeded budgets fail the scenario ({@code -Dwebperf.enforceBudgets}). */
+    public static boolean enforcesBudgets() {
+        return ENFORCE;
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    /** Parses what {@code CAPTURE_SCRIPT} returned. */
+    static Report reportOf(Map<?, ?> data) {
+        Map<String, Double> navigation = new LinkedHashMap<>();
+        ((Map<?, ?>) data.get("navigation")).forEach((k, v) -> navigation.put(String.valueOf(k), number(v)));
+
+        List<Resource> resources = new ArrayList<>();
+        if (data.get("resources") instanceof List<?> entries) {
+            for (Object entry : entries) {
+                if (entry instanceof Map<?, ?> r) {
+                    resources.add(new Resource(String.valueOf(r.get("name")), String.valueOf(r.get("type")),
+                            number(r.get("durationMs")), (long) number(r.get("transferBytes"))));
+                }
+            }
+        }
+        long transferBytes = resources.stream().mapToLong(Resource::transferBytes).sum();
+        List<Resource> slowest = resources.stream()
+                .sorted(Comparator.comparingDouble(Resource::durationMs).reversed())
+                .limit(5)
+                .toList();
+
+        int longTaskCount = -1;
+        double longTaskTotal = 0;
+        double longest = 0;
+        if (Boolean.TRUE.equals(data.get("longTasksObserved")) && data.get("longTasks") instanceof List<?> tasks) {
+            longTaskCount = tasks.size();
+            for (Object task : tasks) {
+                double duration = task instanceof List<?> pair && pair.size() > 1 ? number(pair.get(1)) : 0;
+                longTaskTotal += duration;
+                longest = Math.max(longest, duration);
+            }
+        }
+
+        Map<String, Double> tti = new LinkedHashMap<>();
+        if (data.get("tti") instanceof Map<?, ?> times) {
+            times.forEach((selector, ms) -> tti.put(String.valueOf(selector), number(ms)));
+        }
+        List<String> atStart = new ArrayList<>();
+        if (data.get("interactiveAtStart") instanceof List<?> selectors) {
+            selectors.forEach(selector -> atStart.add(String.valueOf(selector)));
+        }
+        Double observedFrom = data.get("observedFromMs") == null ? null : number(data.get("observedFromMs"));
+
+        return new Report(String.valueOf(data.get("url")), navigation, resources.size(), transferBytes,
+                slowest, longTaskCount, longTaskTotal, longest, tti, atStart, observedFrom);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+
+    private static Map<String, Double> budgets(Properties properties) {
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(BUDGET_PREFIX)) {
+                try {
+                    budgets.put(name.substring(BUDGET_PREFIX.length()), Double.parseDouble(properties.getProperty(name)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalStateException("Budget " + name + " must be a number of milliseconds", e);
+                }
+            }
+        }
+        return budgets;
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        RUN.forEach((metric, histogram) -> stats.put(metric, histogram.summary()));
+        stats.put("budgets", BUDGETS);
+        return stats;
+    }
+}
@@ -0,0 +1,104 @@
+package com.wizzair.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reports parsed from capture-script answers, against budgets of 3000 ms for
+ * {@code loadMs} and 2500 ms for {@code ttiMs}.
+ */
+class WebViewPerformanceTest {
+
+    static {
+        // Budgets are read once, when WebViewPerformance loads; each test class has its own JVM
+        System.setProperty("webperf.budget.loadMs", "3000");
+        System.setProperty("webperf.budget.ttiMs", "2500");
+    }
+
+    @Test
+    void readsTimingsResourcesAndLongTasks() {
+        WebViewPerformance.Report report = WebViewPerformance.reportOf(capture(2400, 1900.0));
+
+        assertThat(report.url()).isEqualTo("https://pay.wizzair.com/checkout");
+        assertThat(report.navigation()).containsEntry("ttfbMs", 180.0).containsEntry("loadMs", 2400.0);
+        assertThat(report.resourceCount()).isEqualTo(2);
+        assertThat(report.transferBytes()).isEqualTo(52_000);
+        assertThat(report.slowestResources()).extracting(WebViewPerformance.Resource::name)
+                .containsExactly("https://pay.wizzair.com/app.js", "https://pay.wizzair.com/app.css");
+        assertThat(report.longTaskCount()).isEqualTo(2);
+        assertThat(report.longTaskTotalMs()).isEqualTo(200.0);
+        assertThat(report.longestTaskMs()).isEqualTo(120.0);
+    }
+
+    @Test
+    void metricsIncludeTheSlowestTimeToInteractive() {
+        Map<String, Double> metrics = WebViewPerformance.reportOf(capture(2400, 1900.0)).metrics();
+
+        assertThat(metrics).containsEntry("loadMs", 2400.0)
+                .containsEntry("longTaskTotalMs", 200.0)
+                .containsEntry("ttiMs", 1900.0);
+    }
+
+    @Test
+    void selectorsInteractiveBeforeStartHaveNoTimeToInteractive() {
+        // Observers installed late, at 3000 ms, when the pay button was already usable
+        Map<String, Object> data = new HashMap<>(capture(2400, 1900.0));
+        data.put("tti", Map.of("input[data-cy='card-number']", 3100.0));
+        data.put("interactiveAtStart", List.of("button[data-cy='pay-button']"));
+        data.put("observedFromMs", 3000.0);
+        WebViewPerformance.Report report = WebViewPerformance.reportOf(data);
+
+        assertThat(report.interactiveAtStart()).containsExactly("button[data-cy='pay-button']");
+        assertThat(report.metrics()).containsEntry("ttiMs", 3100.0);
+
+        data.put("tti", Map.of());
+        data.put("interactiveAtStart", List.of("input[data-cy='card-number']", "button[data-cy='pay-button']"));
+        WebViewPerformance.Report nothingMeasured = WebViewPerformance.reportOf(data);
+
+        assertThat(nothingMeasured.metrics()).doesNotContainKey("ttiMs");
+        assertThat(WebViewPerformance.violations(List.of(nothingMeasured))).isEmpty();
+    }
+
+    @Test
+    void longTasksThatCannotBeObservedAreReportedAsUnknown() {
+        Map<String, Object> data = new HashMap<>(capture(2400, 1900.0));
+        data.put("longTasksObserved", false);
+
+        assertThat(WebViewPerformance.reportOf(data).longTaskCount()).isEqualTo(-1);
+    }
+
+    @Test
+    void onlyExceededBudgetsAreViolations() {
+        WebViewPerformance.Report fast = WebViewPerformance.reportOf(capture(2400, 1900.0));
+        WebViewPerformance.Report slow = WebViewPerformance.reportOf(capture(4210, 1900.0));
+
+        assertThat(WebViewPerformance.violations(List.of(fast))).isEmpty();
+        assertThat(WebViewPerformance.violations(List.of(fast, slow)))
+                .containsExactly("loadMs 4210 > 3000 (https://pay.wizzair.com/checkout)");
+        assertThat(WebViewPerformance.toJson(List.of(slow))).contains("\"loadMs\" : 3000.0", "loadMs 4210 > 3000");
+    }
+
+    // ---- Helpers
+
+    /** A capture-script answer: two resources, two long tasks, the pay button interactive at {@code ttiMs}. */
+    private static Map<String, Object> capture(double loadMs, double ttiMs) {
+        return Map.of(
+                "url", "https://pay.wizzair.com/checkout",
+                "navigation", Map.of("ttfbMs", 180, "domInteractiveMs", 900,
+                                     "domContentLoadedMs", 1100, "loadMs", loadMs),
+                "resources", List.of(
+                        Map.of("name", "https://pay.wizzair.com/app.css", "type", "link",
+                               "durationMs", 90.5, "transferBytes", 12_000),
+                        Map.of("name", "https://pay.wizzair.com/app.js", "type", "script",
+                               "durationMs", 310, "transferBytes", 40_000)),
+                "longTasks", List.of(List.of(850, 80), List.of(1500, 120)),
+                "longTasksObserved", true,
+                "tti", Map.of("input[data-cy='card-number']", 1200.0, "button[data-cy='pay-button']", ttiMs),
+                "observedFromMs", 600.0);
+    }
+}
@@ -0,0 +1,288 @@
+package com.wizzair.core.snapshot;
+
+import com.wizzair.core.driver.InstrumentedCommandExecutor;
+import com.wizzair.core.metrics.SnapshotMetrics;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The native UI tree from a single {@code getPageSource} round-trip, indexed so that
+ * many locator queries can be answered locally.
+ *
+ * <p>Typical use – look up locally, go back to the server only for the element to act on:
+ * <pre>
+ *   PageSnapshot snapshot = PageSnapshot.capture(driver);
+ *   List&lt;SnapshotNode&gt; cards = snapshot.byAccessibilityId("Flight card");
+ *   SnapshotNode match = ...;                 // attribute reads are local too
+ *   snapshot.resolve(match).click();          // one findElement(s)
+ * </pre>
+ *
+ * <p>Nodes are indexed by accessibility id (Android {@code content-desc}, iOS
+ * {@code name}), text, class/type and Android {@code resource-id}. A snapshot is a
+ * point-in-time view: {@link #isCurrent()} only knows about commands the framework
+ * sent, not changes the app makes on its own (timers, network), so use
+ * {@link #capture(AppiumDriver)} when such changes matter. Native contexts only, and a
+ * snapshot belongs to the thread that took it.
+ */
+public final class PageSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PageSnapshot.class);
+    private static final XMLInputFactory XML = newXmlFactory();
+    private static final String ANDROID_ROOT = "hierarchy";
+    private static final String IOS_ROOT     = "AppiumAUT";
+
+    /** Last snapshot per thread, served by {@link #current(AppiumDriver)}. */
+    private static final ThreadLocal<PageSnapshot> LAST = new ThreadLocal<>();
+
+    private static final List<Consumer<PageSnapshot>> CAPTURE_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final AppiumDriver driver;
+    private final long         mutationCount;
+    private final SnapshotMetrics.Counters counters;
+    private boolean      android;
+    private SnapshotNode root;
+
+    private final Map<String, List<SnapshotNode>> byAccessibilityId = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byText            = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byClass           = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byResourceId      = new HashMap<>();
+
+    private PageSnapshot(AppiumDriver driver, String pageSource, long mutationCount) {
+        this.driver        = driver;
+        this.mutationCount = mutationCount;
+        this.counters      = SnapshotMetrics.forCurrentStep();
+        parse(pageSource);
+        for (SnapshotNode node : root.descendantsAndSelf()) {
+            index(byAccessibilityId, node.rawAttribute(android ? "content-desc" : "name"), node);
+            index(byText, android ? node.rawAttribute("text") : firstNonNull(node.rawAttribute("label"), node.rawAttribute("value")), node);
+            index(byClass, node.className(), node);
+            index(byResourceId, android ? node.rawAttribute("resource-id") : null, node);
+        }
+    }
+
+    // =========================================================================
+    // Capture
+    // =========================================================================
+
+    /** Fetches the page source and builds a new snapshot. */
+    public static PageSnapshot capture(AppiumDriver driver) {
+        long mutations = mutationCount(driver);
+        PageSnapshot snapshot = new PageSnapshot(driver, driver.getPageSource(), mutations);
+        snapshot.counters.captured();
+        LAST.set(snapshot);
+        for (Consumer<PageSnapshot> listener : CAPTURE_LISTENERS) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                LOG.warn("Snapshot listener failed: {}", e.toString());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Registers a callback run on the capturing thread for every new snapshot, so other
+     * components can inspect the screen without a round-trip of their own. Listeners
+     * must only read the snapshot – any command they send would make it stale for the
+     * caller that took it.
+     */
+    public static void onCapture(Consumer<PageSnapshot> listener) {
+        CAPTURE_LISTENERS.add(listener);
+    }
+
+    /**
+     * Returns this thread's last snapshot if the framework has sent no UI-changing
+     * command since it was taken, otherwise captures a new one.
+     */
+    public static PageSnapshot current(AppiumDriver driver) {
+        PageSnapshot last = LAST.get();
+        if (last != null && last.driver == driver && last.isCurrent()) {
+            SnapshotMetrics.forCurrentStep().reused();
+            return last;
+        }
+        return capture(driver);
+    }
+
+    /**
+     * {@code true} while no UI-changing command has gone through the driver since the
+     * snapshot was taken. Always {@code false} for drivers without an
+     * {@link InstrumentedCommandExecutor}.
+     */
+    public boolean isCurrent() {
+        return mutationCount >= 0 && mutationCount == mutationCount(driver);
+    }
+
+    public boolean isAndroid() {
+        return android;
+    }
+
+    // =========================================================================
+    // Local queries
+    // =========================================================================
+
+    /** Nodes whose accessibility id equals {@code id}, in document order. */
+    public List<SnapshotNode> byAccessibilityId(String id) {
+        return lookup(byAccessibilityId, id);
+    }
+
+    /** Nodes whose visible text (Android {@code text}, iOS {@code label}/{@code value}) equals {@code text}. */
+    public List<SnapshotNode> byText(String text) {
+        return lookup(byText, text);
+    }
+
+    /** Nodes of the given Android class or iOS element type. */
+    public List<SnapshotNode> byClass(String className) {
+        return lookup(byClass, className);
+    }
+
+    /** Nodes with the given Android {@code resource-id}; always empty on iOS. */
+    public List<SnapshotNode> byResourceId(String resourceId) {
+        return lookup(byResourceId, resourceId);
+    }
+
+    /** Full scan for queries the indexes do not cover. */
+    public List<SnapshotNode> find(Predicate<SnapshotNode> predicate) {
+        counters.localRead();
+        return root.descendantsAndSelf().stream().filter(predicate).toList();
+    }
+
+    // =========================================================================
+    // Back to the server
+    // =========================================================================
+
+    /**
+     * Fetches the live element for a node with one round-trip, locating it by its most
+     * specific indexed key (accessibility id, then resource-id, then class) and its
+     * position among the snapshot's nodes with that key.
+     *
+     * @throws NoSuchElementException if the screen no longer has that element
+     */
+    public WebElement resolve(SnapshotNode node) {
+        counters.resolved();
+        Locator locator = locatorFor(node);
+        if (locator.ordinal() == 0) {
+            return driver.findElement(locator.by());
+        }
+        List<WebElement> candidates = driver.findElements(locator.by());
+        if (candidates.size() <= locator.ordinal()) {
+            throw new NoSuchElementException("Screen changed since the snapshot: " + node
+                    + " (" + locator.by() + " #" + locator.ordinal() + ")");
+        }
+        return candidates.get(locator.ordinal());
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    SnapshotMetrics.Counters counters() {
+        return counters;
+    }
+
+    private record Locator(By by, int ordinal) {}
+
+    private Locator locatorFor(SnapshotNode node) {
+        String id = node.rawAttribute(android ? "content-desc" : "name");
+        if (id != null) {
+            return new Locator(AppiumBy.accessibilityId(id), byAccessibilityId.get(id).indexOf(node));
+        }
+        String resourceId = android ? node.rawAttribute("resource-id") : null;
+        if (resourceId != null) {
+            return new Locator(By.id(resourceId), byResourceId.get(resourceId).indexOf(node));
+        }
+        return new Locator(AppiumBy.className(node.className()), byClass.get(node.className()).indexOf(node));
+    }
+
+    private List<SnapshotNode> lookup(Map<String, List<SnapshotNode>> index, String key) {
+        counters.localRead();
+        return index.getOrDefault(key, List.of());
+    }
+
+    private static void index(Map<String, List<SnapshotNode>> index, String key, SnapshotNode node) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(node);
+        }
+    }
+
+    private void parse(String pageSource) {
+        Deque<SnapshotNode> open = new ArrayDeque<>();
+        try {
+            XMLStreamReader reader = XML.createXMLStreamReader(new StringReader(pageSource));
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String tag = reader.getLocalName();
+                    if (root == null) {
+                        android = rootPlatform(tag);
+                    }
+                    Map<String, String> attributes = new HashMap<>();
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                    SnapshotNode node = new SnapshotNode(this, tag, attributes, open.peek());
+                    if (root == null) {
+                        root = node;
+                    }
+                    open.push(node);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    open.pop();
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not parse page source: " + e.getMessage(), e);
+        }
+        if (root == null) {
+            throw new IllegalStateException("Page source is empty");
+        }
+        LOG.debug("Page snapshot: {} nodes", root.descendantsAndSelf().size());
+    }
+
+    private static boolean rootPlatform(String rootTag) {
+        if (ANDROID_ROOT.equals(rootTag)) {
+            return true;
+        }
+        if (IOS_ROOT.equals(rootTag)) {
+            return false;
+        }
+        throw new IllegalStateException(
+                "Not a native page source (root <" + rootTag + ">) – snapshots cover native contexts only");
+    }
+
+    private static long mutationCount(AppiumDriver driver) {
+        return driver.getCommandExecutor() instanceof InstrumentedCommandExecutor executor
+                ? executor.mutationCount()
+                : -1;
+    }
+
+    private static String firstNonNull(String a, String b) {
+        return a != null ? a : b;
+    }
+
+    private static XMLInputFactory newXmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,100 @@
+package com.wizzair.core.snapshot;
+
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.metrics.SnapshotMetrics;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Snapshots of the fake app's screens, on both platforms.
+ */
+class PageSnapshotTest {
+
+    private AppiumDriver driver;
+
+    @AfterEach
+    void quit() {
+        driver.quit();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void answersLookupsFromOnePageSource(String platform) {
+        driver = FakeCommandExecutor.driver(platform, new FakeAppiumOptions());
+
+        PageSnapshot snapshot = PageSnapshot.capture(driver);
+
+        assertThat(snapshot.isAndroid()).isEqualTo(platform.equals("android"));
+        assertThat(snapshot.byAccessibilityId("Search flights")).hasSize(1);
+        assertThat(snapshot.byAccessibilityId("Flight card")).isEmpty();
+        assertThat(snapshot.byClass(platform.equals("android") ? "android.widget.EditText" : "XCUIElementTypeTextField"))
+                .extracting(SnapshotNode::accessibilityId)
+                .containsExactly("Origin airport", "Destination airport");
+        assertThat(snapshot.find(node -> node.mentions("Return"))).extracting(SnapshotNode::accessibilityId)
+                .containsExactly("Return date");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void resolvesRepeatedNodesByPosition(String platform) {
+        driver = FakeCommandExecutor.driver(platform, new FakeAppiumOptions());
+        driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+
+        List<SnapshotNode> cards = PageSnapshot.capture(driver).byAccessibilityId("Flight card");
+        SnapshotNode third = cards.get(2);
+        String departure = third.children().get(0).accessibilityId();
+
+        PageSnapshot.current(driver).resolve(third).click();
+
+        assertThat(departure).isEqualTo("03:30 06:00");
+        assertThat(driver.findElements(AppiumBy.accessibilityId("Continue to payment"))).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void countsOneSavedReadPerQueryAndPerNode(String platform) {
+        driver = FakeCommandExecutor.driver(platform, new FakeAppiumOptions());
+        PageSnapshot snapshot = PageSnapshot.capture(driver);
+        long reads = localReads();
+
+        SnapshotNode search = snapshot.byAccessibilityId("Search flights").get(0);
+        search.accessibilityId();
+        search.text();
+        search.mentions("flights");
+        search.isDisplayed();
+
+        assertThat(localReads() - reads).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"android", "ios"})
+    void staysCurrentUntilAUiChangingCommand(String platform) {
+        driver = FakeCommandExecutor.driver(platform, new FakeAppiumOptions());
+        PageSnapshot snapshot = PageSnapshot.capture(driver);
+
+        driver.findElement(AppiumBy.accessibilityId("Origin airport")).getText();
+        assertThat(snapshot.isCurrent()).isTrue();
+        assertThat(PageSnapshot.current(driver)).isSameAs(snapshot);
+
+        driver.findElement(AppiumBy.accessibilityId("Origin airport")).sendKeys("LTN");
+        assertThat(snapshot.isCurrent()).isFalse();
+
+        PageSnapshot fresh = PageSnapshot.current(driver);
+        assertThat(fresh).isNotSameAs(snapshot);
+        assertThat(fresh.byAccessibilityId("Origin airport").get(0).inputValue()).isEqualTo("LTN");
+    }
+
+    // ---- Helpers
+
+    private static long localReads() {
+        return (Long) SnapshotMetrics.report().get("localReads");
+    }
+}
@@ -0,0 +1,128 @@
+package com.wizzair.core.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One element of a {@link PageSnapshot}: the tag and attributes exactly as they appear
+ * in the page source, plus platform-neutral accessors for the attributes locators use.
+ *
+ * <p>Reads are local. The first attribute read of a node counts as one round-trip saved
+ * (see {@link com.wizzair.core.metrics.SnapshotMetrics}); further reads of the same node
+ * do not, since a caller would have had the element in hand by then. To act on a node,
+ * fetch it with {@link PageSnapshot#resolve(SnapshotNode)}.
+ */
+public final class SnapshotNode {
+
+    private final PageSnapshot        owner;
+    private final String              tag;
+    private final Map<String, String> attributes;
+    private final SnapshotNode        parent;
+    private final List<SnapshotNode>  children = new ArrayList<>();
+    private boolean                   read;
+
+    SnapshotNode(PageSnapshot owner, String tag, Map<String, String> attributes, SnapshotNode parent) {
+        this.owner      = owner;
+        this.tag        = tag;
+        this.attributes = attributes;
+        this.parent     = parent;
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Attributes
+    // -------------------------------------------------------------------------
+
+    /** Raw page-source attribute, or {@code null} when absent or empty. */
+    public String attribute(String name) {
+        if (!read) {
+            read = true;
+            owner.counters().localRead();
+        }
+        return rawAttribute(name);
+    }
+
+    /** Android {@code content-desc}, iOS {@code name}. */
+    public String accessibilityId() {
+        return attribute(owner.isAndroid() ? "content-desc" : "name");
+    }
+
+    /** Android {@code text}, iOS {@code label} (or {@code value} for inputs). */
+    public String text() {
+        if (owner.isAndroid()) {
+            return attribute("text");
+        }
+        String label = attribute("label");
+        return label != null ? label : attribute("value");
+    }
+
+    /** Content of a text input: Android {@code text}, iOS {@code value}. */
+    public String inputValue() {
+        return attribute(owner.isAndroid() ? "text" : "value");
+    }
+
+    /** Android class (e.g. {@code android.widget.Button}), iOS type (e.g. {@code XCUIElementTypeButton}). */
+    public String className() {
+        return tag;
+    }
+
+    /** Android {@code resource-id}; always {@code null} on iOS. */
+    public String resourceId() {
+        return owner.isAndroid() ? attribute("resource-id") : null;
+    }
+
+    public boolean isDisplayed() {
+        return !"false".equals(attribute(owner.isAndroid() ? "displayed" : "visible"));
+    }
+
+    /** {@code true} if this node's accessibility id or text contains {@code fragment}. */
+    public boolean mentions(String fragment) {
+        String id = accessibilityId();
+        String text = text();
+        return (id != null && id.contains(fragment)) || (text != null && text.contains(fragment));
+    }
+
+    // -------------------------------------------------------------------------
+    // Tree
+    // -------------------------------------------------------------------------
+
+    public SnapshotNode parent() {
+        return parent;
+    }
+
+    public List<SnapshotNode> children() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /** This node and everything below it, in document order. */
+    public List<SnapshotNode> descendantsAndSelf() {
+        List<SnapshotNode> out = new ArrayList<>();
+        collect(this, out);
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        String id = rawAttribute(owner.isAndroid() ? "content-desc" : "name");
+        return tag + (id != null ? "[" + id + "]" : "");
+    }
+
+    // -------------------------------------------------------------------------
+    // Package-private
+    // -------------------------------------------------------------------------
+
+    /** Attribute read that is not counted – used for indexing and resolving. */
+    String rawAttribute(String name) {
+        String value = attributes.get(name);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static void collect(SnapshotNode node, List<SnapshotNode> out) {
+        out.add(node);
+        node.children.forEach(child -> collect(child, out));
+    }
+}
@@ -0,0 +1,255 @@
+package com.wizzair.core.wait;
+
+import com.wizzair.core.metrics.LatencyHistogram;
+import com.wizzair.core.metrics.RunMetrics;
+import org.awaitility.pollinterval.PollInterval;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Poll scheduling for every wait in {@link WaitStrategy}, replacing the flat
+ * {@link WaitStrategy#POLL_INTERVAL}.
+ *
+ * <p>Each wait gets a {@link Schedule} that acts as both a Selenium {@link Sleeper}
+ * and an Awaitility {@link PollInterval}:
+ * <ul>
+ *   <li>The first poll is immediate, the next one follows after {@value #INITIAL_POLL_MS} ms,
+ *       and the gap then grows by x{@value #BACKOFF} up to {@code POLL_INTERVAL}.</li>
+ *   <li>Each condition (wait kind plus calling page method, or the Awaitility alias)
+ *       learns how long it usually takes to become true, as an EWMA over successful
+ *       waits. A wait expected to take 8 s sleeps in long steps until about
+ *       {@value #LEAD} of that, then switches to fast polls, instead of polling every
+ *       500 ms from the start.</li>
+ * </ul>
+ *
+ * <p>Per-condition counters (waits, timeouts, polls per wait and the estimated time
+ * lost between the condition turning true and the poll that saw it) go into
+ * {@link RunMetrics} under {@code waits}. Run with {@code -Dwait.adaptivePolling=false}
+ * to go back to fixed {@code POLL_INTERVAL} polling, e.g. to compare runs.
+ */
+public final class AdaptivePoller {
+
+    static final long   INITIAL_POLL_MS = 50;
+    static final double BACKOFF         = 1.6;
+    static final double LEAD            = 0.75;
+    static final double EWMA_ALPHA      = 0.3;
+
+    private static final String CORE_PACKAGE = "com.wizzair.core.";
+    /** Its wait helpers run on behalf of the page subclass further up the stack. */
+    private static final String BASE_PAGE    = "com.wizzair.pages.common.BasePage";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final boolean ADAPTIVE =
+            Boolean.parseBoolean(System.getProperty("wait.adaptivePolling", "true"));
+
+    private static final Map<String, ConditionStats> STATS = new ConcurrentHashMap<>();
+
+    static {
+        RunMetrics.register("waits", AdaptivePoller::report);
+    }
+
+    private AdaptivePoller() {}
+
+    /**
+     * Returns a schedule for one wait on an element condition, keyed by the condition
+     * kind and the first calling method outside {@code com.wizzair.core}.
+     *
+     * @param kind e.g. {@code visible}, {@code clickable}
+     */
+    public static Schedule forCaller(String kind) {
+        return forCondition(kind + " " + callerMethod());
+    }
+
+    /** Returns a schedule for one wait on the named condition. */
+    public static Schedule forCondition(String condition) {
+        return new Schedule(STATS.computeIfAbsent(condition, k -> new ConditionStats()));
+    }
+
+    // =========================================================================
+    // Schedule
+    // =========================================================================
+
+    /**
+     * Poll timing and bookkeeping for a single wait. Wrap the wait in
+     * {@link #track(Supplier)} and call {@link #polled()} on every evaluation.
+     */
+    public static final class Schedule implements Sleeper, PollInterval {
+
+        private final ConditionStats stats;
+        private final long expectedNanos;
+        private final AtomicInteger polls = new AtomicInteger();
+        private volatile long startNanos;
+        private volatile long backoffNanos;
+        private volatile long lastSleepNanos;
+
+        private Schedule(ConditionStats stats) {
+            this.stats = stats;
+            this.expectedNanos = stats.expectedNanos();
+            reset();
+        }
+
+        /**
+         * Runs the wait and records its outcome: successful waits teach the condition's
+         * expected latency, timeouts and other failures are only counted.
+         */
+        public <T> T track(Supplier<T> wait) {
+            reset();
+            boolean success = false;
+            try {
+                T result = wait.get();
+                success = true;
+                return result;
+            } finally {
+                stats.record(success, System.nanoTime() - startNanos, polls.get(),
+                             polls.get() > 1 ? lastSleepNanos / 2 : 0);
+            }
+        }
+
+        /** Call on every evaluation of the condition. */
+        public void polled() {
+            polls.incrementAndGet();
+        }
+
+        /** Delay before the next poll. */
+        public Duration next() {
+            long delay;
+            if (!ADAPTIVE) {
+                delay = WaitStrategy.POLL_INTERVAL.toNanos();
+            } else {
+                long untilLead = (long) (expectedNanos * LEAD) - (System.nanoTime() - startNanos);
+                if (untilLead > backoffNanos) {
+                    // Condition is not expected yet: sleep towards it in coarse steps
+                    delay = Math.min(untilLead, WaitStrategy.POLL_INTERVAL.toNanos());
+                } else {
+                    delay = backoffNanos;
+                    backoffNanos = Math.min((long) (backoffNanos * BACKOFF), WaitStrategy.POLL_INTERVAL.toNanos());
+                }
+            }
+            lastSleepNanos = delay;
+            return Duration.ofNanos(delay);
+        }
+
+        /** Selenium {@code FluentWait} sleeps between polls; the requested interval is ignored. */
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            Sleeper.SYSTEM_SLEEPER.sleep(next());
+        }
+
+        /** Awaitility asks for the interval before each poll after the first. */
+        @Override
+        public Duration next(int pollCount, Duration previousDuration) {
+            return next();
+        }
+
+        private void reset() {
+            polls.set(0);
+            startNanos     = System.nanoTime();
+            backoffNanos   = TimeUnit.MILLISECONDS.toNanos(INITIAL_POLL_MS);
+            lastSleepNanos = 0;
+        }
+    }
+
+    // =========================================================================
+    // Statistics
+    // =========================================================================
+
+    /** Returns totals and per-condition counters as a JSON-friendly map. */
+    public static Map<String, Object> report() {
+        LatencyHistogram wasted = new LatencyHistogram();
+        long waits = 0, timeouts = 0, polls = 0;
+        List<Map.Entry<String, ConditionStats>> rows = new ArrayList<>(STATS.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, ConditionStats> e) -> e.getValue().waits()).reversed());
+
+        Map<String, Object> byCondition = new LinkedHashMap<>();
+        for (Map.Entry<String, ConditionStats> row : rows) {
+            ConditionStats s = row.getValue();
+            waits    += s.waits();
+            timeouts += s.timeouts();
+            polls    += s.polls();
+            wasted.merge(s.wasted);
+            byCondition.put(row.getKey(), s.summary());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("adaptive", ADAPTIVE);
+        report.put("waits", waits);
+        report.put("timeouts", timeouts);
+        report.put("avgPollsPerWait", waits == 0 ? 0.0 : Math.round(polls * 10.0 / waits) / 10.0);
+        report.put("wastedAfterTrue", wasted.summary());
+        report.put("byCondition", byCondition);
+        return report;
+    }
+
+    private static String callerMethod() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.wizzair.")
+                          && !f.getClassName().startsWith(CORE_PACKAGE)
+                          && !f.getClassName().equals(BASE_PAGE)
+                          && !f.getClassName().startsWith(BASE_PAGE + "$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName())
+                .orElse("(none)"));
+    }
+
+    /** Counters for one condition; the expected latency is only learnt from successes. */
+    private static final class ConditionStats {
+
+        private final LatencyHistogram wasted = new LatencyHistogram();
+        private long waits;
+        private long timeouts;
+        private long polls;
+        private int  maxPolls;
+        private long expectedNanos;
+
+        synchronized long expectedNanos() {
+            return expectedNanos;
+        }
+
+        synchronized long waits() {
+            return waits;
+        }
+
+        synchronized long timeouts() {
+            return timeouts;
+        }
+
+        synchronized long polls() {
+            return polls;
+        }
+
+        synchronized void record(boolean success, long elapsedNanos, int pollCount, long wastedNanos) {
+            waits++;
+            polls   += pollCount;
+            maxPolls = Math.max(maxPolls, pollCount);
+            if (!success) {
+                timeouts++;
+                return;
+            }
+            expectedNanos = expectedNanos == 0
+                    ? elapsedNanos
+                    : (long) (EWMA_ALPHA * elapsedNanos + (1 - EWMA_ALPHA) * expectedNanos);
+            wasted.recordNanos(wastedNanos);
+        }
+
+        synchronized Map<String, Object> summary() {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("waits", waits);
+            out.put("timeouts", timeouts);
+            out.put("avgPolls", waits == 0 ? 0.0 : Math.round(polls * 10.0 / waits) / 10.0);
+            out.put("maxPolls", maxPolls);
+            out.put("expectedMs", TimeUnit.NANOSECONDS.toMillis(expectedNanos));
+            out.put("wastedAfterTrue", wasted.summary());
+            return out;
+        }
+    }
+}
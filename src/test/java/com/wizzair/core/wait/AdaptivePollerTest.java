@@ -0,0 +1,64 @@
+package com.wizzair.core.wait;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptivePollerTest {
+
+    @Test
+    void unknownConditionBacksOffUpToThePollInterval() {
+        AdaptivePoller.Schedule schedule = AdaptivePoller.forCondition("backoff test");
+
+        assertThat(schedule.next()).isEqualTo(Duration.ofMillis(50));
+        assertThat(schedule.next()).isEqualTo(Duration.ofMillis(80));
+        assertThat(schedule.next()).isEqualTo(Duration.ofMillis(128));
+        for (int i = 0; i < 10; i++) {
+            schedule.next();
+        }
+        assertThat(schedule.next()).isEqualTo(WaitStrategy.POLL_INTERVAL);
+    }
+
+    @Test
+    void learntLatencyDefersTheFastPolls() {
+        AdaptivePoller.forCondition("slow screen").track(() -> sleep(400));
+
+        AdaptivePoller.Schedule next = AdaptivePoller.forCondition("slow screen");
+        Duration firstGap = next.next();
+
+        // Expected ~400 ms: sleep towards 75% of it instead of polling after 50 ms
+        assertThat(firstGap).isBetween(Duration.ofMillis(200), Duration.ofMillis(400));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void timeoutsAreCountedButTeachNothing() {
+        AdaptivePoller.Schedule schedule = AdaptivePoller.forCondition("never true");
+
+        assertThatThrownBy(() -> schedule.track(() -> {
+            schedule.polled();
+            throw new org.openqa.selenium.TimeoutException("gave up");
+        })).isInstanceOf(org.openqa.selenium.TimeoutException.class);
+
+        Map<String, Object> condition = (Map<String, Object>)
+                ((Map<String, Object>) AdaptivePoller.report().get("byCondition")).get("never true");
+        assertThat(condition)
+                .containsEntry("waits", 1L)
+                .containsEntry("timeouts", 1L)
+                .containsEntry("expectedMs", 0L);
+        assertThat(AdaptivePoller.forCondition("never true").next()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+}
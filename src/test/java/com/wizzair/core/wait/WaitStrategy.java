@@ -7,14 +7,18 @@ import org.awaitility.core.ConditionTimeoutException;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
@@ -27,6 +31,8 @@ import java.util.function.Supplier;
  *   <li>Use {@link WebDriverWait} / {@link FluentWait} for element conditions.</li>
  *   <li>Use {@link Awaitility} for custom boolean/callable conditions that are not
  *       element-related (e.g. context switch, modal appearance, price change detection).</li>
+ *   <li>Poll timing comes from {@link AdaptivePoller}: fast first polls, backoff up to
+ *       {@link #POLL_INTERVAL} and a learnt expected latency per condition.</li>
  * </ul>
  */
 public final class WaitStrategy {
@@ -37,6 +43,7 @@ public final class WaitStrategy {
     public static final Duration DEFAULT_TIMEOUT  = Duration.ofSeconds(30);
     public static final Duration SHORT_TIMEOUT    = Duration.ofSeconds(10);
     public static final Duration LONG_TIMEOUT     = Duration.ofSeconds(60);
+    /** Longest gap between two polls; see {@link AdaptivePoller}. */
     public static final Duration POLL_INTERVAL    = Duration.ofMillis(500);
 
     private WaitStrategy() {}
@@ -51,8 +58,7 @@ public final class WaitStrategy {
     }
 
     public static WebElement waitForVisible(WebElement element, Duration timeout) {
-        return buildFluentWait(timeout)
-                .until(ExpectedConditions.visibilityOf(element));
+        return until("visible", timeout, ExpectedConditions.visibilityOf(element));
     }
 
     /** Waits until an element is clickable (visible + enabled). */
@@ -61,8 +67,7 @@ public final class WaitStrategy {
     }
 
     public static WebElement waitForClickable(WebElement element, Duration timeout) {
-        return buildFluentWait(timeout)
-                .until(ExpectedConditions.elementToBeClickable(element));
+        return until("clickable", timeout, ExpectedConditions.elementToBeClickable(element));
     }
 
     /** Waits until an element is no longer visible (e.g. loading spinner disappears). */
@@ -72,13 +77,56 @@ public final class WaitStrategy {
 
     public static boolean waitForInvisibility(WebElement element, Duration timeout) {
         try {
-            return buildFluentWait(timeout)
-                    .until(ExpectedConditions.invisibilityOf(element));
+            return until("invisible", timeout, ExpectedConditions.invisibilityOf(element));
         } catch (TimeoutException e) {
             return false;
         }
     }
 
+    // =========================================================================
+    // Multi-outcome waits
+    // =========================================================================
+
+    /** {@link #waitForFirst(Map, Duration)} with {@link #DEFAULT_TIMEOUT}. */
+    public static <K> K waitForFirst(Map<K, ? extends ExpectedCondition<?>> outcomes) {
+        return waitForFirst(outcomes, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits for whichever of several mutually exclusive outcomes happens first and
+     * returns its key, so a branching flow pays one timeout instead of the sum.
+     *
+     * <p>Every outcome is checked on each poll of a single loop, in map order – put
+     * the most likely outcome first. A condition whose element is missing or stale
+     * counts as "not yet" and does not stop the others being checked. Use
+     * {@code By}-based conditions (e.g. {@code visibilityOfElementLocated}): PageFactory
+     * proxies block for their own 15 s lookup when the element is absent.
+     *
+     * <pre>
+     *   Map&lt;Outcome, ExpectedCondition&lt;?&gt;&gt; outcomes = new LinkedHashMap&lt;&gt;();
+     *   outcomes.put(Outcome.PAYMENT, ExpectedConditions.visibilityOfElementLocated(PAYMENT_SCREEN));
+     *   outcomes.put(Outcome.PRICE_CHANGE, ExpectedConditions.visibilityOfElementLocated(PRICE_MODAL));
+     *   Outcome first = WaitStrategy.waitForFirst(outcomes, WaitStrategy.DEFAULT_TIMEOUT);
+     * </pre>
+     *
+     * @throws TimeoutException if none of the outcomes happens within the timeout
+     */
+    public static <K> K waitForFirst(Map<K, ? extends ExpectedCondition<?>> outcomes, Duration timeout) {
+        LOG.debug("Waiting up to {}s for the first of: {}", timeout.toSeconds(), outcomes.keySet());
+        AdaptivePoller.Schedule schedule = AdaptivePoller.forCaller("first-of " + outcomes.keySet());
+        return schedule.track(() -> buildFluentWait(timeout, schedule)
+                .withMessage(() -> "none of " + outcomes.keySet() + " happened")
+                .until(driver -> {
+                    schedule.polled();
+                    for (Map.Entry<K, ? extends ExpectedCondition<?>> outcome : outcomes.entrySet()) {
+                        if (isMet(outcome.getValue(), driver)) {
+                            return outcome.getKey();
+                        }
+                    }
+                    return null;
+                }));
+    }
+
     // =========================================================================
     // Callable / boolean conditions (Awaitility)
     // =========================================================================
@@ -93,12 +141,22 @@ public final class WaitStrategy {
      */
     public static void waitUntil(Callable<Boolean> condition, int timeoutSeconds, String description) {
         LOG.debug("Waiting up to {}s for: {}", timeoutSeconds, description);
+        AdaptivePoller.Schedule schedule = AdaptivePoller.forCondition(description);
         try {
-            Awaitility.await()
-                      .alias(description)
-                      .atMost(Duration.ofSeconds(timeoutSeconds))
-                      .pollInterval(POLL_INTERVAL)
-                      .until(condition);
+            schedule.track(() -> {
+                Awaitility.await()
+                          .alias(description)
+                          .atMost(Duration.ofSeconds(timeoutSeconds))
+                          .pollDelay(Duration.ZERO)
+                          .pollInterval(schedule)
+                          // Conditions read thread-bound state (DriverManager, ContextManager)
+                          .pollInSameThread()
+                          .until(() -> {
+                              schedule.polled();
+                              return condition.call();
+                          });
+                return null;
+            });
         } catch (ConditionTimeoutException e) {
             throw new RuntimeException("Timed out waiting for: " + description, e);
         }
@@ -109,16 +167,17 @@ public final class WaitStrategy {
      * Useful when a Supplier provides a lazily-found element.
      */
     public static WebElement waitForElement(Supplier<WebElement> elementSupplier, Duration timeout) {
-        FluentWait<AppiumDriver> wait = new FluentWait<>(DriverManager.getDriver())
+        AdaptivePoller.Schedule schedule = AdaptivePoller.forCaller("element");
+        FluentWait<AppiumDriver> wait = new FluentWait<>(DriverManager.getDriver(), Clock.systemDefaultZone(), schedule)
                 .withTimeout(timeout)
-                .pollingEvery(POLL_INTERVAL)
                 .ignoring(NoSuchElementException.class)
                 .ignoring(StaleElementReferenceException.class);
 
-        return wait.until(driver -> {
+        return schedule.track(() -> wait.until(driver -> {
+            schedule.polled();
             WebElement el = elementSupplier.get();
             return (el != null && el.isDisplayed()) ? el : null;
-        });
+        }));
     }
 
     // =========================================================================
@@ -146,9 +205,29 @@ public final class WaitStrategy {
     // Internal helpers
     // =========================================================================
 
-    private static WebDriverWait buildFluentWait(Duration timeout) {
-        return (WebDriverWait) new WebDriverWait(DriverManager.getDriver(), timeout)
-                .pollingEvery(POLL_INTERVAL)
+    /** {@code FluentWait} semantics: a condition is met when it returns neither null nor false. */
+    private static boolean isMet(ExpectedCondition<?> condition, WebDriver driver) {
+        try {
+            Object value = condition.apply(driver);
+            return value != null && !Boolean.FALSE.equals(value);
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    /** Runs an element condition on an adaptive schedule keyed by {@code kind} and the calling page method. */
+    private static <V> V until(String kind, Duration timeout, ExpectedCondition<V> condition) {
+        AdaptivePoller.Schedule schedule = AdaptivePoller.forCaller(kind);
+        return schedule.track(() -> buildFluentWait(timeout, schedule).until(driver -> {
+            schedule.polled();
+            return condition.apply(driver);
+        }));
+    }
+
+    /** Package-private for the JMH benchmarks. */
+    static WebDriverWait buildFluentWait(Duration timeout, AdaptivePoller.Schedule schedule) {
+        return (WebDriverWait) new WebDriverWait(DriverManager.getDriver(), timeout, POLL_INTERVAL,
+                                                 Clock.systemDefaultZone(), schedule)
                 .ignoring(NoSuchElementException.class)
                 .ignoring(StaleElementReferenceException.class);
     }
@@ -0,0 +1,102 @@
+package com.wizzair.core.wait;
+
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Waits against the in-process fake driver, registered with {@link DriverManager}
+ * like a scenario's driver.
+ */
+class WaitStrategyTest {
+
+    enum Screen { SEARCH, RESULTS, BOOKING }
+
+    @BeforeEach
+    void startDriver() {
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(new FakeAppiumOptions()));
+    }
+
+    @AfterEach
+    void quitDriver() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void waitUntilPollsOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> pollingThread = new AtomicReference<>();
+        AtomicInteger polls = new AtomicInteger();
+
+        WaitStrategy.waitUntil(() -> {
+            pollingThread.set(Thread.currentThread());
+            return polls.incrementAndGet() >= 3;
+        }, 5, "third poll");
+
+        assertThat(pollingThread.get()).isSameAs(caller);
+        assertThat(polls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void waitUntilFailsWithTheDescription() {
+        assertThatThrownBy(() -> WaitStrategy.waitUntil(() -> false, 1, "a condition that never holds"))
+                .hasMessage("Timed out waiting for: a condition that never holds");
+    }
+
+    @Test
+    void waitForFirstReturnsTheOutcomeOnScreen() {
+        Map<Screen, ExpectedCondition<?>> outcomes = new LinkedHashMap<>();
+        outcomes.put(Screen.RESULTS, visible("Flight results list"));
+        outcomes.put(Screen.BOOKING, visible("Continue to payment"));
+        outcomes.put(Screen.SEARCH, visible("Search flights"));
+
+        assertThat(WaitStrategy.waitForFirst(outcomes, Duration.ofSeconds(5))).isEqualTo(Screen.SEARCH);
+
+        tap("Search flights");
+        assertThat(WaitStrategy.waitForFirst(outcomes, Duration.ofSeconds(5))).isEqualTo(Screen.RESULTS);
+    }
+
+    @Test
+    void waitForFirstPrefersTheEarlierOutcomeWhenBothHold() {
+        Map<String, ExpectedCondition<?>> outcomes = new LinkedHashMap<>();
+        outcomes.put("destination", visible("Destination airport"));
+        outcomes.put("origin", visible("Origin airport"));
+
+        assertThat(WaitStrategy.waitForFirst(outcomes, Duration.ofSeconds(5))).isEqualTo("destination");
+    }
+
+    @Test
+    void waitForFirstTimesOutNamingEveryOutcome() {
+        Map<Screen, ExpectedCondition<?>> outcomes = new LinkedHashMap<>();
+        outcomes.put(Screen.RESULTS, visible("Flight results list"));
+        outcomes.put(Screen.BOOKING, visible("Continue to payment"));
+
+        assertThatThrownBy(() -> WaitStrategy.waitForFirst(outcomes, Duration.ofSeconds(1)))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("none of [RESULTS, BOOKING] happened");
+    }
+
+    private static ExpectedCondition<?> visible(String accessibilityId) {
+        return ExpectedConditions.visibilityOfElementLocated(AppiumBy.accessibilityId(accessibilityId));
+    }
+
+    private static void tap(String accessibilityId) {
+        DriverManager.getDriver().findElement(AppiumBy.accessibilityId(accessibilityId)).click();
+    }
+}
@@ -1,40 +1,77 @@
 package com.wizzair.hooks;
 
-import com.wizzair.config.ConfigLoader;
 import com.wizzair.config.DeviceConfig;
-import com.wizzair.core.driver.DriverFactory;
+import com.wizzair.core.driver.DeviceLeaseScheduler;
 import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.driver.SessionPool;
+import com.wizzair.core.interrupt.InterruptRegistry;
+import com.wizzair.core.metrics.WebViewPerformance;
+import com.wizzair.pages.common.BookingPage;
 import com.wizzair.pages.common.PermissionHandler;
 import com.wizzair.utils.ScreenshotHelper;
+import io.qameta.allure.Allure;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Cucumber lifecycle hooks for driver initialisation and teardown.
  *
  * <p>Order:
  * <ol>
- *   <li>{@link #setUp(Scenario)} – create driver, handle first-launch permissions</li>
+ *   <li>{@link #registerInterrupts()} – once per run, register the permission-dialog and price-change interrupts</li>
+ *   <li>{@link #setUp(Scenario)} – lease a device and a warm driver, handle first-launch permissions</li>
+ *   <li>{@link #handleInterrupts()} – before each step, dismiss interrupts seen in page snapshots</li>
  *   <li>Scenario steps execute</li>
- *   <li>{@link #attachScreenshotOnFailure(Scenario)} – screenshot on failure</li>
- *   <li>{@link #tearDown(Scenario)} – quit driver</li>
+ *   <li>{@link #afterEachStep(Scenario)} – screenshot on failure</li>
+ *   <li>{@link #checkWebViewPerformance()} – attach WebView timings, fail the scenario on an exceeded budget</li>
+ *   <li>{@link #tearDown(Scenario)} – return the driver to the session pool and free the device</li>
+ *   <li>{@link #shutDownSessionPool()} – once per run, quit all pooled sessions</li>
  * </ol>
  */
 public class DriverHooks {
 
     private static final Logger LOG = LoggerFactory.getLogger(DriverHooks.class);
 
+    /** Scenarios tagged with this test the modal themselves, so it must not be auto-accepted. */
+    private static final String PRICE_CHANGE_TAG = "@price-change";
+
+    @BeforeAll
+    public static void registerInterrupts() {
+        InterruptRegistry.register(PermissionHandler.INTERRUPT);
+        InterruptRegistry.register(BookingPage.PRICE_CHANGE_INTERRUPT);
+    }
+
     @Before(order = 0)
     public void setUp(Scenario scenario) {
         LOG.info("▶ Starting scenario: {}", scenario.getName());
-        DeviceConfig cfg = ConfigLoader.load();
+        // Bind this worker thread to a free device (blocks while all devices are busy)
+        DeviceConfig cfg = DeviceLeaseScheduler.get().lease();
+
+        // Lease a warm session (or create one) and register it for this thread
+        try {
+            DriverManager.acquireDriver(cfg);
+        } catch (RuntimeException e) {
+            DeviceLeaseScheduler.get().release();
+            throw e;
+        }
 
-        // Create and register the driver
-        DriverManager.setDriver(DriverFactory.createDriver(cfg));
+        // Look-ahead: build sessions for idle devices while this scenario runs
+        if (cfg.isSessionPrewarm()) {
+            SessionPool.get().prewarm(DeviceLeaseScheduler.get().freeDevices());
+        }
+
+        if (scenario.getSourceTagNames().contains(PRICE_CHANGE_TAG)) {
+            InterruptRegistry.suspendForScenario(BookingPage.PRICE_CHANGE_INTERRUPT.name());
+        }
 
         // Handle any first-launch permission dialogs that appear at startup
         // (only needed when autoGrantPermissions = false in config)
@@ -44,6 +81,12 @@ public class DriverHooks {
         }
     }
 
+    @BeforeStep
+    public void handleInterrupts() {
+        // Free unless a snapshot taken during an earlier step spotted an interrupt
+        InterruptRegistry.handlePending();
+    }
+
     @AfterStep
     public void afterEachStep(Scenario scenario) {
         // Capture a screenshot after every step when the scenario has failed
@@ -53,12 +96,42 @@ public class DriverHooks {
         }
     }
 
+    /** Runs before {@link #tearDown(Scenario)} (higher order first), so a failure here still releases the driver. */
+    @After(order = 1)
+    public void checkWebViewPerformance() {
+        List<WebViewPerformance.Report> reports = WebViewPerformance.finishScenario();
+        if (reports.isEmpty()) {
+            return;
+        }
+        Allure.addAttachment("WebView performance", "application/json", WebViewPerformance.toJson(reports), "json");
+        List<String> violations = WebViewPerformance.violations(reports);
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (WebViewPerformance.enforcesBudgets()) {
+            throw new AssertionError("WebView performance budget exceeded: " + String.join(", ", violations));
+        }
+        LOG.warn("WebView performance budget exceeded (not enforced): {}", violations);
+    }
+
     @After(order = 0)
     public void tearDown(Scenario scenario) {
         LOG.info("◀ Finishing scenario: {} | Status: {}", scenario.getName(), scenario.getStatus());
         if (scenario.isFailed()) {
             ScreenshotHelper.attachToReport("Final failure screenshot");
         }
-        DriverManager.quitDriver();
+        InterruptRegistry.resetScenario();
+        try {
+            DriverManager.releaseDriver();
+        } finally {
+            DeviceLeaseScheduler.get().release();
+        }
+    }
+
+    @AfterAll
+    public static void shutDownSessionPool() {
+        DeviceLeaseScheduler.get().logSummary();
+        SessionPool.get().logSummary();
+        SessionPool.get().drain();
     }
 }
@@ -0,0 +1,23 @@
+package com.wizzair.hooks;
+
+import com.wizzair.config.ConfigLoader;
+import com.wizzair.core.driver.DeviceLeaseScheduler;
+import com.wizzair.core.fake.FakeAppiumDevices;
+import io.cucumber.java.BeforeAll;
+
+/**
+ * Offline runs: with {@code -DfakeAppium} set, scenarios lease devices backed by
+ * in-process fake Appium servers instead of the configured endpoints.
+ */
+public class FakeAppiumHooks {
+
+    /** Runs before any other hook, so the first lease already sees the fake pool. */
+    @BeforeAll(order = 0)
+    public static void useFakeAppiumServers() {
+        int servers = FakeAppiumDevices.requestedServers();
+        if (servers > 0) {
+            boolean poolFile = !System.getProperty("devicePool", "").isBlank();
+            DeviceLeaseScheduler.usePool(FakeAppiumDevices.pool(ConfigLoader.loadDevicePool(), servers, poolFile));
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.wizzair.pages.common;
 import com.wizzair.config.ConfigLoader;
 import com.wizzair.config.DeviceConfig;
 import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.element.CachingFieldDecorator;
+import com.wizzair.core.element.PageBinding;
+import com.wizzair.core.form.FormState;
+import com.wizzair.core.snapshot.PageSnapshot;
 import com.wizzair.core.wait.WaitStrategy;
 import io.appium.java_client.AppiumDriver;
-import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,7 +20,10 @@ import java.time.Duration;
  *
  * <p>Responsibilities:
  * <ul>
- *   <li>Initialises Appium PageFactory element decorators</li>
+ *   <li>Initialises element proxies from a {@link PageBinding} built once per page
+ *       class; single elements are cached per page object (see
+ *       {@link CachingFieldDecorator})</li>
+ *   <li>Reports itself to the scenario's {@link PageRegistry} as the screen now shown</li>
  *   <li>Exposes protected helpers (driver, config, wait) to subclasses</li>
  *   <li>Provides a {@link #isLoaded()} contract to verify page readiness</li>
  * </ul>
@@ -32,11 +37,10 @@ public abstract class BasePage {
     protected final DeviceConfig config = ConfigLoader.load();
 
     protected BasePage() {
-        // Initialise @FindBy / @iOSXCUITFindBy / @AndroidFindBy annotations
-        PageFactory.initElements(
-            new AppiumFieldDecorator(driver(), Duration.ofSeconds(15)),
-            this
-        );
+        // Initialise @FindBy / @iOSXCUITFindBy / @AndroidFindBy annotations;
+        // the annotations are read once per page class, not per instance
+        PageBinding.of(getClass(), config).bind(this, driver(), Duration.ofSeconds(15));
+        PageRegistry.shown(this);
     }
 
     // -------------------------------------------------------------------------
@@ -51,6 +55,14 @@ public abstract class BasePage {
      */
     public abstract boolean isLoaded();
 
+    /**
+     * Values of every text input on the screen, read with one page-source fetch.
+     * Compare two states with {@link FormState#diff}.
+     */
+    public FormState formState() {
+        return FormState.of(PageSnapshot.capture(driver()));
+    }
+
     // -------------------------------------------------------------------------
     // Protected convenience accessors
     // -------------------------------------------------------------------------
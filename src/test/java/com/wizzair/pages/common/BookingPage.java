@@ -1,9 +1,20 @@
 package com.wizzair.pages.common;
 
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.form.FormFiller;
+import com.wizzair.core.interrupt.Interrupt;
 import com.wizzair.core.wait.WaitStrategy;
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for the flight booking flow.
@@ -17,6 +28,30 @@ import org.openqa.selenium.WebElement;
  */
 public class BookingPage extends BasePage {
 
+    /** What can follow a tap on 'Continue to payment'. */
+    enum ContinueOutcome { PAYMENT, PRICE_CHANGE, ERROR }
+
+    /** Price changes can repeat if the fare moves again while the modal is open. */
+    private static final int MAX_PRICE_CHANGES = 3;
+
+    // Raw locators for the outcome race – PageFactory proxies would block on absent elements
+    private static final By PAYMENT_SCREEN = AppiumBy.accessibilityId("Payment screen");
+    private static final By PRICE_MODAL    = AppiumBy.accessibilityId("Price changed modal");
+    private static final By ERROR_TOAST    = AppiumBy.accessibilityId("Error message");
+    private static final By ACCEPT_PRICE   = AppiumBy.accessibilityId("Accept new price");
+
+    // Accessibility ids of the passenger form inputs, also the keys of its FormState
+    public static final String FIRST_NAME = "First name";
+    public static final String LAST_NAME  = "Last name";
+    public static final String EMAIL      = "Email";
+    public static final String PHONE      = "Phone number";
+
+    /** Accepts a price-change modal wherever a page snapshot sees one; registered by {@code DriverHooks}. */
+    public static final Interrupt PRICE_CHANGE_INTERRUPT = new Interrupt(
+            "price-change-modal",
+            snapshot -> !snapshot.byAccessibilityId("Price changed modal").isEmpty(),
+            () -> DriverManager.getDriver().findElement(ACCEPT_PRICE).click());
+
     // =========================================================================
     // Locators
     // =========================================================================
@@ -87,6 +122,23 @@ public class BookingPage extends BasePage {
         return this;
     }
 
+    /**
+     * Fills the whole passenger form with {@link FormFiller}: fields are set in one
+     * command each and verified with a single page-source read; only fields that reject
+     * that are typed one by one.
+     */
+    public BookingPage fillPassengerDetails(PassengerDetails details) {
+        LOG.info("Filling passenger details: {} {}, {}, {}",
+                details.firstName(), details.lastName(), details.email(), details.phone());
+        FormFiller.fill(driver(), List.of(
+                new FormFiller.Field(FIRST_NAME, firstNameField, details.firstName()),
+                new FormFiller.Field(LAST_NAME, lastNameField, details.lastName()),
+                new FormFiller.Field(EMAIL, emailField, details.email()),
+                new FormFiller.Field(PHONE, phoneField, details.phone())),
+                this::type);
+        return this;
+    }
+
     /**
      * Returns the current value of the first name field (used after app resume
      * to verify data was preserved).
@@ -132,18 +184,42 @@ public class BookingPage extends BasePage {
     // =========================================================================
 
     /**
-     * Proceeds to the payment screen. Before tapping, checks for a price-change
-     * modal and handles it automatically if present.
+     * Proceeds to the payment screen. A price-change modal already on screen is
+     * accepted first, since it covers the continue button. Then taps continue and
+     * waits for whichever comes first: the payment screen, a price-change modal
+     * (accepted automatically, then continue is tapped again) or an error message.
+     *
+     * @throws IllegalStateException if the app shows an error instead of payment
      */
     public PaymentPage proceedToPayment() {
-        // Handle price change modal if it appears
-        if (isPriceChangeModalVisible()) {
-            LOG.warn("Price change modal detected – accepting new price");
+        Map<ContinueOutcome, ExpectedCondition<?>> outcomes = new LinkedHashMap<>();
+        outcomes.put(ContinueOutcome.PAYMENT, ExpectedConditions.visibilityOfElementLocated(PAYMENT_SCREEN));
+        outcomes.put(ContinueOutcome.PRICE_CHANGE, ExpectedConditions.visibilityOfElementLocated(PRICE_MODAL));
+        outcomes.put(ContinueOutcome.ERROR, ExpectedConditions.visibilityOfElementLocated(ERROR_TOAST));
+
+        // One lookup, no wait: the modal either covers the button already or is raced below
+        if (driver().findElements(PRICE_MODAL).stream().anyMatch(WebElement::isDisplayed)) {
+            LOG.warn("Price change modal already open – accepting new price");
             acceptPriceChange();
         }
-        LOG.info("Tapping 'Continue to payment'");
-        tap(continueToPaymentButton);
-        return new PaymentPage();
+
+        for (int attempt = 0; attempt <= MAX_PRICE_CHANGES; attempt++) {
+            LOG.info("Tapping 'Continue to payment'");
+            tap(continueToPaymentButton);
+
+            switch (WaitStrategy.waitForFirst(outcomes)) {
+                case PAYMENT:
+                    return new PaymentPage();
+                case PRICE_CHANGE:
+                    LOG.warn("Price change modal detected – accepting new price");
+                    acceptPriceChange();
+                    break;
+                case ERROR:
+                    throw new IllegalStateException("Booking failed before payment: "
+                            + driver().findElement(ERROR_TOAST).getText());
+            }
+        }
+        throw new IllegalStateException("Price changed more than " + MAX_PRICE_CHANGES + " times – giving up");
     }
 
     // =========================================================================
@@ -0,0 +1,104 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.context.ContextManager;
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.metrics.CommandMetrics;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@code proceedToPayment} on the fake Android booking screen, one outcome of
+ * 'Continue to payment' per test.
+ */
+class BookingPageTest {
+
+    private final FakeAppiumOptions options = new FakeAppiumOptions();
+
+    @AfterEach
+    void quitDriver() {
+        ContextManager.invalidate();
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void continueLeadsStraightToPayment() {
+        BookingPage booking = openBooking();
+        long taps = bookingPageTaps();
+
+        assertThat(booking.proceedToPayment().isLoaded()).isTrue();
+        assertThat(bookingPageTaps() - taps).isEqualTo(1);
+    }
+
+    @Test
+    void openPriceModalIsAcceptedBeforeTheFirstTap() {
+        options.setPriceChange(true);
+        BookingPage booking = openBooking();
+        booking.fillPassengerDetails(new PassengerDetails("Anna", "Kovacs", "anna@example.com", "+36301234567"));
+        assertThat(booking.isPriceChangeModalVisible()).isTrue();
+        long taps = bookingPageTaps();
+
+        assertThat(booking.proceedToPayment().isLoaded()).isTrue();
+        // Accept, then continue once
+        assertThat(bookingPageTaps() - taps).isEqualTo(2);
+    }
+
+    @Test
+    void priceChangeAfterTheTapIsAcceptedAndContinueTappedAgain() {
+        options.setContinueReprices(1);
+        BookingPage booking = openBooking();
+        long taps = bookingPageTaps();
+
+        assertThat(booking.proceedToPayment().isLoaded()).isTrue();
+        // Continue, accept, continue
+        assertThat(bookingPageTaps() - taps).isEqualTo(3);
+    }
+
+    @Test
+    void priceThatKeepsChangingIsGivenUp() {
+        options.setContinueReprices(10);
+        BookingPage booking = openBooking();
+
+        assertThatThrownBy(booking::proceedToPayment)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Price changed more than 3 times");
+    }
+
+    @Test
+    void errorMessageFailsWithItsText() {
+        options.setBookingError("This flight is no longer available");
+        BookingPage booking = openBooking();
+
+        assertThatThrownBy(booking::proceedToPayment)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("This flight is no longer available");
+    }
+
+    // ---- Helpers
+
+    private BookingPage openBooking() {
+        options.setWebViewDelayMs(0);
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(options));
+        DriverManager.getDriver().findElement(AppiumBy.accessibilityId("Search flights")).click();
+        DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Flight card")).get(0).click();
+        return new BookingPage();
+    }
+
+    /** Taps sent from BookingPage so far: continue and accept-price alike. */
+    @SuppressWarnings("unchecked")
+    private static long bookingPageTaps() {
+        return ((List<Map<String, Object>>) CommandMetrics.report().get("entries")).stream()
+                .filter(entry -> entry.get("command").equals("clickElement"))
+                .filter(entry -> entry.get("page").equals("BookingPage"))
+                .mapToLong(entry -> (Long) entry.get("count"))
+                .sum();
+    }
+}
@@ -0,0 +1,54 @@
+package com.wizzair.pages.common;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One row of the flight results list, as read from a page snapshot.
+ *
+ * <p>Values are the strings the app shows; a field the card does not show is
+ * {@code null}.
+ *
+ * @param departureTime e.g. "06:00"
+ * @param arrivalTime   e.g. "08:30"
+ * @param flightNumber  e.g. "W6 2201"
+ * @param price         e.g. "€32.99"
+ */
+public record FlightCard(String departureTime, String arrivalTime, String flightNumber, String price) {
+
+    private static final Pattern TIMES         = Pattern.compile("(\\d{1,2}:\\d{2})\\D+(\\d{1,2}:\\d{2})");
+    private static final Pattern FLIGHT_NUMBER = Pattern.compile("[A-Z0-9]{2} ?\\d{1,4}");
+    private static final Pattern PRICE         = Pattern.compile(".*(\\p{Sc}|\\b[A-Z]{3}\\b).*\\d.*|.*\\d.*(\\p{Sc}|\\b[A-Z]{3}\\b).*");
+    private static final Pattern AMOUNT        = Pattern.compile("\\d+(?:[.,]\\d+)?");
+
+    /** Builds a card from the accessibility ids and texts inside it, in document order. */
+    static FlightCard parse(List<String> texts) {
+        String departure = null;
+        String arrival   = null;
+        String number    = null;
+        String price     = null;
+        for (String text : texts) {
+            Matcher times = TIMES.matcher(text);
+            if (departure == null && times.find()) {
+                departure = times.group(1);
+                arrival   = times.group(2);
+            } else if (number == null && FLIGHT_NUMBER.matcher(text).matches()) {
+                number = text;
+            } else if (price == null && PRICE.matcher(text).matches()) {
+                price = text;
+            }
+        }
+        return new FlightCard(departure, arrival, number, price);
+    }
+
+    /** The numeric part of {@link #price()}, or {@code null} if there is none. */
+    public BigDecimal priceAmount() {
+        if (price == null) {
+            return null;
+        }
+        Matcher amount = AMOUNT.matcher(price);
+        return amount.find() ? new BigDecimal(amount.group().replace(',', '.')) : null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.wizzair.pages.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightCardTest {
+
+    @Test
+    void parsesTheTextsOfACardInAnyOrder() {
+        assertThat(FlightCard.parse(List.of("Flight card", "€32.99", "06:00 08:30", "W6 2201")))
+                .isEqualTo(new FlightCard("06:00", "08:30", "W6 2201", "€32.99"));
+    }
+
+    @Test
+    void timesMayBeSplitBySeparators() {
+        FlightCard card = FlightCard.parse(List.of("Departs 6:05 – arrives 8:35", "HUF 12 990"));
+
+        assertThat(card.departureTime()).isEqualTo("6:05");
+        assertThat(card.arrivalTime()).isEqualTo("8:35");
+        assertThat(card.price()).isEqualTo("HUF 12 990");
+    }
+
+    @Test
+    void missingFieldsAreNull() {
+        FlightCard card = FlightCard.parse(List.of("Flight card", "W6 2201"));
+
+        assertThat(card).isEqualTo(new FlightCard(null, null, "W6 2201", null));
+        assertThat(card.priceAmount()).isNull();
+    }
+
+    @Test
+    void priceAmountReadsCommaDecimals() {
+        assertThat(new FlightCard("06:00", "08:30", "W6 2201", "32,99 €").priceAmount())
+                .isEqualByComparingTo(new BigDecimal("32.99"));
+    }
+}
@@ -1,24 +1,48 @@
 package com.wizzair.pages.common;
 
+import com.wizzair.core.snapshot.PageSnapshot;
+import com.wizzair.core.snapshot.SnapshotNode;
 import com.wizzair.core.wait.WaitStrategy;
 import com.wizzair.utils.ScrollHelper;
-import io.appium.java_client.AppiumBy;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.iOSXCUITFindBy;
-import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebElement;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Page Object for the flight search results screen.
  *
  * <p>Key challenge: results load dynamically as the user scrolls (infinite scroll).
  * {@link #findFlightByTime(String, String)} keeps scrolling until the target
- * flight row appears or the list is exhausted.
+ * flight row appears or the list is exhausted, recording what it sees in a
+ * {@link ResultListIndex}. When both times are given it first lets the device scroll
+ * to the card (UiScrollable on Android, {@code mobile: scroll} on iOS).
  */
 public class FlightResultsPage extends BasePage {
 
+    /** {@code -Dresults.serverSideScroll=false} always uses the client-side swipe loop. */
+    private static final boolean SERVER_SIDE_SCROLL =
+            Boolean.parseBoolean(System.getProperty("results.serverSideScroll", "true"));
+
+    /** Upper bound on the swipes one {@link #flights()} stream may make. */
+    private static final int MAX_PAGING_SWIPES = 100;
+
+    /** Swipe budget for the device-side search – several pages of results. */
+    private static final int SERVER_SIDE_MAX_SWIPES = 50;
+
+    /** Set once the server rejects the device-side search, so later lookups skip it. */
+    private static volatile boolean serverSideUnsupported;
+
     // =========================================================================
     // Locators
     // =========================================================================
@@ -46,38 +70,130 @@ public class FlightResultsPage extends BasePage {
      * Scrolls through the results list until a flight matching the given
      * departure and arrival time is found, then taps it.
      *
+     * <p>With both times given, the device scrolls to the card itself and it is found
+     * in one command ({@link #scrollToCardOnDevice}); the swipe loop below is the
+     * fallback for servers that do not support that, for wildcard ("") times, and for
+     * device-side misses – times in separate labels, or a page that had not loaded
+     * when UiScrollable gave up. After such a miss the loop swipes down to the end
+     * first, then up to the top.
+     *
+     * <p>Every screen the loop sees is added to a {@link ResultListIndex} that lives until the
+     * next search. It stops the scroll at the real end of the list, takes a known card
+     * above the viewport by scrolling up, and lets a repeat lookup for a flight that is
+     * not in a fully seen list fail without swiping at all – the only case that fails
+     * before any swipe.
+     *
      * @param departureTime  e.g. "06:00"
      * @param arrivalTime    e.g. "08:30"
      * @return {@link BookingPage} after tapping the flight card
-     * @throws RuntimeException if the flight is not found after exhausting scroll
+     * @throws RuntimeException if the flight is not in the list
      */
     public BookingPage findFlightByTime(String departureTime, String arrivalTime) {
         LOG.info("Searching for flight: {} → {}", departureTime, arrivalTime);
 
+        ResultListIndex index = ResultListIndex.current(driver());
+        if (index.knownMissing(departureTime, arrivalTime)) {
+            throw notFound(departureTime, arrivalTime, index);
+        }
+
+        if (SERVER_SIDE_SCROLL && !serverSideUnsupported && !departureTime.isBlank() && !arrivalTime.isBlank()) {
+            WebElement card = scrollToCardOnDevice(departureTime, arrivalTime);
+            if (card != null) {
+                LOG.info("Flight found by device-side scroll – tapping card");
+                index.afterDeviceScroll();
+                tap(card);
+                return new BookingPage();
+            }
+        }
+
         final int maxScrollAttempts = 20;
         for (int attempt = 0; attempt < maxScrollAttempts; attempt++) {
 
-            // Wait for any loading indicator to disappear first
-            WaitStrategy.waitForInvisibility(loadingSpinner, WaitStrategy.SHORT_TIMEOUT);
-
             // Look for the target flight in currently visible cards
-            WebElement card = findCardByTimes(departureTime, arrivalTime);
+            PageSnapshot snapshot = settledSnapshot();
+            ResultListIndex.Window window = index.ingest(snapshot);
+            WebElement card = findCardIn(snapshot, departureTime, arrivalTime);
             if (card != null) {
                 LOG.info("Flight found – tapping card");
                 tap(card);
                 return new BookingPage();
             }
 
-            // Not yet visible – scroll down to load more results
-            LOG.debug("Flight not visible on scroll attempt {}; scrolling down", attempt + 1);
-            boolean scrolled = ScrollHelper.scrollDown(driver());
-            if (!scrolled) {
-                break; // Reached the bottom of the list
+            // Not visible – scroll towards it if already seen, otherwise down to load more,
+            // then up if the device-side scroll left unseen cards above
+            int known = index.positionOf(departureTime, arrivalTime);
+            if (known >= 0 && known < window.first()
+                    || known < 0 && index.isEndSeen() && !index.isTopSeen()) {
+                LOG.debug("Flight is above the viewport (card {}); scrolling up", known + 1);
+                if (!ScrollHelper.scrollUp(driver())) {
+                    break;
+                }
+                index.afterSwipeUp(window, index.ingest(settledSnapshot()));
+            } else if (!index.isEndSeen() || known > window.last()) {
+                LOG.debug("Flight not visible on scroll attempt {}; scrolling down", attempt + 1);
+                if (!ScrollHelper.scrollDown(driver())) {
+                    break;
+                }
+                index.afterSwipeDown(window, index.ingest(settledSnapshot()));
+            } else {
+                break;
             }
         }
 
-        throw new RuntimeException(
-            "Flight (" + departureTime + " → " + arrivalTime + ") not found after scrolling.");
+        throw notFound(departureTime, arrivalTime, index);
+    }
+
+    /**
+     * The results list as a lazy, ordered stream of {@link FlightCard}s.
+     *
+     * <p>Cards come from the {@link ResultListIndex} first; the list is only swiped
+     * further when the consumer asks for a card beyond what has been seen, and each
+     * swipe costs one page-source fetch. Short-circuiting operations therefore stop the
+     * scrolling early: {@code flights().limit(3).count()} reads the first screen only,
+     * {@code flights().anyMatch(...)} stops at the first match. If a device-side scroll
+     * left the list part-way down, the stream first swipes back to the top. It leaves the
+     * list wherever it stopped scrolling; it must be consumed on the scenario's thread.
+     */
+    public Stream<FlightCard> flights() {
+        ResultListIndex index = ResultListIndex.current(driver());
+        Iterator<FlightCard> cards = new Iterator<>() {
+            private int position;
+            private ResultListIndex.Window window;
+            private int swipes;
+
+            @Override
+            public boolean hasNext() {
+                if (window == null) {
+                    window = index.ingest(settledSnapshot());
+                    while (!index.isTopSeen() && swipes < MAX_PAGING_SWIPES && ScrollHelper.scrollUp(driver())) {
+                        swipes++;
+                        ResultListIndex.Window after = index.ingest(settledSnapshot());
+                        index.afterSwipeUp(window, after);
+                        window = after;
+                    }
+                }
+                while (position >= index.size() && !index.isComplete() && swipes < MAX_PAGING_SWIPES) {
+                    if (!ScrollHelper.scrollDown(driver())) {
+                        break;
+                    }
+                    swipes++;
+                    ResultListIndex.Window after = index.ingest(settledSnapshot());
+                    index.afterSwipeDown(window, after);
+                    window = after;
+                }
+                return position < index.size();
+            }
+
+            @Override
+            public FlightCard next() {
+                if (!hasNext()) {
+                    throw new java.util.NoSuchElementException("No more flight results");
+                }
+                return index.card(position++).toFlightCard();
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(cards, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     /**
@@ -102,28 +218,92 @@ public class FlightResultsPage extends BasePage {
 
     /**
      * Searches visible flight cards for one matching the given times.
+     * Package-private for the JMH benchmarks.
+     */
+    WebElement findCardByTimes(String departureTime, String arrivalTime) {
+        return findCardIn(PageSnapshot.capture(driver()), departureTime, arrivalTime);
+    }
+
+    /**
+     * Searches the cards in a snapshot for one matching the given times.
      * Uses accessibility label / content description to avoid fragile positional XPath.
+     *
+     * <p>All lookups run against the {@link PageSnapshot}, so the search costs a single
+     * page-source round-trip plus one find for the match, however many cards are shown.
      */
-    private WebElement findCardByTimes(String departureTime, String arrivalTime) {
+    private WebElement findCardIn(PageSnapshot snapshot, String departureTime, String arrivalTime) {
         String targetLabel = departureTime + " " + arrivalTime;  // label format in the app
 
         // Try accessibility ID first (most stable)
-        List<WebElement> matches = driver().findElements(
-            AppiumBy.accessibilityId(targetLabel));
-        if (!matches.isEmpty()) return matches.get(0);
-
-        // Fallback: search inside each card for the time labels
-        for (WebElement card : flightCards) {
-            try {
-                String cardText = card.getAttribute("content-desc");
-                if (cardText != null && cardText.contains(departureTime)
-                                     && cardText.contains(arrivalTime)) {
-                    return card;
-                }
-            } catch (Exception ignored) {
-                // Stale element – the list recycled; next scroll will refresh
+        SnapshotNode match = snapshot.byAccessibilityId(targetLabel).stream().findFirst()
+                // Fallback: search inside each card for the time labels
+                .or(() -> snapshot.byAccessibilityId(ResultListIndex.CARD).stream()
+                        .filter(card -> card.descendantsAndSelf().stream().anyMatch(n -> n.mentions(departureTime))
+                                     && card.descendantsAndSelf().stream().anyMatch(n -> n.mentions(arrivalTime)))
+                        .findFirst())
+                .orElse(null);
+        if (match == null) {
+            return null;
+        }
+
+        try {
+            return snapshot.resolve(match);
+        } catch (NoSuchElementException e) {
+            // The list recycled since the snapshot; next scroll will refresh
+            LOG.debug("Matched card is gone: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lets the device scroll the list until the card with both times is on screen and
+     * returns it: a single {@code findElement} with a {@code UiScrollable} whose
+     * {@code descriptionMatches} covers both times on Android, {@code mobile: scroll} with
+     * an NSPredicate on iOS.
+     *
+     * @return the card, or {@code null} when the server does not support the search or
+     *         found no match; after a miss the list is left wherever the device stopped
+     */
+    private WebElement scrollToCardOnDevice(String departureTime, String arrivalTime) {
+        try {
+            if (config.isAndroid()) {
+                String regex = ".*" + Pattern.quote(departureTime) + ".*" + Pattern.quote(arrivalTime) + ".*";
+                return ScrollHelper.scrollToDescriptionAndroid(driver(), regex, SERVER_SIDE_MAX_SWIPES);
             }
+            String predicate = "name CONTAINS '" + predicateLiteral(departureTime)
+                             + "' AND name CONTAINS '" + predicateLiteral(arrivalTime) + "'";
+            return ScrollHelper.scrollToPredicateIos(driver(), predicate);
+        } catch (InvalidSelectorException | UnsupportedCommandException e) {
+            serverSideUnsupported = true;
+            LOG.warn("Device-side scroll not supported ({}); using client-side swipes", e.getClass().getSimpleName());
+            return null;
+        } catch (NoSuchElementException e) {
+            LOG.info("Device-side scroll found no card for {} → {}; falling back to swipes", departureTime, arrivalTime);
+            ResultListIndex.current(driver()).afterDeviceScroll();
+            return null;
+        }
+    }
+
+    private static String predicateLiteral(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
+    private static RuntimeException notFound(String departureTime, String arrivalTime, ResultListIndex index) {
+        return new RuntimeException(
+            "Flight (" + departureTime + " → " + arrivalTime + ") not found in "
+            + index.size() + " results" + (index.isComplete() ? " (whole list seen)." : " after scrolling."));
+    }
+
+    /**
+     * A snapshot of the list with no page load in progress. The loading spinner is only
+     * waited on when the snapshot shows it.
+     */
+    private PageSnapshot settledSnapshot() {
+        PageSnapshot snapshot = PageSnapshot.current(driver());
+        if (snapshot.byAccessibilityId(ResultListIndex.LOADING).isEmpty()) {
+            return snapshot;
         }
-        return null;
+        WaitStrategy.waitForInvisibility(loadingSpinner, WaitStrategy.SHORT_TIMEOUT);
+        return PageSnapshot.capture(driver());
     }
 }
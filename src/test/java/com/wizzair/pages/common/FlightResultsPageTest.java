@@ -0,0 +1,130 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.metrics.CommandMetrics;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Flight lookups on the fake Android results list: 40 flights in pages of 20.
+ * Flight {@code i} departs at 03:00 + 15 min × i and lands 2 h 30 later.
+ */
+class FlightResultsPageTest {
+
+    private final FakeAppiumOptions options = new FakeAppiumOptions();
+
+    @AfterEach
+    void quitDriver() {
+        ResultListIndex.reset();
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void deviceScrollsToAFlightOnTheSecondPage() {
+        FlightResultsPage results = openResults();
+        long pageSources = resultsPageCommands("getPageSource");
+
+        results.findFlightByTime("10:30", "13:00");
+
+        assertThat(DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Booking header"))).hasSize(1);
+        assertThat(resultsPageCommands("getPageSource")).isEqualTo(pageSources);
+    }
+
+    @Test
+    void wildcardTimeIsFoundBySwiping() {
+        FlightResultsPage results = openResults();
+        long swipes = resultsPageCommands("actions");
+
+        results.findFlightByTime("04:30", "");
+
+        assertThat(DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Booking header"))).hasSize(1);
+        assertThat(resultsPageCommands("actions")).isGreaterThan(swipes);
+    }
+
+    @Test
+    void missingFlightFails() {
+        FlightResultsPage results = openResults();
+
+        assertThatThrownBy(() -> results.findFlightByTime("23:15", "01:45"))
+                .hasMessageContaining("(23:15 → 01:45) not found");
+    }
+
+    @Test
+    void splitTimeLabelsAreFoundBySwipingAfterTheDeviceMisses() {
+        options.setSplitTimeLabels(true);
+        FlightResultsPage results = openResults();
+        long swipes = resultsPageCommands("actions");
+
+        // UiScrollable's descriptionMatches needs both times in one label, so it runs to the end
+        results.findFlightByTime("05:00", "07:30");
+
+        assertThat(DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Booking header"))).hasSize(1);
+        assertThat(resultsPageCommands("actions")).isGreaterThan(swipes);
+    }
+
+    @Test
+    void flightBeyondTheDeviceSwipeBudgetIsFoundBySwiping() {
+        options.setFlightCount(90);
+        options.setCardsPerSwipe(1);
+        FlightResultsPage results = openResults();
+
+        // Flight 62: UiScrollable gives up after 50 one-card swipes, at card 50
+        results.findFlightByTime("18:30", "21:00");
+
+        assertThat(DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Booking header"))).hasSize(1);
+    }
+
+    @Test
+    void repeatLookupOfAMissingFlightFailsWithoutSwiping() {
+        FlightResultsPage results = openResults();
+        assertThatThrownBy(() -> results.findFlightByTime("23:15", "01:45"))
+                .hasMessageContaining("(whole list seen)");
+        long swipes = resultsPageCommands("actions");
+
+        assertThatThrownBy(() -> results.findFlightByTime("23:15", "01:45"))
+                .hasMessageContaining("not found in 40 results (whole list seen)");
+        assertThat(resultsPageCommands("actions")).isEqualTo(swipes);
+    }
+
+    @Test
+    void flightsStreamSwipesOnlyAsFarAsTheConsumerReads() {
+        FlightResultsPage results = openResults();
+        long swipes = resultsPageCommands("actions");
+
+        assertThat(results.flights().limit(3)).extracting(FlightCard::flightNumber)
+                .containsExactly("W6 2200", "W6 2201", "W6 2202");
+        assertThat(resultsPageCommands("actions")).isEqualTo(swipes);
+
+        assertThat(results.flights().filter(card -> card.departureTime().equals("05:00")).findFirst())
+                .get().extracting(FlightCard::flightNumber).isEqualTo("W6 2208");
+        assertThat(resultsPageCommands("actions")).isGreaterThan(swipes);
+    }
+
+    // ---- Helpers
+
+    private FlightResultsPage openResults() {
+        options.setLoadMoreDelayMs(0);
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(options));
+        DriverManager.getDriver().findElement(AppiumBy.accessibilityId("Search flights")).click();
+        return new FlightResultsPage();
+    }
+
+    /** Commands of one kind sent from results-list code so far (swipes go through ScrollHelper). */
+    @SuppressWarnings("unchecked")
+    private static long resultsPageCommands(String command) {
+        return ((List<Map<String, Object>>) CommandMetrics.report().get("entries")).stream()
+                .filter(entry -> entry.get("command").equals(command))
+                .filter(entry -> List.of("FlightResultsPage", "ScrollHelper").contains(entry.get("page")))
+                .mapToLong(entry -> (Long) entry.get("count"))
+                .sum();
+    }
+}
@@ -1,7 +1,10 @@
 package com.wizzair.pages.common;
 
+import com.wizzair.core.batch.DriverScriptBatch;
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +25,11 @@ public class FlightSearchPage extends BasePage {
     // Locators – cross-platform via separate Android / iOS annotations
     // =========================================================================
 
+    // Raw locators for the batched search – a driver script cannot use PageFactory proxies
+    private static final By ORIGIN      = AppiumBy.accessibilityId("Origin airport");
+    private static final By DESTINATION = AppiumBy.accessibilityId("Destination airport");
+    private static final By SEARCH      = AppiumBy.accessibilityId("Search flights");
+
     @AndroidFindBy(accessibility = "Origin airport")
     @iOSXCUITFindBy(accessibility = "Origin airport")
     private WebElement originField;
@@ -80,6 +88,23 @@ public class FlightSearchPage extends BasePage {
     public FlightResultsPage search() {
         LOG.info("Tapping Search button");
         tap(searchButton);
+        ResultListIndex.reset();  // new results, new list model
+        return new FlightResultsPage();
+    }
+
+    /**
+     * Enters origin and destination and taps Search in one {@link DriverScriptBatch}:
+     * a single round-trip when the server runs driver scripts, the same three actions
+     * as {@code enterOrigin(...).enterDestination(...).search()} otherwise.
+     */
+    public FlightResultsPage searchFor(String origin, String destination) {
+        LOG.info("Searching flights {} → {}", origin, destination);
+        new DriverScriptBatch()
+                .type(ORIGIN, origin)
+                .type(DESTINATION, destination)
+                .tap(SEARCH)
+                .run(driver());
+        ResultListIndex.reset();
         return new FlightResultsPage();
     }
 
@@ -0,0 +1,137 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.metrics.RunMetrics;
+import org.picocontainer.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One page object per screen for the running scenario, shared by all step classes.
+ *
+ * <p>Cucumber's PicoContainer creates one registry per scenario and injects it into
+ * every step class that takes it in its constructor:
+ * <pre>
+ *   public PaymentSteps(PageRegistry pages) { this.pages = pages; }
+ *   ...
+ *   BookingPage booking = pages.get(BookingPage.class);
+ * </pre>
+ * Reusing the instance keeps its element cache (see
+ * {@link com.wizzair.core.element.CachingFieldDecorator}) across steps.
+ *
+ * <p>The registry follows navigation through the page objects themselves: every
+ * {@link BasePage} constructed on the scenario's thread – by {@link #get}, or by a page
+ * method such as {@link FlightSearchPage#search()} – is taken as the screen now shown,
+ * so it becomes that class's instance and the pages of other screens are dropped.
+ * Navigation that bypasses page objects (deep links, app restarts) should call
+ * {@link #invalidateAll()}.
+ */
+public class PageRegistry implements Disposable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PageRegistry.class);
+
+    /** The registry of the scenario running on this thread, if a step class asked for one. */
+    private static final ThreadLocal<PageRegistry> ACTIVE = new ThreadLocal<>();
+
+    private static final LongAdder HITS          = new LongAdder();
+    private static final LongAdder MISSES        = new LongAdder();
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+
+    static {
+        RunMetrics.register("pageRegistry", PageRegistry::stats);
+    }
+
+    private final Map<Class<? extends BasePage>, BasePage> pages = new HashMap<>();
+
+    public PageRegistry() {
+        ACTIVE.set(this);
+    }
+
+    /**
+     * The page object for {@code pageClass}: the scenario's current instance if its
+     * screen has not been navigated away from, otherwise a new one.
+     */
+    public <P extends BasePage> P get(Class<P> pageClass) {
+        BasePage page = pages.get(pageClass);
+        if (page != null) {
+            HITS.increment();
+            return pageClass.cast(page);
+        }
+        MISSES.increment();
+        try {
+            // The constructor registers the new page via shown()
+            return pageClass.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Could not create " + pageClass.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(pageClass.getSimpleName() + " needs a public no-arg constructor", e);
+        }
+    }
+
+    /** Drops the instance of one page class; the next {@link #get} creates a new one. */
+    public void invalidate(Class<? extends BasePage> pageClass) {
+        if (pages.remove(pageClass) != null) {
+            INVALIDATIONS.increment();
+        }
+    }
+
+    /** Drops every page, e.g. after navigation that bypasses the page objects. */
+    public void invalidateAll() {
+        INVALIDATIONS.add(pages.size());
+        pages.clear();
+    }
+
+    /** Ends the scenario's registry; called by PicoContainer. */
+    @Override
+    public void dispose() {
+        pages.clear();
+        if (ACTIVE.get() == this) {
+            ACTIVE.remove();
+        }
+    }
+
+    // =========================================================================
+    // Package-private hooks
+    // =========================================================================
+
+    /** Called by every {@link BasePage} constructor: {@code page}'s screen is now shown. */
+    static void shown(BasePage page) {
+        PageRegistry registry = ACTIVE.get();
+        if (registry != null) {
+            registry.adopt(page);
+        }
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    private void adopt(BasePage page) {
+        int before = pages.size();
+        pages.keySet().removeIf(pageClass -> pageClass != page.getClass());
+        if (pages.size() < before) {
+            INVALIDATIONS.add(before - pages.size());
+            LOG.debug("Navigated to {}; dropped {} page(s)", page.getClass().getSimpleName(), before - pages.size());
+        }
+        pages.put(page.getClass(), page);
+    }
+
+    private static Map<String, Object> stats() {
+        long hits   = HITS.sum();
+        long misses = MISSES.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : Math.round(hits * 1000.0 / (hits + misses)) / 1000.0);
+        stats.put("invalidations", INVALIDATIONS.sum());
+        return stats;
+    }
+}
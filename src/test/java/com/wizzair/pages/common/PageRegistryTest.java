@@ -0,0 +1,65 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One scenario's registry, following navigation through the fake Android app.
+ */
+class PageRegistryTest {
+
+    private PageRegistry pages;
+
+    @BeforeEach
+    void startScenario() {
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(new FakeAppiumOptions()));
+        pages = new PageRegistry();
+    }
+
+    @AfterEach
+    void endScenario() {
+        pages.dispose();
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void stepsShareThePageOfTheCurrentScreen() {
+        FlightSearchPage search = pages.get(FlightSearchPage.class);
+
+        assertThat(pages.get(FlightSearchPage.class)).isSameAs(search);
+    }
+
+    @Test
+    void pageCreatedByNavigationReplacesTheOtherScreens() {
+        FlightSearchPage search = pages.get(FlightSearchPage.class);
+
+        FlightResultsPage results = search.search();
+
+        assertThat(pages.get(FlightResultsPage.class)).isSameAs(results);
+        assertThat(pages.get(FlightSearchPage.class)).isNotSameAs(search);
+    }
+
+    @Test
+    void invalidatedPagesAreCreatedAgain() {
+        FlightSearchPage search = pages.get(FlightSearchPage.class);
+
+        pages.invalidateAll();
+
+        assertThat(pages.get(FlightSearchPage.class)).isNotSameAs(search);
+    }
+
+    @Test
+    void pagesBuiltAfterTheScenarioAreNotAdopted() {
+        pages.dispose();
+
+        FlightSearchPage built = new FlightSearchPage();
+
+        assertThat(pages.get(FlightSearchPage.class)).isNotSameAs(built);
+    }
+}
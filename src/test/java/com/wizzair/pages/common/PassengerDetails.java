@@ -0,0 +1,14 @@
+package com.wizzair.pages.common;
+
+import java.util.Map;
+
+/**
+ * Contents of the passenger details form on {@link BookingPage}.
+ */
+public record PassengerDetails(String firstName, String lastName, String email, String phone) {
+
+    /** From a Cucumber data-table row with "First Name", "Last Name", "Email" and "Phone" columns. */
+    public static PassengerDetails fromRow(Map<String, String> row) {
+        return new PassengerDetails(row.get("First Name"), row.get("Last Name"), row.get("Email"), row.get("Phone"));
+    }
+}
@@ -1,12 +1,22 @@
 package com.wizzair.pages.common;
 
 import com.wizzair.core.context.ContextManager;
+import com.wizzair.core.metrics.RunMetrics;
+import com.wizzair.core.metrics.WebViewPerformance;
 import com.wizzair.core.wait.WaitStrategy;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import io.appium.java_client.pagefactory.iOSXCUITFindBy;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Page Object for the payment step.
  *
@@ -16,8 +26,10 @@ import org.openqa.selenium.WebElement;
  * <p>Steps:
  * <ol>
  *   <li>Wait for WebView context to appear</li>
- *   <li>Switch driver to WebView</li>
- *   <li>Fill card details using standard Selenium CSS/XPath selectors</li>
+ *   <li>Switch driver to WebView and start recording page performance</li>
+ *   <li>Fill card details with one script located by CSS selectors, typing only
+ *       the fields it could not set</li>
+ *   <li>Capture the form page's timings (see {@link WebViewPerformance})</li>
  *   <li>Submit and switch back to native context</li>
  * </ol>
  */
@@ -45,6 +57,39 @@ public class PaymentPage extends BasePage {
 
     private static final int WEBVIEW_TIMEOUT_SECONDS = 30;
 
+    /** {@code -Dpayment.scriptedFill=false} types every card field with sendKeys. */
+    private static final boolean SCRIPTED_FILL =
+            Boolean.parseBoolean(System.getProperty("payment.scriptedFill", "true"));
+
+    /**
+     * Sets each {@code [selector, value]} of {@code arguments[0]} through the input's
+     * native value setter (so framework-controlled inputs notice), fires input and
+     * change events for the page's validation, and returns what each field holds
+     * afterwards – {@code null} for a field that is not on the page.
+     */
+    private static final String FILL_SCRIPT = """
+            var fields = arguments[0], result = {};
+            for (var i = 0; i < fields.length; i++) {
+              var el = document.querySelector(fields[i][0]);
+              if (!el) { result[fields[i][0]] = null; continue; }
+              var desc = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');
+              el.focus();
+              if (desc && desc.set) { desc.set.call(el, fields[i][1]); } else { el.value = fields[i][1]; }
+              el.dispatchEvent(new Event('input', { bubbles: true }));
+              el.dispatchEvent(new Event('change', { bubbles: true }));
+              el.blur();
+              result[fields[i][0]] = el.value;
+            }
+            return result;
+            """;
+
+    private static final LongAdder SCRIPTED_FIELDS = new LongAdder();
+    private static final LongAdder TYPED_FIELDS    = new LongAdder();
+
+    static {
+        RunMetrics.register("paymentFill", PaymentPage::stats);
+    }
+
     // =========================================================================
     // Actions
     // =========================================================================
@@ -63,12 +108,18 @@ public class PaymentPage extends BasePage {
                                            String cvv, String cardHolder) {
         LOG.info("Switching to WebView for payment form");
         ContextManager.switchToWebView(WEBVIEW_TIMEOUT_SECONDS);
+        WebViewPerformance.start(driver(), List.of(CARD_NUMBER_SELECTOR, CARD_EXPIRY_SELECTOR,
+                CARD_CVV_SELECTOR, CARD_HOLDER_SELECTOR, PAY_BUTTON_SELECTOR));
 
         try {
-            fillWebField(CARD_NUMBER_SELECTOR, cardNumber);
-            fillWebField(CARD_EXPIRY_SELECTOR, expiry);
-            fillWebField(CARD_CVV_SELECTOR, cvv);
-            fillWebField(CARD_HOLDER_SELECTOR, cardHolder);
+            Map<String, String> card = new LinkedHashMap<>();
+            card.put(CARD_NUMBER_SELECTOR, cardNumber);
+            card.put(CARD_EXPIRY_SELECTOR, expiry);
+            card.put(CARD_CVV_SELECTOR, cvv);
+            card.put(CARD_HOLDER_SELECTOR, cardHolder);
+            fillWebFields(card);
+            // Before submitting, so the timings are the form page's rather than the result page's
+            WebViewPerformance.capture(driver());
 
             LOG.info("Submitting payment form");
             driver().findElement(By.cssSelector(PAY_BUTTON_SELECTOR)).click();
@@ -113,6 +164,52 @@ public class PaymentPage extends BasePage {
     // Private helpers
     // =========================================================================
 
+    /**
+     * Fills WebView inputs (CSS selector → value) with one {@code executeScript} and
+     * checks the values the script read back. Fields the script could not set, or that
+     * read back differently (whitespace aside, as the page may format card numbers),
+     * are typed one by one with {@link #fillWebField}.
+     */
+    private void fillWebFields(Map<String, String> fields) {
+        List<String> retype = new ArrayList<>(fields.keySet());
+        if (SCRIPTED_FILL) {
+            List<List<String>> pairs = new ArrayList<>();
+            fields.forEach((selector, value) -> pairs.add(List.of(selector, value)));
+            // The script does not wait: let the form render first
+            String first = retype.get(0);
+            WaitStrategy.waitForElement(() -> driver().findElement(By.cssSelector(first)),
+                                        WaitStrategy.DEFAULT_TIMEOUT);
+            try {
+                Object result = driver().executeScript(FILL_SCRIPT, pairs);
+                if (result instanceof Map<?, ?> readBack) {
+                    retype.removeIf(selector -> readBack.get(selector) instanceof String actual
+                            && sameValue(actual, fields.get(selector)));
+                }
+            } catch (WebDriverException e) {
+                LOG.warn("Scripted payment fill failed – typing each field: {}", e.getMessage());
+            }
+            SCRIPTED_FIELDS.add(fields.size() - retype.size());
+            if (!retype.isEmpty()) {
+                LOG.info("Typing {} payment field(s) the script could not set: {}", retype.size(), retype);
+            }
+        }
+        for (String selector : retype) {
+            fillWebField(selector, fields.get(selector));
+            TYPED_FIELDS.increment();
+        }
+    }
+
+    private static boolean sameValue(String actual, String expected) {
+        return Objects.equals(actual.replaceAll("\\s", ""), expected.replaceAll("\\s", ""));
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("fieldsSetByScript", SCRIPTED_FIELDS.sum());
+        stats.put("fieldsTyped", TYPED_FIELDS.sum());
+        return stats;
+    }
+
     /** Fills a WebView input field located by CSS selector. */
     private void fillWebField(String cssSelector, String value) {
         WebElement field = WaitStrategy.waitForElement(
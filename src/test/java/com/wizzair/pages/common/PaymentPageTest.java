@@ -0,0 +1,65 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.context.ContextManager;
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.metrics.RunMetrics;
+import com.wizzair.core.metrics.WebViewPerformance;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The WebView payment form of the fake Android app.
+ */
+class PaymentPageTest {
+
+    @BeforeEach
+    void openPayment() {
+        FakeAppiumOptions options = new FakeAppiumOptions();
+        options.setWebViewDelayMs(0);
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(options));
+        tap("Search flights");
+        DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Flight card")).get(0).click();
+        tap("Continue to payment");
+    }
+
+    @AfterEach
+    void quitDriver() {
+        ContextManager.invalidate();
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void paysAndReturnsToTheNativeConfirmation() {
+        PaymentPage payment = new PaymentPage()
+                .completePaymentForm("4111 1111 1111 1111", "12/30", "123", "Anna Kovacs");
+
+        assertThat(payment.isConfirmationDisplayed()).isTrue();
+        assertThat(ContextManager.getCurrentContext()).isEqualTo("NATIVE_APP");
+        assertThat(fillStats()).containsEntry("fieldsSetByScript", 4L).containsEntry("fieldsTyped", 0L);
+        // The form was already rendered when the observers were installed
+        assertThat(WebViewPerformance.finishScenario()).singleElement().satisfies(report -> {
+            assertThat(report.navigation()).containsKeys("ttfbMs", "loadMs");
+            assertThat(report.interactiveAtStart()).contains("button[data-cy='pay-button']");
+            assertThat(report.timeToInteractive()).isEmpty();
+        });
+    }
+
+    // ---- Helpers
+
+    private static void tap(String accessibilityId) {
+        DriverManager.getDriver().findElement(AppiumBy.accessibilityId(accessibilityId)).click();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> fillStats() {
+        return (Map<String, Object>) RunMetrics.collect().get("paymentFill");
+    }
+}
@@ -2,16 +2,22 @@ package com.wizzair.pages.common;
 
 import com.wizzair.config.ConfigLoader;
 import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.interrupt.Interrupt;
+import com.wizzair.core.snapshot.PageSnapshot;
+import com.wizzair.core.snapshot.SnapshotNode;
 import com.wizzair.core.wait.WaitStrategy;
-import io.appium.java_client.AppiumDriver;
-import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.ios.IOSDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Handles system-level permission dialogs that appear on first launch.
@@ -22,80 +28,146 @@ import java.util.List;
  *   <li><b>iOS:</b>  Targets the XCUITest native alert buttons.</li>
  * </ul>
  *
- * <p>Called from {@link com.wizzair.hooks.DriverHooks} after driver creation, and also
- * from scenario steps when permissions appear mid-flow.
+ * <p>Every allow-button variant is folded into one compiled query (a UiSelector
+ * {@code textMatches} regex on Android, an NSPredicate on iOS), so an attempt with no
+ * dialog on screen – the common case – costs a single {@code findElements}.
+ *
+ * <p>Hooks and steps call {@link #acceptAll(int)} directly where a dialog is likely
+ * (after launch, after a deep link). Mid-flow dialogs are left to the {@link #INTERRUPT}
+ * registered with {@link com.wizzair.core.interrupt.InterruptRegistry}, which spots
+ * them in the page snapshots the framework captures anyway.
  */
 public final class PermissionHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(PermissionHandler.class);
 
-    // Android allow button resource ids / text variants
+    // Android allow button resource ids / text variants, in order of preference
     private static final List<String> ANDROID_ALLOW_TEXTS = List.of(
             "Allow", "Allow all the time", "Only this time", "While using the app",
             "Allow only while using the app", "OK", "GOT IT"
     );
 
-    // iOS alert accept button texts
+    // iOS alert accept button texts, in order of preference
     private static final List<String> IOS_ALLOW_TEXTS = List.of(
             "Allow", "Allow While Using App", "OK", "Continue"
     );
 
+    // Labels contain no regex or quote characters, so they are joined as-is
+    private static final By ANDROID_ALLOW_BUTTONS = AppiumBy.androidUIAutomator(
+            "new UiSelector().className(\"android.widget.Button\")"
+            + ".textMatches(\"^(" + String.join("|", ANDROID_ALLOW_TEXTS) + ")$\")");
+
+    // Allow buttons, plus any alert so that unlisted button labels still reach the fallback
+    private static final By IOS_ALLOW_BUTTONS_OR_ALERT = AppiumBy.iOSNsPredicateString(
+            "(type == 'XCUIElementTypeButton' AND name IN {"
+            + IOS_ALLOW_TEXTS.stream().map(t -> "'" + t + "'").collect(Collectors.joining(", "))
+            + "}) OR type == 'XCUIElementTypeAlert'");
+
+    /** Detects a pending dialog from a page snapshot and accepts it (and any chained ones). */
+    public static final Interrupt INTERRUPT = new Interrupt(
+            "permission-dialog", PermissionHandler::isDialogShown, () -> acceptAll(5));
+
     private PermissionHandler() {}
 
+    /** Local check against a snapshot: is any allow button (or, on iOS, an alert) on screen? */
+    static boolean isDialogShown(PageSnapshot snapshot) {
+        if (snapshot.isAndroid()) {
+            return snapshot.byClass("android.widget.Button").stream()
+                    .map(SnapshotNode::text)
+                    .anyMatch(text -> text != null && ANDROID_ALLOW_TEXTS.contains(text));
+        }
+        return !snapshot.byClass("XCUIElementTypeAlert").isEmpty()
+                || snapshot.byClass("XCUIElementTypeButton").stream()
+                        .map(SnapshotNode::accessibilityId)
+                        .anyMatch(name -> name != null && IOS_ALLOW_TEXTS.contains(name));
+    }
+
     /**
      * Attempts to accept all pending permission dialogs.
      * Loops up to {@code maxAttempts} times so chained dialogs are handled.
+     *
+     * @return the label of each button tapped, in order (empty when no dialog was shown)
      */
-    public static void acceptAll(int maxAttempts) {
+    public static List<String> acceptAll(int maxAttempts) {
         boolean isAndroid = ConfigLoader.load().isAndroid();
+        List<String> accepted = new ArrayList<>();
         for (int i = 0; i < maxAttempts; i++) {
-            boolean handled = isAndroid ? tryAndroidPermission() : tryIosPermission();
-            if (!handled) break;
-            LOG.info("Permission dialog accepted (attempt {})", i + 1);
+            String label = isAndroid ? tryAndroidPermission() : tryIosPermission();
+            if (label == null) break;
+            LOG.info("Permission dialog accepted via '{}' (attempt {})", label, i + 1);
+            accepted.add(label);
         }
+        return accepted;
     }
 
     // -------------------------------------------------------------------------
     // Android
     // -------------------------------------------------------------------------
 
-    private static boolean tryAndroidPermission() {
-        AppiumDriver driver = DriverManager.getDriver();
-        for (String text : ANDROID_ALLOW_TEXTS) {
-            List<WebElement> buttons = driver.findElements(
-                    By.xpath("//android.widget.Button[@text='" + text + "']"));
-            if (!buttons.isEmpty()) {
-                LOG.info("Tapping Android permission button: '{}'", text);
-                buttons.get(0).click();
-                return true;
-            }
+    /** Returns the label of the button tapped, or {@code null} if no dialog is shown. */
+    private static String tryAndroidPermission() {
+        List<WebElement> buttons = DriverManager.getDriver().findElements(ANDROID_ALLOW_BUTTONS);
+        if (buttons.isEmpty()) {
+            return null;
         }
-        return false;
+        Map.Entry<String, WebElement> choice = preferred(buttons, ANDROID_ALLOW_TEXTS, WebElement::getText);
+        LOG.info("Tapping Android permission button: '{}'", choice.getKey());
+        choice.getValue().click();
+        return choice.getKey();
     }
 
     // -------------------------------------------------------------------------
     // iOS
     // -------------------------------------------------------------------------
 
-    private static boolean tryIosPermission() {
+    /** Returns the label of the button tapped, or {@code null} if no dialog is shown. */
+    private static String tryIosPermission() {
         IOSDriver iosDriver = (IOSDriver) DriverManager.getDriver();
-        for (String text : IOS_ALLOW_TEXTS) {
-            List<WebElement> buttons = iosDriver.findElements(
-                    By.xpath("//XCUIElementTypeButton[@name='" + text + "']"));
-            if (!buttons.isEmpty()) {
-                LOG.info("Tapping iOS permission button: '{}'", text);
-                buttons.get(0).click();
-                return true;
-            }
+        List<WebElement> matches = iosDriver.findElements(IOS_ALLOW_BUTTONS_OR_ALERT);
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<String, WebElement> choice = preferred(matches, IOS_ALLOW_TEXTS, e -> e.getAttribute("name"));
+        if (IOS_ALLOW_TEXTS.contains(choice.getKey())) {
+            LOG.info("Tapping iOS permission button: '{}'", choice.getKey());
+            choice.getValue().click();
+            return choice.getKey();
         }
 
-        // Fallback: accept using the built-in Appium alert handler
+        // An alert without a known button: accept using the built-in Appium alert handler
         try {
             iosDriver.switchTo().alert().accept();
             LOG.info("Accepted iOS alert via switchTo().alert()");
-            return true;
+            return "alert: " + choice.getKey();
         } catch (Exception ignored) {
-            return false;
+            return null;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Private helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Picks the candidate whose label comes first in {@code preference}. Costs one
+     * label read per candidate – usually one, two when e.g. "Only this time" sits next
+     * to "While using the app".
+     */
+    private static Map.Entry<String, WebElement> preferred(List<WebElement> candidates, List<String> preference,
+                                                           Function<WebElement, String> label) {
+        Map.Entry<String, WebElement> best = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (WebElement candidate : candidates) {
+            String text = label.apply(candidate);
+            // List.of rejects null lookups; an unlabelled button ranks after every known label
+            int rank = text == null ? -1 : preference.indexOf(text);
+            rank = rank < 0 ? Integer.MAX_VALUE - 1 : rank;
+            if (best == null || rank < bestRank) {
+                best = Map.entry(text == null ? "" : text, candidate);
+                bestRank = rank;
+            }
         }
+        return best;
     }
 }
@@ -0,0 +1,54 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.driver.DriverManager;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeCommandExecutor;
+import com.wizzair.core.metrics.CommandMetrics;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * First-launch dialogs on the fake Android app ({@code ConfigLoader} defaults to android).
+ */
+class PermissionHandlerTest {
+
+    @AfterEach
+    void quitDriver() {
+        DriverManager.quitDriver();
+    }
+
+    @Test
+    void acceptsChainedDialogsUntilTheAppShows() {
+        FakeAppiumOptions options = new FakeAppiumOptions();
+        options.setPermissionDialogs(2);
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(options));
+
+        assertThat(PermissionHandler.acceptAll(5)).containsExactly("Only this time", "Allow");
+        assertThat(DriverManager.getDriver().findElements(AppiumBy.accessibilityId("Search flights"))).hasSize(1);
+    }
+
+    @Test
+    void noDialogCostsASingleQuery() {
+        DriverManager.setDriver(FakeCommandExecutor.androidDriver(new FakeAppiumOptions()));
+        long before = permissionQueries();
+
+        assertThat(PermissionHandler.acceptAll(5)).isEmpty();
+        assertThat(permissionQueries() - before).isEqualTo(1);
+    }
+
+    // ---- Helpers
+
+    @SuppressWarnings("unchecked")
+    private static long permissionQueries() {
+        return ((List<Map<String, Object>>) CommandMetrics.report().get("entries")).stream()
+                .filter(entry -> entry.get("page").equals("PermissionHandler"))
+                .mapToLong(entry -> (Long) entry.get("count"))
+                .sum();
+    }
+}
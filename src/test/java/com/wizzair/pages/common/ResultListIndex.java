@@ -0,0 +1,252 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.core.metrics.RunMetrics;
+import com.wizzair.core.snapshot.PageSnapshot;
+import com.wizzair.core.snapshot.SnapshotNode;
+import io.appium.java_client.AppiumDriver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ordered model of the flight results list, built up from the page snapshots taken
+ * while {@link FlightResultsPage} scrolls.
+ *
+ * <p>The list recycles a fixed number of card views, so cards are identified by their
+ * content (times, flight number, price), not by element. Every snapshot adds the cards
+ * not seen before, in list order. When a swipe down neither moves the viewport nor
+ * shows a new card, and nothing is loading, the end of the list has been reached and
+ * the model is complete; after that a flight that is not in it is reported as missing
+ * without another swipe, and a known flight above the viewport is reached by scrolling
+ * up instead of down.
+ *
+ * <p>When the device scrolls the list by itself ({@link #afterDeviceScroll()}) the index
+ * starts over from wherever that left the viewport; it is complete again only once a
+ * swipe up has reached the top as well.
+ *
+ * <p>One index per thread, kept until the next search ({@link #reset()}) or until the
+ * thread's driver changes.
+ */
+final class ResultListIndex {
+
+    static final String CARD    = "Flight card";
+    static final String LOADING = "Loading flights";
+
+    private static final ThreadLocal<ResultListIndex> CURRENT = new ThreadLocal<>();
+
+    private static final LongAdder CARDS_INDEXED = new LongAdder();
+    private static final LongAdder SWIPES        = new LongAdder();
+    private static final LongAdder ENDS_DETECTED = new LongAdder();
+    private static final LongAdder MISSES_FROM_INDEX = new LongAdder();
+
+    static {
+        RunMetrics.register("resultIndex", ResultListIndex::stats);
+    }
+
+    /** A card of the list; {@code texts} are the accessibility ids and texts inside it. */
+    record Card(String key, List<String> texts) {
+
+        FlightCard toFlightCard() {
+            return FlightCard.parse(texts);
+        }
+
+        boolean mentions(String departureTime, String arrivalTime) {
+            return texts.stream().anyMatch(t -> t.contains(departureTime))
+                && texts.stream().anyMatch(t -> t.contains(arrivalTime));
+        }
+    }
+
+    /** What one snapshot showed: visible cards as list positions, and how many were new. */
+    record Window(int first, int last, int added, boolean loading) {}
+
+    private final AppiumDriver driver;
+    private final List<Card>        cards  = new ArrayList<>();
+    private final Map<String, Card> byKey  = new HashMap<>();
+    private boolean endSeen;
+    private boolean topSeen = true;
+
+    private ResultListIndex(AppiumDriver driver) {
+        this.driver = driver;
+    }
+
+    /** This thread's index for the driver's current results list. */
+    static ResultListIndex current(AppiumDriver driver) {
+        ResultListIndex index = CURRENT.get();
+        if (index == null || index.driver != driver) {
+            index = new ResultListIndex(driver);
+            CURRENT.set(index);
+        }
+        return index;
+    }
+
+    /** Forgets this thread's index; call when a new search replaces the results. */
+    static void reset() {
+        CURRENT.remove();
+    }
+
+    // =========================================================================
+    // Building the model
+    // =========================================================================
+
+    /**
+     * Adds the cards shown in a snapshot. New cards are placed after the visible card
+     * before them, or before the first known visible card, so the order stays right
+     * whichever way the list was scrolled.
+     */
+    Window ingest(PageSnapshot snapshot) {
+        List<Card> visible = new ArrayList<>();
+        for (SnapshotNode node : snapshot.byAccessibilityId(CARD)) {
+            visible.add(cardOf(node));
+        }
+        boolean loading = !snapshot.byAccessibilityId(LOADING).isEmpty();
+
+        int added = 0;
+        int insertAt = firstKnownPosition(visible);
+        for (Card card : visible) {
+            Card known = byKey.get(card.key());
+            if (known != null) {
+                insertAt = cards.indexOf(known) + 1;
+                continue;
+            }
+            cards.add(insertAt++, card);
+            byKey.put(card.key(), card);
+            added++;
+        }
+        CARDS_INDEXED.add(added);
+
+        if (visible.isEmpty()) {
+            return new Window(-1, -1, 0, loading);
+        }
+        return new Window(cards.indexOf(byKey.get(visible.get(0).key())),
+                          cards.indexOf(byKey.get(visible.get(visible.size() - 1).key())),
+                          added, loading);
+    }
+
+    /**
+     * Records the outcome of a swipe down: a viewport that did not move, no new cards
+     * and no loading indicator mean the list has no more results. (Swiping through
+     * cards already indexed adds none either, but moves the viewport.)
+     */
+    void afterSwipeDown(Window before, Window after) {
+        SWIPES.increment();
+        if (after.added() == 0 && !after.loading() && after.last() == before.last() && !endSeen) {
+            endSeen = true;
+            ENDS_DETECTED.increment();
+        }
+    }
+
+    /** Records the outcome of a swipe up: a viewport that did not move is the top of the list. */
+    void afterSwipeUp(Window before, Window after) {
+        SWIPES.increment();
+        if (after.added() == 0 && after.first() == before.first()) {
+            topSeen = true;
+        }
+    }
+
+    /**
+     * Forgets every card: the device scrolled the list an unknown distance, so the next
+     * snapshot cannot be placed next to what was seen before, and the cards above it
+     * are unseen until a swipe up reaches the top.
+     */
+    void afterDeviceScroll() {
+        cards.clear();
+        byKey.clear();
+        endSeen = false;
+        topSeen = false;
+    }
+
+    // =========================================================================
+    // Queries
+    // =========================================================================
+
+    /** Whether the whole list has been seen. */
+    boolean isComplete() {
+        return endSeen && topSeen;
+    }
+
+    /** Whether a swipe down has reached the end of the list. */
+    boolean isEndSeen() {
+        return endSeen;
+    }
+
+    /** Whether the first card of the index is the first card of the list. */
+    boolean isTopSeen() {
+        return topSeen;
+    }
+
+    /** List position of the first card showing both times, or {@code -1} if none seen yet. */
+    int positionOf(String departureTime, String arrivalTime) {
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i).mentions(departureTime, arrivalTime)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@code true} when the complete list has been seen and has no such flight, so
+     * the caller can give up without scrolling.
+     */
+    boolean knownMissing(String departureTime, String arrivalTime) {
+        boolean missing = isComplete() && positionOf(departureTime, arrivalTime) < 0;
+        if (missing) {
+            MISSES_FROM_INDEX.increment();
+        }
+        return missing;
+    }
+
+    int size() {
+        return cards.size();
+    }
+
+    /** The card at a list position, {@code 0 <= position < size()}. */
+    Card card(int position) {
+        return cards.get(position);
+    }
+
+    // =========================================================================
+    // Private helpers
+    // =========================================================================
+
+    private int firstKnownPosition(List<Card> visible) {
+        for (Card card : visible) {
+            Card known = byKey.get(card.key());
+            if (known != null) {
+                return cards.indexOf(known);
+            }
+        }
+        return cards.size();
+    }
+
+    private static Card cardOf(SnapshotNode cardNode) {
+        List<String> texts = new ArrayList<>();
+        for (SnapshotNode node : cardNode.descendantsAndSelf()) {
+            if (node == cardNode) {
+                continue;
+            }
+            String id = node.accessibilityId();
+            String text = node.text();
+            if (id != null && !id.isEmpty()) {
+                texts.add(id);
+            }
+            if (text != null && !text.isEmpty() && !text.equals(id)) {
+                texts.add(text);
+            }
+        }
+        return new Card(String.join("|", texts), List.copyOf(texts));
+    }
+
+    private static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cardsIndexed", CARDS_INDEXED.sum());
+        stats.put("swipes", SWIPES.sum());
+        stats.put("endsOfListDetected", ENDS_DETECTED.sum());
+        stats.put("missesAnsweredFromIndex", MISSES_FROM_INDEX.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,186 @@
+package com.wizzair.pages.common;
+
+import com.wizzair.config.DeviceConfig;
+import com.wizzair.core.driver.DriverFactory;
+import com.wizzair.core.fake.FakeAppiumOptions;
+import com.wizzair.core.fake.FakeAppiumServer;
+import com.wizzair.core.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ResultListIndex} fed with snapshots of the fake app's results list: 8 flights,
+ * 5 cards on screen, 3 cards per swipe. Flight {@code i} departs at 03:00 + 15 min × i.
+ */
+class ResultListIndexTest {
+
+    private static FakeAppiumServer server;
+
+    private AppiumDriver driver;
+
+    @BeforeAll
+    static void startServer() {
+        FakeAppiumOptions options = new FakeAppiumOptions();
+        options.setFlightCount(8);
+        options.setVisibleCards(5);
+        options.setCardsPerSwipe(3);
+        options.setLoadMoreDelayMs(0);
+        server = FakeAppiumServer.start(options);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    void openResults() {
+        DeviceConfig device = new DeviceConfig();
+        device.setPlatform("android");
+        device.setPlatformVersion("14");
+        device.setDeviceName("Fake Device");
+        device.setAutomationName("UiAutomator2");
+        device.setAppPackage("com.wizzair.WizzAirApp");
+        device.setAppActivity(".activity.MainActivity");
+        device.setAppiumServerUrl(server.url());
+        driver = DriverFactory.createDriver(device);
+        driver.findElement(AppiumBy.accessibilityId("Search flights")).click();
+    }
+
+    @AfterEach
+    void quit() {
+        ResultListIndex.reset();
+        driver.quit();
+    }
+
+    @Test
+    void firstSnapshotIndexesTheVisibleCardsInOrder() {
+        ResultListIndex index = ResultListIndex.current(driver);
+
+        ResultListIndex.Window window = index.ingest(PageSnapshot.capture(driver));
+
+        assertThat(window).isEqualTo(new ResultListIndex.Window(0, 4, 5, false));
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.card(0).texts()).contains("03:00 05:30", "W6 2200", "€29.99");
+        assertThat(index.card(4).toFlightCard()).isEqualTo(new FlightCard("04:00", "06:30", "W6 2204", "€41.99"));
+        assertThat(index.isComplete()).isFalse();
+    }
+
+    @Test
+    void swipingDownAddsOnlyNewCardsAndDetectsTheEnd() {
+        ResultListIndex index = ResultListIndex.current(driver);
+        ResultListIndex.Window first = index.ingest(PageSnapshot.capture(driver));
+
+        swipe("up");
+        ResultListIndex.Window second = index.ingest(PageSnapshot.capture(driver));
+        index.afterSwipeDown(first, second);
+
+        // Cards 3 and 4 were already known; 5–7 are new
+        assertThat(second).isEqualTo(new ResultListIndex.Window(3, 7, 3, false));
+        assertThat(index.isComplete()).isFalse();
+
+        swipe("up");
+        ResultListIndex.Window third = index.ingest(PageSnapshot.capture(driver));
+        index.afterSwipeDown(second, third);
+
+        assertThat(third.added()).isZero();
+        assertThat(index.isComplete()).isTrue();
+        assertThat(index.size()).isEqualTo(8);
+        for (int i = 0; i < 8; i++) {
+            assertThat(index.card(i).texts()).contains("W6 " + (2200 + i));
+        }
+    }
+
+    @Test
+    void completeIndexAnswersLookupsWithoutSwiping() {
+        ResultListIndex index = indexWholeList();
+
+        assertThat(index.positionOf("04:30", "07:00")).isEqualTo(6);
+        assertThat(index.knownMissing("04:30", "07:00")).isFalse();
+        assertThat(index.positionOf("23:15", "01:45")).isEqualTo(-1);
+        assertThat(index.knownMissing("23:15", "01:45")).isTrue();
+    }
+
+    @Test
+    void scrollingBackUpKeepsTheOrder() {
+        ResultListIndex index = indexWholeList();
+
+        ResultListIndex.Window bottom = index.ingest(PageSnapshot.capture(driver));
+        swipe("down");
+        ResultListIndex.Window top = index.ingest(PageSnapshot.capture(driver));
+        index.afterSwipeUp(bottom, top);
+
+        assertThat(top).isEqualTo(new ResultListIndex.Window(0, 4, 0, false));
+        assertThat(index.size()).isEqualTo(8);
+        assertThat(index.positionOf("03:00", "05:30")).isZero();
+    }
+
+    @Test
+    void deviceScrollRestartsTheIndexUntilASwipeUpReachesTheTop() {
+        ResultListIndex index = indexWholeList();
+
+        // The viewport now shows cards 3–7, but the index no longer knows that
+        index.afterDeviceScroll();
+        ResultListIndex.Window window = index.ingest(PageSnapshot.capture(driver));
+        assertThat(window).isEqualTo(new ResultListIndex.Window(0, 4, 5, false));
+        assertThat(index.knownMissing("23:15", "01:45")).isFalse();
+
+        swipe("down");
+        ResultListIndex.Window after = index.ingest(PageSnapshot.capture(driver));
+        index.afterSwipeUp(window, after);
+        assertThat(after).isEqualTo(new ResultListIndex.Window(0, 4, 3, false));
+        assertThat(index.isTopSeen()).isFalse();
+
+        swipe("down");
+        index.afterSwipeUp(after, index.ingest(PageSnapshot.capture(driver)));
+        assertThat(index.isTopSeen()).isTrue();
+        assertThat(index.positionOf("03:00", "05:30")).isZero();
+        assertThat(index.positionOf("04:45", "07:15")).isEqualTo(7);
+    }
+
+    @Test
+    void indexIsPerDriverUntilReset() {
+        ResultListIndex index = ResultListIndex.current(driver);
+        index.ingest(PageSnapshot.capture(driver));
+
+        assertThat(ResultListIndex.current(driver)).isSameAs(index);
+
+        ResultListIndex.reset();
+        ResultListIndex fresh = ResultListIndex.current(driver);
+        assertThat(fresh).isNotSameAs(index);
+        assertThat(fresh.size()).isZero();
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    /** Swipes down until the end of the list is detected. */
+    private ResultListIndex indexWholeList() {
+        ResultListIndex index = ResultListIndex.current(driver);
+        ResultListIndex.Window window = index.ingest(PageSnapshot.capture(driver));
+        while (!index.isComplete()) {
+            swipe("up");
+            ResultListIndex.Window after = index.ingest(PageSnapshot.capture(driver));
+            index.afterSwipeDown(window, after);
+            window = after;
+        }
+        return index;
+    }
+
+    /** Finger direction: {@code up} moves the list towards its end. */
+    private void swipe(String direction) {
+        driver.executeScript("mobile: swipeGesture", Map.of(
+                "left", 100, "top", 400, "width", 800, "height", 1200,
+                "direction", direction, "percent", 0.75));
+    }
+}
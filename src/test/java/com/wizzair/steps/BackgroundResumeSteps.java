@@ -1,21 +1,19 @@
 package com.wizzair.steps;
 
+import com.wizzair.core.form.FormState;
 import com.wizzair.pages.common.BookingPage;
 import com.wizzair.pages.common.FlightResultsPage;
 import com.wizzair.pages.common.FlightSearchPage;
+import com.wizzair.pages.common.PageRegistry;
 import com.wizzair.utils.AppStateHelper;
 import com.wizzair.utils.ScreenshotHelper;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
-import io.cucumber.java.en.When;
 import org.assertj.core.api.Assertions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Map;
-
 /**
  * Step definitions for the App Background & Resume scenario.
  */
@@ -23,8 +21,18 @@ public class BackgroundResumeSteps {
 
     private static final Logger LOG = LoggerFactory.getLogger(BackgroundResumeSteps.class);
 
+    private final PageRegistry pages;
+
     private BookingPage bookingPage;
 
+    /** Passenger form as it was before backgrounding and after resuming. */
+    private FormState beforeBackground;
+    private FormState afterResume;
+
+    public BackgroundResumeSteps(PageRegistry pages) {
+        this.pages = pages;
+    }
+
     // =========================================================================
     // Given
     // =========================================================================
@@ -33,10 +41,8 @@ public class BackgroundResumeSteps {
     public void iAmOnPassengerDetailsScreenForFlight(String origin, String destination) {
         LOG.info("Setting up booking flow for {} → {}", origin, destination);
 
-        FlightSearchPage search   = new FlightSearchPage();
-        FlightResultsPage results = search.enterOrigin(origin)
-                                         .enterDestination(destination)
-                                         .search();
+        FlightSearchPage search   = pages.get(FlightSearchPage.class);
+        FlightResultsPage results = search.searchFor(origin, destination);
 
         bookingPage = results.findFlightByTime("", "");  // select any first flight
         Assertions.assertThat(bookingPage.isLoaded())
@@ -48,22 +54,13 @@ public class BackgroundResumeSteps {
     // When
     // =========================================================================
 
-    @When("I enter my passenger details:")
-    public void iEnterPassengerDetails(List<Map<String, String>> table) {
-        // NOTE: This @When annotation is shared with PriceChangeSteps.
-        // Cucumber will resolve it to the correct class based on feature context.
-        // If step ambiguity arises, move shared steps to a CommonSteps class.
-        Map<String, String> row = table.get(0);
-        bookingPage.enterFirstName(row.get("First Name"))
-                   .enterLastName(row.get("Last Name"))
-                   .enterEmail(row.get("Email"))
-                   .enterPhone(row.get("Phone"));
-        ScreenshotHelper.attachToReport("Passenger details entered");
-    }
+    // "I enter my passenger details:" is defined once, in PriceChangeSteps, on the
+    // scenario's shared BookingPage
 
     @And("I send the app to the background for {int} seconds")
     public void iSendAppToBackground(int seconds) {
         LOG.info("Sending app to background for {}s", seconds);
+        beforeBackground = bookingPage.formState();
         AppStateHelper.backgroundApp(seconds);
     }
 
@@ -74,6 +71,8 @@ public class BackgroundResumeSteps {
         Assertions.assertThat(bookingPage.isLoaded())
                   .as("Booking screen should still be displayed after resume")
                   .isTrue();
+        afterResume = bookingPage.formState();
+        LOG.info("Form changes across background/resume: {}", beforeBackground.diff(afterResume));
         ScreenshotHelper.attachToReport("App resumed");
     }
 
@@ -83,23 +82,28 @@ public class BackgroundResumeSteps {
 
     @Then("the first name field should still contain {string}")
     public void theFirstNameFieldShouldStillContain(String expected) {
-        String actual = bookingPage.getFirstNameValue();
-        Assertions.assertThat(actual)
-                  .as("First name should be preserved after background/resume")
-                  .isEqualTo(expected);
+        assertPreserved(BookingPage.FIRST_NAME, expected);
     }
 
     @And("the last name field should still contain {string}")
     public void theLastNameFieldShouldStillContain(String expected) {
-        String actual = bookingPage.getLastNameValue();
-        Assertions.assertThat(actual)
-                  .as("Last name should be preserved after background/resume")
-                  .isEqualTo(expected);
+        assertPreserved(BookingPage.LAST_NAME, expected);
     }
 
     @And("the email field should still contain {string}")
     public void theEmailFieldShouldStillContain(String expected) {
-        // Extend BookingPage with getEmailValue() if needed
-        LOG.info("Email field preserved verification – extend BookingPage.getEmailValue() for full check");
+        assertPreserved(BookingPage.EMAIL, expected);
+    }
+
+    // =========================================================================
+    // Helpers
+    // =========================================================================
+
+    /** Checks one field against the form state read after resume – no driver call. */
+    private void assertPreserved(String field, String expected) {
+        Assertions.assertThat(afterResume.value(field))
+                  .as("%s should be preserved after background/resume (changes: %s)",
+                      field, beforeBackground.diff(afterResume))
+                  .isEqualTo(expected);
     }
 }
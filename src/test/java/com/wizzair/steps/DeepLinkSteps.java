@@ -1,6 +1,7 @@
 package com.wizzair.steps;
 
 import com.wizzair.pages.common.FlightDetailsPage;
+import com.wizzair.pages.common.PageRegistry;
 import com.wizzair.pages.common.PermissionHandler;
 import com.wizzair.utils.DeepLinkHelper;
 import io.cucumber.java.en.And;
@@ -21,8 +22,14 @@ public class DeepLinkSteps {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeepLinkSteps.class);
 
+    private final PageRegistry pages;
+
     private FlightDetailsPage flightDetailsPage;
 
+    public DeepLinkSteps(PageRegistry pages) {
+        this.pages = pages;
+    }
+
     // =========================================================================
     // Given
     // =========================================================================
@@ -43,8 +50,10 @@ public class DeepLinkSteps {
         LOG.info("Opening deep link: {} → {} on {}", origin, destination, date);
         DeepLinkHelper.openFlight(origin, destination, date);
 
-        // Instantiate the page *after* navigation so PageFactory can find elements
-        flightDetailsPage = new FlightDetailsPage();
+        // The deep link navigated outside the page objects: drop what they knew, then
+        // instantiate the page *after* navigation so PageFactory can find elements
+        pages.invalidateAll();
+        flightDetailsPage = pages.get(FlightDetailsPage.class);
     }
 
     @When("all system permission dialogs are handled")
@@ -2,6 +2,7 @@ package com.wizzair.steps;
 
 import com.wizzair.pages.common.FlightResultsPage;
 import com.wizzair.pages.common.FlightSearchPage;
+import com.wizzair.pages.common.PageRegistry;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -17,16 +18,22 @@ public class FlightSearchSteps {
 
     private static final Logger LOG = LoggerFactory.getLogger(FlightSearchSteps.class);
 
+    private final PageRegistry pages;
+
     private FlightSearchPage  searchPage;
     private FlightResultsPage resultsPage;
 
+    public FlightSearchSteps(PageRegistry pages) {
+        this.pages = pages;
+    }
+
     // =========================================================================
     // Given
     // =========================================================================
 
     @Given("I am on the flight search screen")
     public void iAmOnTheFlightSearchScreen() {
-        searchPage = new FlightSearchPage();
+        searchPage = pages.get(FlightSearchPage.class);
         Assertions.assertThat(searchPage.isLoaded())
                   .as("Flight search screen should be displayed on launch")
                   .isTrue();
@@ -72,8 +79,9 @@ public class FlightSearchSteps {
 
     @And("the list contains at least {int} flight option")
     public void theListContainsAtLeastNFlightOptions(int minCount) {
-        int visible = resultsPage.getVisibleFlightCount();
-        Assertions.assertThat(visible)
+        // limit() stops the lazy stream – and the scrolling – once minCount cards are seen
+        long found = resultsPage.flights().limit(minCount).count();
+        Assertions.assertThat(found)
                   .as("Flight results count")
                   .isGreaterThanOrEqualTo(minCount);
     }
@@ -4,6 +4,8 @@ import com.wizzair.core.context.ContextManager;
 import com.wizzair.pages.common.BookingPage;
 import com.wizzair.pages.common.FlightResultsPage;
 import com.wizzair.pages.common.FlightSearchPage;
+import com.wizzair.pages.common.PageRegistry;
+import com.wizzair.pages.common.PassengerDetails;
 import com.wizzair.pages.common.PaymentPage;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
@@ -23,8 +25,14 @@ public class PaymentSteps {
 
     private static final Logger LOG = LoggerFactory.getLogger(PaymentSteps.class);
 
+    private final PageRegistry pages;
+
     private PaymentPage paymentPage;
 
+    public PaymentSteps(PageRegistry pages) {
+        this.pages = pages;
+    }
+
     // =========================================================================
     // Given
     // =========================================================================
@@ -34,19 +42,14 @@ public class PaymentSteps {
         LOG.info("Navigating to payment for {} → {}", origin, destination);
 
         // Search + select first available flight
-        FlightSearchPage search   = new FlightSearchPage();
-        FlightResultsPage results = search.enterOrigin(origin)
-                                         .enterDestination(destination)
-                                         .search();
+        FlightSearchPage search   = pages.get(FlightSearchPage.class);
+        FlightResultsPage results = search.searchFor(origin, destination);
 
         // Select first visible flight (no scroll needed for precondition setup)
         BookingPage booking = results.findFlightByTime("", "");  // any first flight
 
         // Fill minimal passenger details to reach payment
-        booking.enterFirstName("Test")
-               .enterLastName("User")
-               .enterEmail("test@wizzair-test.com")
-               .enterPhone("+44000000000");
+        booking.fillPassengerDetails(new PassengerDetails("Test", "User", "test@wizzair-test.com", "+44000000000"));
 
         paymentPage = booking.proceedToPayment();
     }
@@ -3,6 +3,8 @@ package com.wizzair.steps;
 import com.wizzair.pages.common.BookingPage;
 import com.wizzair.pages.common.FlightResultsPage;
 import com.wizzair.pages.common.FlightSearchPage;
+import com.wizzair.pages.common.PageRegistry;
+import com.wizzair.pages.common.PassengerDetails;
 import com.wizzair.utils.ScreenshotHelper;
 import io.cucumber.java.DataTableType;
 import io.cucumber.java.en.And;
@@ -27,9 +29,15 @@ public class PriceChangeSteps {
 
     private static final Logger LOG = LoggerFactory.getLogger(PriceChangeSteps.class);
 
+    private final PageRegistry pages;
+
     private BookingPage bookingPage;
     private String      capturedNewPrice;
 
+    public PriceChangeSteps(PageRegistry pages) {
+        this.pages = pages;
+    }
+
     // =========================================================================
     // Given
     // =========================================================================
@@ -37,16 +45,15 @@ public class PriceChangeSteps {
     @Given("I have selected the flight from {string} to {string} departing at {string}")
     public void iHaveSelectedTheFlight(String origin, String destination, String time) {
         LOG.info("Selecting flight {} → {} at {}", origin, destination, time);
-        FlightSearchPage search  = new FlightSearchPage();
-        FlightResultsPage results = search.enterOrigin(origin)
-                                         .enterDestination(destination)
-                                         .search();          // date omitted for brevity; extend as needed
+        FlightSearchPage search  = pages.get(FlightSearchPage.class);
+        FlightResultsPage results = search.searchFor(origin, destination);  // date omitted for brevity; extend as needed
         results.findFlightByTime(time, "");   // arrival wildcard – extend FlightResultsPage as needed
     }
 
     @Given("I am on the passenger details screen")
     public void iAmOnThePassengerDetailsScreen() {
-        bookingPage = new BookingPage();
+        // Same instance the flight selection navigated to, element cache included
+        bookingPage = pages.get(BookingPage.class);
         Assertions.assertThat(bookingPage.isLoaded())
                   .as("Booking / passenger details screen should be displayed")
                   .isTrue();
@@ -56,13 +63,11 @@ public class PriceChangeSteps {
     // When
     // =========================================================================
 
+    /** Shared with the background/resume feature, hence the page from the registry. */
     @When("I enter my passenger details:")
     public void iEnterMyPassengerDetails(List<Map<String, String>> table) {
         Map<String, String> row = table.get(0);   // single-passenger scenario
-        bookingPage.enterFirstName(row.get("First Name"))
-                   .enterLastName(row.get("Last Name"))
-                   .enterEmail(row.get("Email"))
-                   .enterPhone(row.get("Phone"));
+        pages.get(BookingPage.class).fillPassengerDetails(PassengerDetails.fromRow(row));
         LOG.info("Passenger details entered for: {} {}", row.get("First Name"), row.get("Last Name"));
     }
 
@@ -1,10 +1,12 @@
 package com.wizzair.utils;
 
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
 import org.slf4j.Logger;
@@ -12,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class for performing scroll gestures in a platform-agnostic way.
@@ -68,10 +71,48 @@ public final class ScrollHelper {
         driver.findElement(io.appium.java_client.AppiumBy.androidUIAutomator(uiSelector));
     }
 
+    /**
+     * Android-specific: scrolls the first scrollable view on the device side until an
+     * element whose content description matches {@code regex} is on screen, and returns
+     * it – one {@code findElement}, however far down it is.
+     *
+     * @param driver    active Android driver
+     * @param regex     Java regex for the whole {@code content-desc}
+     * @param maxSwipes upper bound on the swipes UiAutomator may perform
+     * @throws org.openqa.selenium.NoSuchElementException if the list ends without a match
+     */
+    public static WebElement scrollToDescriptionAndroid(AppiumDriver driver, String regex, int maxSwipes) {
+        LOG.debug("UiAutomator2 scroll to content-desc matching: '{}'", regex);
+        String uiSelector = "new UiScrollable(new UiSelector().scrollable(true))"
+                          + ".setMaxSearchSwipes(" + maxSwipes + ")"
+                          + ".scrollIntoView(new UiSelector().descriptionMatches(" + javaLiteral(regex) + "))";
+        return driver.findElement(AppiumBy.androidUIAutomator(uiSelector));
+    }
+
+    /**
+     * iOS-specific: {@code mobile: scroll} until an element matching the NSPredicate is
+     * visible, then returns it. XCUITest's scroll does not return the element, so this
+     * costs two commands.
+     *
+     * @param driver    active iOS driver
+     * @param predicate NSPredicate string, e.g. {@code name CONTAINS '06:00'}
+     * @throws org.openqa.selenium.NoSuchElementException if no element matches
+     */
+    public static WebElement scrollToPredicateIos(AppiumDriver driver, String predicate) {
+        LOG.debug("XCUITest scroll to predicate: '{}'", predicate);
+        driver.executeScript("mobile: scroll", Map.of("predicateString", predicate, "toVisible", true));
+        return driver.findElement(AppiumBy.iOSNsPredicateString(predicate));
+    }
+
     // =========================================================================
     // Private helpers
     // =========================================================================
 
+    /** Quotes a value as a Java string literal for a UiSelector expression. */
+    private static String javaLiteral(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
     private enum Direction { UP, DOWN }
 
     private static boolean swipe(AppiumDriver driver, Direction direction) {